@@ -1,6 +1,12 @@
 package com.lavanya.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Passion.
@@ -13,12 +19,48 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Cache cache = new Cache();
+
+    private final WarmUp warmUp = new WarmUp();
+
+    private final KnownLogins knownLogins = new KnownLogins();
+
+    private final Security security = new Security();
+
+    private final ResponseCache responseCache = new ResponseCache();
+
+    private final Sync sync = new Sync();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Cache getCache() {
+        return cache;
+    }
+
+    public WarmUp getWarmUp() {
+        return warmUp;
+    }
+
+    public KnownLogins getKnownLogins() {
+        return knownLogins;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public Sync getSync() {
+        return sync;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +75,591 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Cache {
+
+        private final Ehcache ehcache = new Ehcache();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public Ehcache getEhcache() {
+            return ehcache;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        /**
+         * Broadcast of cache invalidations between nodes, see {@code CacheInvalidationBroadcaster}.
+         */
+        public static class Invalidation {
+
+            public enum Broadcaster {
+                /**
+                 * Between the application contexts of the same JVM, enough for a single node.
+                 */
+                IN_JVM,
+                /**
+                 * Through the database, polled by every node.
+                 */
+                DATABASE,
+            }
+
+            private Broadcaster broadcaster = Broadcaster.IN_JVM;
+
+            private Duration pollInterval = Duration.ofSeconds(1);
+
+            private Duration lookback = Duration.ofMinutes(1);
+
+            private Duration retention = Duration.ofHours(1);
+
+            public Broadcaster getBroadcaster() {
+                return broadcaster;
+            }
+
+            public void setBroadcaster(Broadcaster broadcaster) {
+                this.broadcaster = broadcaster;
+            }
+
+            /**
+             * Interval between two polls of the database, the longest time another node serves an evicted entry.
+             */
+            public Duration getPollInterval() {
+                return pollInterval;
+            }
+
+            public void setPollInterval(Duration pollInterval) {
+                this.pollInterval = pollInterval;
+            }
+
+            /**
+             * Time invalidations are read again after the poll that could first see them, which must exceed the longest
+             * transaction, since a transaction may commit an invalidation after later ones were already polled.
+             */
+            public Duration getLookback() {
+                return lookback;
+            }
+
+            public void setLookback(Duration lookback) {
+                this.lookback = lookback;
+            }
+
+            /**
+             * Time invalidations are kept in the database.
+             */
+            public Duration getRetention() {
+                return retention;
+            }
+
+            public void setRetention(Duration retention) {
+                this.retention = retention;
+            }
+        }
+
+        /**
+         * Storage tiers of a cache. A tier without a size is not used; sizes must grow from heap to off-heap to disk.
+         */
+        public static class Tiers {
+
+            private DataSize heapSize;
+
+            private DataSize offHeapSize;
+
+            private DataSize diskSize;
+
+            public DataSize getHeapSize() {
+                return heapSize;
+            }
+
+            public void setHeapSize(DataSize heapSize) {
+                this.heapSize = heapSize;
+            }
+
+            public DataSize getOffHeapSize() {
+                return offHeapSize;
+            }
+
+            public void setOffHeapSize(DataSize offHeapSize) {
+                this.offHeapSize = offHeapSize;
+            }
+
+            public DataSize getDiskSize() {
+                return diskSize;
+            }
+
+            public void setDiskSize(DataSize diskSize) {
+                this.diskSize = diskSize;
+            }
+        }
+
+        /**
+         * Tiers used by every cache, unless overridden in {@link #getRegions() regions}, keyed by cache name.
+         */
+        public static class Ehcache extends Tiers {
+
+            private boolean persistent = false;
+
+            private String diskPath = "target/ehcache";
+
+            private final Map<String, Tiers> regions = new HashMap<>();
+
+            public Ehcache() {
+                setHeapSize(DataSize.ofMegabytes(8));
+            }
+
+            public boolean isPersistent() {
+                return persistent;
+            }
+
+            public void setPersistent(boolean persistent) {
+                this.persistent = persistent;
+            }
+
+            public String getDiskPath() {
+                return diskPath;
+            }
+
+            public void setDiskPath(String diskPath) {
+                this.diskPath = diskPath;
+            }
+
+            public Map<String, Tiers> getRegions() {
+                return regions;
+            }
+        }
+    }
+
+    /**
+     * Warm-up run once the application has started, during which the readiness probe reports the application out of
+     * service: the user caches are preloaded, then {@link #getRequests() requests} are replayed to have them compiled
+     * by the JIT, and their responses cached, before real traffic arrives.
+     */
+    public static class WarmUp {
+
+        private boolean enabled = false;
+
+        private Duration timeout = Duration.ofMinutes(2);
+
+        private int parallelism = 4;
+
+        private int preloadSize = 1000;
+
+        private String login = "admin";
+
+        private int iterations = 1000;
+
+        private List<String> requests = new ArrayList<>(
+            List.of(
+                "/api/expenses?size=20",
+                "/api/groups?size=20",
+                "/api/expenses/{expenseId}",
+                "/api/groups/{groupId}",
+                "/api/groups/{groupId}/balances",
+                "/api/user-profiles?size=20"
+            )
+        );
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Time after which the warm-up is abandoned and the application reported ready anyway.
+         */
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        /**
+         * Number of threads preloading caches and replaying requests.
+         */
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * Maximum number of users preloaded, and of groups and expenses requested by the replay.
+         */
+        public int getPreloadSize() {
+            return preloadSize;
+        }
+
+        public void setPreloadSize(int preloadSize) {
+            this.preloadSize = preloadSize;
+        }
+
+        /**
+         * Login of the user the requests are replayed as. Requests are not replayed if the user does not exist.
+         */
+        public String getLogin() {
+            return login;
+        }
+
+        public void setLogin(String login) {
+            this.login = login;
+        }
+
+        /**
+         * Number of times each request is replayed.
+         */
+        public int getIterations() {
+            return iterations;
+        }
+
+        public void setIterations(int iterations) {
+            this.iterations = iterations;
+        }
+
+        /**
+         * Paths of the requests to replay, relative to the context path. {@code {groupId}} and {@code {expenseId}} are
+         * replaced by the ids of the requested groups and expenses in turn.
+         */
+        public List<String> getRequests() {
+            return requests;
+        }
+
+        public void setRequests(List<String> requests) {
+            this.requests = requests;
+        }
+    }
+
+    /**
+     * Filter of the logins and emails of existing users, rejecting authentication attempts with unknown ones without
+     * querying the database, see {@code KnownLogins}.
+     */
+    public static class KnownLogins {
+
+        private int expectedCount = 100_000;
+
+        private double falsePositiveRate = 0.01;
+
+        private Duration unknownTimeToLive = Duration.ofMinutes(1);
+
+        private Duration rebuildInterval = Duration.ofHours(6);
+
+        /**
+         * Number of logins and emails the filter is sized for, raised to twice the number found when it is built.
+         */
+        public int getExpectedCount() {
+            return expectedCount;
+        }
+
+        public void setExpectedCount(int expectedCount) {
+            this.expectedCount = expectedCount;
+        }
+
+        /**
+         * Share of unknown logins let through to the database by the filter, while it holds no more than the expected
+         * count.
+         */
+        public double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+
+        public void setFalsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+        }
+
+        /**
+         * Time a login let through by the filter but not found in the database is rejected without querying it again.
+         */
+        public Duration getUnknownTimeToLive() {
+            return unknownTimeToLive;
+        }
+
+        public void setUnknownTimeToLive(Duration unknownTimeToLive) {
+            this.unknownTimeToLive = unknownTimeToLive;
+        }
+
+        /**
+         * Interval between two rebuilds of the filter from the database, which drop deleted users and pick up users
+         * written without going through JPA.
+         */
+        public Duration getRebuildInterval() {
+            return rebuildInterval;
+        }
+
+        public void setRebuildInterval(Duration rebuildInterval) {
+            this.rebuildInterval = rebuildInterval;
+        }
+    }
+
+    public static class Security {
+
+        private final TokenCache tokenCache = new TokenCache();
+
+        private final PasswordHashing passwordHashing = new PasswordHashing();
+
+        private final RateLimit rateLimit = new RateLimit();
+
+        public TokenCache getTokenCache() {
+            return tokenCache;
+        }
+
+        public PasswordHashing getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        public RateLimit getRateLimit() {
+            return rateLimit;
+        }
+
+        /**
+         * Cache of the verified JWTs, see {@code CachingJwtDecoder}.
+         */
+        public static class TokenCache {
+
+            private int maximumSize = 10_000;
+
+            /**
+             * Maximum number of tokens kept, 0 to verify every token presented.
+             */
+            public int getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(int maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+        }
+
+        /**
+         * Pool of threads the passwords are hashed on, see {@code BulkheadPasswordEncoder}.
+         */
+        public static class PasswordHashing {
+
+            private int threads = Runtime.getRuntime().availableProcessors();
+
+            private int queueCapacity = 50;
+
+            private Integer strength;
+
+            private Duration targetLatency = Duration.ofMillis(250);
+
+            private int minStrength = 10;
+
+            /**
+             * Number of passwords hashed at the same time, each keeping a CPU busy.
+             */
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            /**
+             * Number of passwords waiting for a thread beyond which requests are rejected with {@code 503 (Service
+             * Unavailable)}, which bounds how long a request waits to the time of this many hashes per thread.
+             */
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+
+            /**
+             * BCrypt strength of the new hashes, or {@code null} to calibrate it on startup, see
+             * {@code PasswordHashCalibration}. Stored hashes of a lower strength are rehashed on login.
+             */
+            public Integer getStrength() {
+                return strength;
+            }
+
+            public void setStrength(Integer strength) {
+                this.strength = strength;
+            }
+
+            /**
+             * Time a hash should take, once calibrated on the hardware of the node.
+             */
+            public Duration getTargetLatency() {
+                return targetLatency;
+            }
+
+            public void setTargetLatency(Duration targetLatency) {
+                this.targetLatency = targetLatency;
+            }
+
+            /**
+             * Lowest strength calibrated, whatever the hardware.
+             */
+            public int getMinStrength() {
+                return minStrength;
+            }
+
+            public void setMinStrength(int minStrength) {
+                this.minStrength = minStrength;
+            }
+        }
+
+        /**
+         * Rate limits of authentication, registration and password reset requests, see
+         * {@code AuthenticationRateLimiter}. Requests over a limit are rejected with {@code 429 (Too Many Requests)}.
+         */
+        public static class RateLimit {
+
+            private boolean enabled = true;
+
+            private int maximumSize = 100_000;
+
+            private final Limit address = new Limit(60, Duration.ofMinutes(1));
+
+            private final Limit login = new Limit(10, Duration.ofMinutes(5));
+
+            private final Limit email = new Limit(5, Duration.ofHours(1));
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            /**
+             * Maximum number of keys of each class tracked, beyond which the keys back to a full bucket,
+             * then arbitrary ones, are forgotten.
+             */
+            public int getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(int maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+
+            /**
+             * Limit of the requests of a client address, shared by all the rate limited endpoints.
+             */
+            public Limit getAddress() {
+                return address;
+            }
+
+            /**
+             * Limit of the authentication and registration requests for a login.
+             */
+            public Limit getLogin() {
+                return login;
+            }
+
+            /**
+             * Limit of the registration and password reset requests for an email, each sending one.
+             */
+            public Limit getEmail() {
+                return email;
+            }
+
+            public static class Limit {
+
+                private int capacity;
+
+                private Duration period;
+
+                Limit(int capacity, Duration period) {
+                    this.capacity = capacity;
+                    this.period = period;
+                }
+
+                /**
+                 * Number of requests allowed in a burst, refilled over the period.
+                 */
+                public int getCapacity() {
+                    return capacity;
+                }
+
+                public void setCapacity(int capacity) {
+                    this.capacity = capacity;
+                }
+
+                public Duration getPeriod() {
+                    return period;
+                }
+
+                public void setPeriod(Duration period) {
+                    this.period = period;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cache of the serialized responses of the most read endpoints, see {@code ResponseBytesCache}. Its regions are
+     * sized like the other caches, under {@code application.cache.ehcache.regions}.
+     */
+    public static class ResponseCache {
+
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Delta sync of clients from the change log, see {@code SyncService}.
+     */
+    public static class Sync {
+
+        private Duration lookback = Duration.ofMinutes(1);
+
+        private Duration retention = Duration.ofDays(30);
+
+        private Duration purgeInterval = Duration.ofHours(1);
+
+        /**
+         * Time a gap in the sequences of the change log is waited on before being skipped, which must exceed the
+         * longest transaction, since a transaction may commit a change after later ones were already synced.
+         */
+        public Duration getLookback() {
+            return lookback;
+        }
+
+        public void setLookback(Duration lookback) {
+            this.lookback = lookback;
+        }
+
+        /**
+         * Time changes are kept in the database; clients which have not synced for longer must sync from scratch.
+         */
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        /**
+         * Interval between two purges of the changes older than the retention.
+         */
+        public Duration getPurgeInterval() {
+            return purgeInterval;
+        }
+
+        public void setPurgeInterval(Duration purgeInterval) {
+            this.purgeInterval = purgeInterval;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
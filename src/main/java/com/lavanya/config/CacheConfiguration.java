@@ -1,9 +1,20 @@
 package com.lavanya.config;
 
+import com.lavanya.config.ApplicationProperties.Cache.Tiers;
+import java.net.URI;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.cache.Caching;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -12,29 +23,52 @@ import org.springframework.boot.info.GitProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.*;
+import org.springframework.util.unit.DataSize;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
 
+/**
+ * Ehcache configuration, shared by the Hibernate second-level cache and the Spring caches.
+ * <p>
+ * Each cache gets its own storage tiers from {@code application.cache.ehcache}: a heap tier bounded in bytes, then
+ * optionally an off-heap tier and a disk tier, which can be persistent so that caches survive restarts. Values moved
+ * out of the heap tier are serialized.
+ * <p>
+ * JSR-107 statistics are enabled on every cache, so that the {@code cache.gets}, {@code cache.puts} and
+ * {@code cache.evictions} meters Spring Boot binds to them report actual counts.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final Duration timeToLive;
+    private final Duration unknownLoginsTimeToLive;
+    private final ApplicationProperties.Cache.Ehcache ehcache;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.timeToLive = Duration.ofSeconds(jHipsterProperties.getCache().getEhcache().getTimeToLiveSeconds());
+        this.unknownLoginsTimeToLive = applicationProperties.getKnownLogins().getUnknownTimeToLive();
+        this.ehcache = applicationProperties.getCache().getEhcache();
+    }
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build()
+    @Bean
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> cacheManagerCustomizers) {
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
         );
+        DefaultConfiguration configuration = isDiskUsed()
+            ? new DefaultConfiguration(
+                cachingProvider.getDefaultClassLoader(),
+                new DefaultPersistenceConfiguration(Paths.get(ehcache.getDiskPath()).toAbsolutePath().toFile())
+            )
+            : new DefaultConfiguration(cachingProvider.getDefaultClassLoader());
+        // The caching provider shares cache managers by URI: each application context gets its own
+        URI uri = URI.create(cachingProvider.getDefaultURI() + "/" + UUID.randomUUID());
+        javax.cache.CacheManager cacheManager = cachingProvider.getCacheManager(uri, configuration);
+        cacheManagerCustomizers.orderedStream().forEach(customizer -> customizer.customize(cacheManager));
+        return cacheManager;
     }
 
     @Bean
@@ -45,8 +79,9 @@ public class CacheConfiguration {
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
-            createCache(cm, com.lavanya.repository.UserRepository.USERS_BY_LOGIN_CACHE);
-            createCache(cm, com.lavanya.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createEntityCache(cm, com.lavanya.repository.UserRepository.USERS_BY_LOGIN_CACHE);
+            createEntityCache(cm, com.lavanya.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+            createCache(cm, com.lavanya.security.KnownLogins.UNKNOWN_LOGINS_CACHE, unknownLoginsTimeToLive, false);
             createCache(cm, com.lavanya.domain.User.class.getName());
             createCache(cm, com.lavanya.domain.Authority.class.getName());
             createCache(cm, com.lavanya.domain.User.class.getName() + ".authorities");
@@ -55,17 +90,76 @@ public class CacheConfiguration {
             createCache(cm, com.lavanya.domain.Group.class.getName());
             createCache(cm, com.lavanya.domain.Group.class.getName() + ".members");
             createCache(cm, com.lavanya.domain.Expense.class.getName());
+            createCache(cm, com.lavanya.web.rest.util.ResponseBytesCache.EXPENSE_RESPONSES_CACHE);
+            createCache(cm, com.lavanya.web.rest.util.ResponseBytesCache.GROUP_RESPONSES_CACHE);
             // jhipster-needle-ehcache-add-entry
         };
     }
 
     private void createCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, timeToLive, false);
+    }
+
+    /**
+     * Create a Spring cache of entities, which stores them serialized: an entity is cached while still attached to its
+     * session, which sizing the heap tier would otherwise walk, and the entry would be dropped as too large.
+     */
+    private void createEntityCache(javax.cache.CacheManager cm, String cacheName) {
+        createCache(cm, cacheName, timeToLive, true);
+    }
+
+    private void createCache(javax.cache.CacheManager cm, String cacheName, Duration timeToLive, boolean serialized) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, jcacheConfiguration(cacheName, timeToLive, serialized));
         }
+        cm.enableStatistics(cacheName, true);
+    }
+
+    private javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(
+        String cacheName,
+        Duration timeToLive,
+        boolean serialized
+    ) {
+        Tiers region = ehcache.getRegions().get(cacheName);
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.newResourcePoolsBuilder().heap(
+            sizeOf(region, Tiers::getHeapSize).toBytes(),
+            MemoryUnit.B
+        );
+        DataSize offHeapSize = sizeOf(region, Tiers::getOffHeapSize);
+        if (offHeapSize != null) {
+            resourcePools = resourcePools.offheap(offHeapSize.toBytes(), MemoryUnit.B);
+        }
+        DataSize diskSize = sizeOf(region, Tiers::getDiskSize);
+        if (diskSize != null) {
+            resourcePools = resourcePools.disk(diskSize.toBytes(), MemoryUnit.B, ehcache.isPersistent());
+        }
+        CacheConfigurationBuilder<Object, Object> configuration = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+            Object.class,
+            Object.class,
+            resourcePools
+        ).withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive));
+        if (serialized) {
+            configuration = configuration.withValueSerializingCopier();
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(configuration.build());
+    }
+
+    /**
+     * The size of a tier for a region, falling back to the size configured for every cache.
+     */
+    private DataSize sizeOf(Tiers region, Function<Tiers, DataSize> tier) {
+        DataSize size = region == null ? null : tier.apply(region);
+        return size != null ? size : tier.apply(ehcache);
+    }
+
+    private boolean isDiskUsed() {
+        return (
+            ehcache.getDiskSize() != null ||
+            ehcache.getRegions().values().stream().anyMatch(region -> region.getDiskSize() != null)
+        );
     }
 
     @Autowired(required = false)
@@ -0,0 +1,98 @@
+package com.lavanya.config;
+
+import com.lavanya.service.CacheInvalidation;
+import com.lavanya.service.CacheInvalidationBroadcaster;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps the caches of the nodes of a cluster consistent.
+ * <p>
+ * Changes flushed by Hibernate to cached entities and collections are published through the
+ * {@link CacheInvalidationBroadcaster}, as are the Spring cache evictions of the services, and the invalidations
+ * published by the other nodes are evicted from the local caches.
+ */
+@Configuration
+public class CacheInvalidationConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationConfiguration.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final CacheManager cacheManager;
+
+    private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+
+    public CacheInvalidationConfiguration(
+        EntityManagerFactory entityManagerFactory,
+        CacheManager cacheManager,
+        CacheInvalidationBroadcaster cacheInvalidationBroadcaster
+    ) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cacheManager = cacheManager;
+        this.cacheInvalidationBroadcaster = cacheInvalidationBroadcaster;
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        CacheInvalidationEventListener listener = new CacheInvalidationEventListener(cacheInvalidationBroadcaster);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        cacheInvalidationBroadcaster.subscribe(this::evict);
+    }
+
+    private void evict(CacheInvalidation invalidation) {
+        log.debug("Evicting {}", invalidation);
+        MappingMetamodel metamodel = sessionFactory.getMappingMetamodel();
+        switch (invalidation.kind()) {
+            case ENTITY -> {
+                EntityPersister persister = metamodel.findEntityDescriptor(invalidation.region());
+                if (persister == null) {
+                    log.warn("Cannot evict unknown entity {}", invalidation.region());
+                } else if (invalidation.key() == null) {
+                    sessionFactory.getCache().evictEntityData(persister.getEntityName());
+                } else {
+                    Object id = persister.getIdentifierMapping().getJavaType().fromString(invalidation.key());
+                    sessionFactory.getCache().evictEntityData(persister.getEntityName(), id);
+                }
+            }
+            case COLLECTION -> {
+                CollectionPersister persister = metamodel.findCollectionDescriptor(invalidation.region());
+                if (persister == null) {
+                    log.warn("Cannot evict unknown collection {}", invalidation.region());
+                } else if (invalidation.key() == null) {
+                    sessionFactory.getCache().evictCollectionData(persister.getRole());
+                } else {
+                    EntityPersister owner = persister.getOwnerEntityPersister();
+                    Object ownerId = owner.getIdentifierMapping().getJavaType().fromString(invalidation.key());
+                    sessionFactory.getCache().evictCollectionData(persister.getRole(), ownerId);
+                }
+            }
+            case CACHE -> {
+                Cache cache = cacheManager.getCache(invalidation.region());
+                if (cache == null) {
+                    log.warn("Cannot evict unknown cache {}", invalidation.region());
+                } else if (invalidation.key() == null) {
+                    cache.clear();
+                } else {
+                    cache.evict(invalidation.key());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.lavanya.config;
+
+import com.lavanya.service.CacheInvalidation;
+import com.lavanya.service.CacheInvalidationBroadcaster;
+import org.hibernate.engine.spi.CollectionEntry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Hibernate listener publishing the second-level cache entries invalidated by each flush, so that the other nodes evict
+ * them too. Inserted entities are not published, as no node can have cached them yet.
+ */
+public class CacheInvalidationEventListener
+    implements
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener,
+        PostCollectionRecreateEventListener {
+
+    private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+
+    public CacheInvalidationEventListener(CacheInvalidationBroadcaster cacheInvalidationBroadcaster) {
+        this.cacheInvalidationBroadcaster = cacheInvalidationBroadcaster;
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publishEntity(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publishEntity(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        publishCollection(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        publishCollection(event);
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        publishCollection(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void publishEntity(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            cacheInvalidationBroadcaster.publish(CacheInvalidation.entity(persister.getEntityName(), id));
+        }
+    }
+
+    private void publishCollection(AbstractCollectionEvent event) {
+        Object ownerId = event.getAffectedOwnerIdOrNull();
+        CollectionPersister persister = persister(event);
+        if (ownerId != null && persister != null && persister.hasCache()) {
+            cacheInvalidationBroadcaster.publish(CacheInvalidation.collection(persister.getRole(), ownerId));
+        }
+    }
+
+    /**
+     * The persister of the collection of an event. Collections created in the session only know their role through
+     * their entry in the persistence context.
+     */
+    private static CollectionPersister persister(AbstractCollectionEvent event) {
+        CollectionEntry entry = event.getSession().getPersistenceContextInternal().getCollectionEntry(event.getCollection());
+        if (entry != null && entry.getLoadedPersister() != null) {
+            return entry.getLoadedPersister();
+        }
+        String role = event.getCollection().getRole();
+        return role == null ? null : event.getSession().getFactory().getMappingMetamodel().getCollectionDescriptor(role);
+    }
+}
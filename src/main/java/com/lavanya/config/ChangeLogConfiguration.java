@@ -0,0 +1,37 @@
+package com.lavanya.config;
+
+import com.lavanya.repository.ChangeLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Logs the changes flushed by Hibernate to expenses, groups and userProfiles in the change log clients sync from.
+ */
+@Configuration
+public class ChangeLogConfiguration {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final ChangeLogRepository changeLogRepository;
+
+    public ChangeLogConfiguration(EntityManagerFactory entityManagerFactory, ChangeLogRepository changeLogRepository) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        ChangeLogEventListener listener = new ChangeLogEventListener(changeLogRepository);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        registry.appendListeners(EventType.PRE_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.PRE_COLLECTION_REMOVE, listener);
+    }
+}
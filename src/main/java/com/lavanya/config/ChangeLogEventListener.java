@@ -0,0 +1,199 @@
+package com.lavanya.config;
+
+import com.lavanya.domain.Expense;
+import com.lavanya.domain.Group;
+import com.lavanya.domain.UserProfile;
+import com.lavanya.repository.ChangeLogRepository;
+import com.lavanya.repository.ChangeLogRepository.Change;
+import com.lavanya.repository.ChangeLogRepository.EntityType;
+import com.lavanya.repository.ChangeLogRepository.Operation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.AbstractEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreCollectionRemoveEvent;
+import org.hibernate.event.spi.PreCollectionRemoveEventListener;
+import org.hibernate.event.spi.PreCollectionUpdateEvent;
+import org.hibernate.event.spi.PreCollectionUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Hibernate listener logging the expenses, groups and userProfiles inserted, updated and deleted in the
+ * {@code change_log} table, from which clients sync.
+ * <p>
+ * The members added to and removed from a group are logged as {@link EntityType#MEMBERSHIP memberships} addressed to
+ * each of them, as they gain or lose access to the group and its expenses without any of them changing.
+ * <p>
+ * The changes of a transaction are written in a single batch once its last flush is done, just before it commits, so
+ * that their sequences are allocated as late as possible.
+ */
+public class ChangeLogEventListener
+    implements
+        PostInsertEventListener,
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionRecreateEventListener,
+        PreCollectionUpdateEventListener,
+        PreCollectionRemoveEventListener {
+
+    private static final String MEMBERS_ROLE = Group.class.getName() + ".members";
+
+    private final ChangeLogRepository changeLogRepository;
+
+    /**
+     * Changes not written yet, by session.
+     */
+    private final Map<EventSource, List<Change>> pending = new ConcurrentHashMap<>();
+
+    public ChangeLogEventListener(ChangeLogRepository changeLogRepository) {
+        this.changeLogRepository = changeLogRepository;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        log(event, event.getEntity(), Operation.CREATE);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        // An expense moved to another group is removed from the previous one, for its members
+        if (event.getEntity() instanceof Expense expense && event.getOldState() != null) {
+            int group = List.of(event.getPersister().getPropertyNames()).indexOf("group");
+            Long previousGroupId = groupId((Group) event.getOldState()[group]);
+            if (previousGroupId != null && !Objects.equals(previousGroupId, groupId(expense.getGroup()))) {
+                pending(event).add(new Change(EntityType.EXPENSE, expense.getId(), Operation.DELETE, previousGroupId));
+            }
+        }
+        log(event, event.getEntity(), Operation.UPDATE);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        log(event, event.getEntity(), Operation.DELETE);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        if (isMembers(event)) {
+            Set<Long> added = memberIds((Collection<?>) event.getCollection());
+            added.forEach(userProfileId -> logMembership(event, userProfileId, Operation.CREATE));
+        }
+    }
+
+    @Override
+    public void onPreUpdateCollection(PreCollectionUpdateEvent event) {
+        if (isMembers(event)) {
+            Set<Long> before = previousMemberIds(event.getCollection());
+            Set<Long> after = memberIds((Collection<?>) event.getCollection());
+            after.stream().filter(userProfileId -> !before.contains(userProfileId)).forEach(userProfileId ->
+                logMembership(event, userProfileId, Operation.CREATE)
+            );
+            before.stream().filter(userProfileId -> !after.contains(userProfileId)).forEach(userProfileId ->
+                logMembership(event, userProfileId, Operation.DELETE)
+            );
+        }
+    }
+
+    @Override
+    public void onPreRemoveCollection(PreCollectionRemoveEvent event) {
+        // The members of a collection never loaded are unknown, but it is only removed with its group, deleted for all
+        if (isMembers(event) && event.getCollection().wasInitialized()) {
+            previousMemberIds(event.getCollection()).forEach(userProfileId -> logMembership(event, userProfileId, Operation.DELETE));
+        }
+    }
+
+    private static boolean isMembers(AbstractCollectionEvent event) {
+        return MEMBERS_ROLE.equals(event.getCollection().getRole()) && event.getAffectedOwnerIdOrNull() != null;
+    }
+
+    /**
+     * Log a member joining or leaving a group, unless it is undoing a change of the same transaction, as when the
+     * members of a group are replaced by a new collection, removed then added back.
+     */
+    private void logMembership(AbstractCollectionEvent event, long userProfileId, Operation operation) {
+        long groupId = (Long) event.getAffectedOwnerIdOrNull();
+        Operation undone = operation == Operation.CREATE ? Operation.DELETE : Operation.CREATE;
+        List<Change> changes = pending(event);
+        if (!changes.remove(new Change(EntityType.MEMBERSHIP, groupId, undone, groupId, userProfileId))) {
+            changes.add(new Change(EntityType.MEMBERSHIP, groupId, operation, groupId, userProfileId));
+        }
+    }
+
+    /**
+     * The members of a group as last loaded or flushed.
+     */
+    private static Set<Long> previousMemberIds(PersistentCollection<?> members) {
+        Object snapshot = members.getStoredSnapshot();
+        if (snapshot instanceof Map<?, ?> map) {
+            return memberIds(map.values());
+        }
+        return snapshot instanceof Collection<?> collection ? memberIds(collection) : new HashSet<>();
+    }
+
+    private static Set<Long> memberIds(Collection<?> members) {
+        Set<Long> ids = new HashSet<>();
+        for (Object member : members) {
+            ids.add(((UserProfile) member).getId());
+        }
+        return ids;
+    }
+
+    private void log(AbstractEvent event, Object entity, Operation operation) {
+        if (entity instanceof Expense expense) {
+            pending(event).add(new Change(EntityType.EXPENSE, expense.getId(), operation, groupId(expense.getGroup())));
+        } else if (entity instanceof Group group) {
+            pending(event).add(new Change(EntityType.GROUP, group.getId(), operation, group.getId()));
+        } else if (entity instanceof UserProfile userProfile) {
+            pending(event).add(new Change(EntityType.USER_PROFILE, userProfile.getId(), operation, null));
+        }
+    }
+
+    /**
+     * The changes of the transaction of an event, written before it completes.
+     */
+    private List<Change> pending(AbstractEvent event) {
+        EventSource session = event.getSession();
+        return pending.computeIfAbsent(session, key -> {
+            session
+                .getActionQueue()
+                .registerProcess(
+                    (BeforeTransactionCompletionProcess) completing -> {
+                        List<Change> changes = pending.remove(session);
+                        if (changes != null && !changes.isEmpty()) {
+                            changeLogRepository.insertAll(changes);
+                        }
+                    }
+                );
+            // Discards the changes of rolled back transactions
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) -> pending.remove(session));
+            return new ArrayList<>();
+        });
+    }
+
+    private static Long groupId(Group group) {
+        return group == null ? null : group.getId();
+    }
+}
@@ -0,0 +1,59 @@
+package com.lavanya.config;
+
+import com.lavanya.repository.UserRepository;
+import com.lavanya.security.KnownLogins;
+import com.lavanya.service.CacheInvalidation;
+import com.lavanya.service.CacheInvalidationBroadcaster;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps the {@link KnownLogins} of every node up to date: the users written through Hibernate are added locally, and
+ * the users written by the other nodes are added when their cache evictions are received.
+ */
+@Configuration
+public class KnownLoginsConfiguration {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final KnownLogins knownLogins;
+
+    private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+
+    public KnownLoginsConfiguration(
+        EntityManagerFactory entityManagerFactory,
+        KnownLogins knownLogins,
+        CacheInvalidationBroadcaster cacheInvalidationBroadcaster
+    ) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.knownLogins = knownLogins;
+        this.cacheInvalidationBroadcaster = cacheInvalidationBroadcaster;
+    }
+
+    @PostConstruct
+    public void registerListeners() {
+        KnownLoginsEventListener listener = new KnownLoginsEventListener(knownLogins);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.PERSIST, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        cacheInvalidationBroadcaster.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Other nodes evict the cached users of every login and email they write, which may be new.
+     */
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (
+            invalidation.kind() == CacheInvalidation.Kind.CACHE &&
+            invalidation.key() != null &&
+            (UserRepository.USERS_BY_LOGIN_CACHE.equals(invalidation.region()) ||
+                UserRepository.USERS_BY_EMAIL_CACHE.equals(invalidation.region()))
+        ) {
+            knownLogins.add(invalidation.key());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.lavanya.config;
+
+import com.lavanya.domain.User;
+import com.lavanya.security.KnownLogins;
+import org.hibernate.event.spi.PersistContext;
+import org.hibernate.event.spi.PersistEvent;
+import org.hibernate.event.spi.PersistEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Hibernate listener adding the login and email of every user persisted or updated to the {@link KnownLogins}. Users
+ * are added when persisted rather than when inserted, as they can be authenticated before the session is flushed.
+ */
+public class KnownLoginsEventListener implements PersistEventListener, PostUpdateEventListener {
+
+    private final KnownLogins knownLogins;
+
+    public KnownLoginsEventListener(KnownLogins knownLogins) {
+        this.knownLogins = knownLogins;
+    }
+
+    @Override
+    public void onPersist(PersistEvent event) {
+        add(event.getObject());
+    }
+
+    @Override
+    public void onPersist(PersistEvent event, PersistContext createdAlready) {
+        add(event.getObject());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        add(event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void add(Object entity) {
+        if (entity instanceof User user) {
+            if (user.getLogin() != null) {
+                knownLogins.add(user.getLogin());
+            }
+            if (user.getEmail() != null) {
+                knownLogins.add(user.getEmail());
+            }
+        }
+    }
+}
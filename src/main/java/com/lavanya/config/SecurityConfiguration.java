@@ -3,8 +3,12 @@ package com.lavanya.config;
 import static org.springframework.security.config.Customizer.withDefaults;
 import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
 
+import com.lavanya.management.SecurityMetersService;
 import com.lavanya.security.*;
 import com.lavanya.web.filter.SpaWebFilter;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -15,6 +19,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
@@ -30,6 +35,10 @@ import tech.jhipster.config.JHipsterProperties;
 @EnableMethodSecurity(securedEnabled = true)
 public class SecurityConfiguration {
 
+    private final Logger log = LoggerFactory.getLogger(SecurityConfiguration.class);
+
+    private static final String BCRYPT = "bcrypt";
+
     private final Environment env;
 
     private final JHipsterProperties jHipsterProperties;
@@ -39,9 +48,27 @@ public class SecurityConfiguration {
         this.jHipsterProperties = jHipsterProperties;
     }
 
+    /**
+     * Hashes are prefixed by the id of their algorithm, {@code {bcrypt}}, the strength being part of the BCrypt hash.
+     * Hashes without a prefix, stored before, are BCrypt ones. Hashes of another algorithm or of a lower strength are
+     * upgraded by the {@link org.springframework.security.core.userdetails.UserDetailsPasswordService} on login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(SecurityMetersService metersService, ApplicationProperties applicationProperties) {
+        ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+        int strength = passwordHashing.getStrength() != null
+            ? passwordHashing.getStrength()
+            : PasswordHashCalibration.calibrateBCrypt(passwordHashing.getTargetLatency(), passwordHashing.getMinStrength());
+        log.info("Hashing passwords with BCrypt strength {}", strength);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new BulkheadPasswordEncoder(
+            delegating,
+            passwordHashing.getThreads(),
+            passwordHashing.getQueueCapacity(),
+            metersService
+        );
     }
 
     @Bean
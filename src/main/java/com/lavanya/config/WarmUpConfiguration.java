@@ -0,0 +1,248 @@
+package com.lavanya.config;
+
+import com.lavanya.service.CacheWarmUpService;
+import com.lavanya.web.rest.AuthenticateController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+/**
+ * Warm-up of the application, configured by {@code application.warm-up}.
+ * <p>
+ * Once the application has started, the user caches are preloaded while the groups and expenses to request are
+ * selected, in parallel, then the configured requests are replayed against the application itself, as the configured
+ * user, so that the code serving them is compiled by the JIT and their responses are cached. Until then the
+ * {@code warmUp} health indicator, part of the readiness group, reports the application out of service, so no traffic
+ * is routed to it. The duration of each stage is published as the {@code application.warm-up} timer.
+ */
+@Configuration
+public class WarmUpConfiguration {
+
+    public static final String WARM_UP_METER_NAME = "application.warm-up";
+    public static final String WARM_UP_METER_DESCRIPTION = "Time taken by a stage of the warm-up.";
+    public static final String WARM_UP_METER_STAGE_DIMENSION = "stage";
+
+    private static final String GROUP_ID_PLACEHOLDER = "{groupId}";
+
+    private static final String EXPENSE_ID_PLACEHOLDER = "{expenseId}";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Logger log = LoggerFactory.getLogger(WarmUpConfiguration.class);
+
+    private final ApplicationProperties.WarmUp warmUp;
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    private final UserDetailsService userDetailsService;
+
+    private final AuthenticateController authenticateController;
+
+    private final Environment env;
+
+    private final Timer preloadTimer;
+
+    private final Timer replayTimer;
+
+    private volatile Health health;
+
+    public WarmUpConfiguration(
+        ApplicationProperties applicationProperties,
+        CacheWarmUpService cacheWarmUpService,
+        UserDetailsService userDetailsService,
+        AuthenticateController authenticateController,
+        Environment env,
+        MeterRegistry meterRegistry
+    ) {
+        this.warmUp = applicationProperties.getWarmUp();
+        this.cacheWarmUpService = cacheWarmUpService;
+        this.userDetailsService = userDetailsService;
+        this.authenticateController = authenticateController;
+        this.env = env;
+        this.preloadTimer = warmUpTimer("preload").register(meterRegistry);
+        this.replayTimer = warmUpTimer("replay").register(meterRegistry);
+        this.health = warmUp.isEnabled() ? Health.outOfService().build() : Health.up().build();
+    }
+
+    private static Timer.Builder warmUpTimer(String stage) {
+        return Timer.builder(WARM_UP_METER_NAME).description(WARM_UP_METER_DESCRIPTION).tag(WARM_UP_METER_STAGE_DIMENSION, stage);
+    }
+
+    @Bean
+    public HealthIndicator warmUpHealthIndicator() {
+        return () -> health;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        if (!warmUp.isEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp() {
+        log.info("Warming up");
+        long start = System.nanoTime();
+        long deadline = start + warmUp.getTimeout().toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(warmUp.getParallelism(), new CustomizableThreadFactory("warm-up-"));
+        try {
+            Map<String, List<Long>> ids = preload(executor, deadline);
+            preloadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            long replayStart = System.nanoTime();
+            replay(executor, ids, deadline);
+            replayTimer.record(System.nanoTime() - replayStart, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Warm-up did not complete within {}", warmUp.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            log.warn("Warm-up failed", e);
+        } finally {
+            executor.shutdownNow();
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            log.info("Warmed up in {} ms", duration.toMillis());
+            health = Health.up().withDetail("duration", duration.toString()).build();
+        }
+    }
+
+    /**
+     * @return the ids substituted for each placeholder of the requests.
+     */
+    private Map<String, List<Long>> preload(ExecutorService executor, long deadline)
+        throws InterruptedException, ExecutionException, TimeoutException {
+        int size = warmUp.getPreloadSize();
+        CompletableFuture<Integer> users = CompletableFuture.supplyAsync(() -> cacheWarmUpService.preloadUsers(size), executor);
+        CompletableFuture<List<Long>> groupIds = CompletableFuture.supplyAsync(() -> cacheWarmUpService.findGroupIds(size), executor);
+        CompletableFuture<List<Long>> expenseIds = CompletableFuture.supplyAsync(() -> cacheWarmUpService.findExpenseIds(size), executor);
+        CompletableFuture.allOf(users, groupIds, expenseIds).get(remaining(deadline), TimeUnit.NANOSECONDS);
+        log.info(
+            "Preloaded {} users, requesting {} groups and {} expenses",
+            users.join(),
+            groupIds.join().size(),
+            expenseIds.join().size()
+        );
+        return Map.of(GROUP_ID_PLACEHOLDER, groupIds.join(), EXPENSE_ID_PLACEHOLDER, expenseIds.join());
+    }
+
+    private void replay(ExecutorService executor, Map<String, List<Long>> ids, long deadline)
+        throws InterruptedException, ExecutionException, TimeoutException {
+        String authorization = authorization();
+        if (authorization == null) {
+            return;
+        }
+        List<String> paths = warmUp
+            .getRequests()
+            .stream()
+            .filter(path -> ids.entrySet().stream().noneMatch(entry -> entry.getValue().isEmpty() && path.contains(entry.getKey())))
+            .toList();
+        String baseUrl = "http://localhost:" + env.getProperty("local.server.port") + env.getProperty("server.servlet.context-path", "");
+        HttpClient client = HttpClient.newHttpClient();
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int worker = 0; worker < warmUp.getParallelism(); worker++) {
+            int first = worker;
+            workers.add(
+                CompletableFuture.runAsync(
+                    () -> {
+                        for (int i = first; i < warmUp.getIterations() && System.nanoTime() < deadline; i += warmUp.getParallelism()) {
+                            for (String path : paths) {
+                                if (!send(client, baseUrl + substitute(path, ids, i), authorization)) {
+                                    failed.incrementAndGet();
+                                }
+                                sent.incrementAndGet();
+                            }
+                        }
+                    },
+                    executor
+                )
+            );
+        }
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).get(remaining(deadline), TimeUnit.NANOSECONDS);
+        log.info("Replayed {} requests, {} failed", sent.get(), failed.get());
+    }
+
+    /**
+     * Replace each placeholder of a path by the id of its iteration, so that each iteration requests other resources.
+     */
+    private static String substitute(String path, Map<String, List<Long>> ids, int iteration) {
+        String target = path;
+        for (Map.Entry<String, List<Long>> entry : ids.entrySet()) {
+            if (target.contains(entry.getKey())) {
+                List<Long> values = entry.getValue();
+                target = target.replace(entry.getKey(), String.valueOf(values.get(iteration % values.size())));
+            }
+        }
+        return target;
+    }
+
+    /**
+     * @return the authorization header of the user the requests are replayed as, or {@code null} if it cannot be used.
+     */
+    private String authorization() {
+        try {
+            UserDetails user = userDetailsService.loadUserByUsername(warmUp.getLogin());
+            String token = authenticateController.createToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()),
+                false
+            );
+            return "Bearer " + token;
+        } catch (AuthenticationException e) {
+            log.warn("Not replaying requests, user {} cannot be used: {}", warmUp.getLogin(), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean send(HttpClient client, String url, String authorization) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .header(HttpHeaders.AUTHORIZATION, authorization)
+            .timeout(REQUEST_TIMEOUT)
+            .GET()
+            .build();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Warm-up interrupted", e);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
@@ -0,0 +1,122 @@
+package com.lavanya.config.liquibase;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.SetupException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Copies the legacy {@code expense.amount} text values into the {@code expense.amount_decimal} column.
+ * <p>
+ * Rows are read with a keyset on {@code id} and written back with JDBC batches of {@link #batchSize} rows,
+ * so the migration never holds more than one batch in memory, whatever the size of the table.
+ * Values that cannot be parsed as a number, or that do not fit in {@code decimal(21,2)}, are left {@code null}.
+ */
+public class ExpenseAmountToDecimalChange implements CustomTaskChange {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseAmountToDecimalChange.class);
+
+    private static final int SCALE = 2;
+    private static final int MAX_INTEGER_DIGITS = 19;
+
+    private int batchSize = 1000;
+
+    private int convertedCount;
+    private int rejectedCount;
+
+    /**
+     * Liquibase passes {@code <param>} values as strings.
+     *
+     * @param batchSize the number of rows read and written per round trip.
+     */
+    public void setBatchSize(String batchSize) {
+        this.batchSize = Integer.parseInt(batchSize);
+    }
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (
+            PreparedStatement select = connection.prepareStatement(
+                "select id, amount from expense where id > ? and amount is not null order by id asc limit ?"
+            );
+            PreparedStatement update = connection.prepareStatement("update expense set amount_decimal = ? where id = ?")
+        ) {
+            long lastId = Long.MIN_VALUE;
+            int read;
+            do {
+                read = 0;
+                select.setLong(1, lastId);
+                select.setInt(2, batchSize);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        lastId = rows.getLong(1);
+                        read++;
+                        BigDecimal amount = parse(rows.getString(2));
+                        if (amount == null) {
+                            rejectedCount++;
+                            continue;
+                        }
+                        update.setBigDecimal(1, amount);
+                        update.setLong(2, lastId);
+                        update.addBatch();
+                        convertedCount++;
+                    }
+                }
+                update.executeBatch();
+            } while (read == batchSize);
+        } catch (SQLException e) {
+            throw new CustomChangeException("Could not convert expense amounts to decimal", e);
+        }
+        if (rejectedCount > 0) {
+            log.warn("{} expense amounts could not be parsed as a decimal and were set to null", rejectedCount);
+        }
+    }
+
+    static BigDecimal parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            BigDecimal amount = new BigDecimal(value.trim()).setScale(SCALE, RoundingMode.HALF_EVEN);
+            return amount.precision() - amount.scale() > MAX_INTEGER_DIGITS ? null : amount;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Converted " + convertedCount + " expense amounts to decimal, " + rejectedCount + " unparseable values set to null";
+    }
+
+    @Override
+    public void setUp() throws SetupException {
+        // Nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // No resources needed
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        if (batchSize <= 0) {
+            errors.addError("batchSize must be positive");
+        }
+        return errors;
+    }
+}
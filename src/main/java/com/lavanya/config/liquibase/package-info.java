@@ -0,0 +1,4 @@
+/**
+ * Custom Liquibase changes that cannot be expressed as plain changesets.
+ */
+package com.lavanya.config.liquibase;
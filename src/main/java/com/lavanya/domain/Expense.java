@@ -3,6 +3,7 @@ package com.lavanya.domain;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -18,12 +19,24 @@ public class Expense implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "expenseIdGenerator")
+    @TableGenerator(
+        name = "expenseIdGenerator",
+        table = "id_generator",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "expense",
+        allocationSize = 50
+    )
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "amount")
-    private String amount;
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "amount", precision = 21, scale = 2)
+    private BigDecimal amount;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "groups" }, allowSetters = true)
@@ -48,16 +61,29 @@ public class Expense implements Serializable {
         this.id = id;
     }
 
-    public String getAmount() {
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Expense version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public BigDecimal getAmount() {
         return this.amount;
     }
 
-    public Expense amount(String amount) {
+    public Expense amount(BigDecimal amount) {
         this.setAmount(amount);
         return this;
     }
 
-    public void setAmount(String amount) {
+    public void setAmount(BigDecimal amount) {
         this.amount = amount;
     }
 
@@ -111,7 +137,7 @@ public class Expense implements Serializable {
     public String toString() {
         return "Expense{" +
             "id=" + getId() +
-            ", amount='" + getAmount() + "'" +
+            ", amount=" + getAmount() +
             "}";
     }
 }
@@ -0,0 +1,94 @@
+package com.lavanya.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * The total paid by one {@link UserProfile} inside one {@link Group}, materialized from the {@link Expense} table.
+ * <p>
+ * Rows are maintained in the same transaction as every expense write, so reading the balances of a group is an
+ * indexed lookup instead of an aggregate over all its expenses.
+ */
+@Entity
+@Table(name = "group_member_balance")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class GroupMemberBalance implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @EmbeddedId
+    private GroupMemberBalanceId id;
+
+    @Column(name = "paid", precision = 21, scale = 2, nullable = false)
+    private BigDecimal paid;
+
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount;
+
+    public GroupMemberBalanceId getId() {
+        return this.id;
+    }
+
+    public GroupMemberBalance id(GroupMemberBalanceId id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(GroupMemberBalanceId id) {
+        this.id = id;
+    }
+
+    public BigDecimal getPaid() {
+        return this.paid;
+    }
+
+    public GroupMemberBalance paid(BigDecimal paid) {
+        this.setPaid(paid);
+        return this;
+    }
+
+    public void setPaid(BigDecimal paid) {
+        this.paid = paid;
+    }
+
+    public Long getExpenseCount() {
+        return this.expenseCount;
+    }
+
+    public GroupMemberBalance expenseCount(Long expenseCount) {
+        this.setExpenseCount(expenseCount);
+        return this;
+    }
+
+    public void setExpenseCount(Long expenseCount) {
+        this.expenseCount = expenseCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GroupMemberBalance)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((GroupMemberBalance) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GroupMemberBalance{" +
+            "id=" + getId() +
+            ", paid=" + getPaid() +
+            ", expenseCount=" + getExpenseCount() +
+            "}";
+    }
+}
@@ -0,0 +1,70 @@
+package com.lavanya.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Identifier of a {@link GroupMemberBalance}: one row per group and paying member.
+ */
+@Embeddable
+public class GroupMemberBalanceId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "user_profile_id", nullable = false)
+    private Long userProfileId;
+
+    public GroupMemberBalanceId() {}
+
+    public GroupMemberBalanceId(Long groupId, Long userProfileId) {
+        this.groupId = groupId;
+        this.userProfileId = userProfileId;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public Long getUserProfileId() {
+        return userProfileId;
+    }
+
+    public void setUserProfileId(Long userProfileId) {
+        this.userProfileId = userProfileId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GroupMemberBalanceId)) {
+            return false;
+        }
+        GroupMemberBalanceId other = (GroupMemberBalanceId) o;
+        return Objects.equals(groupId, other.groupId) && Objects.equals(userProfileId, other.userProfileId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, userProfileId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GroupMemberBalanceId{" +
+            "groupId=" + groupId +
+            ", userProfileId=" + userProfileId +
+            "}";
+    }
+}
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
+import org.apache.commons.lang3.StringUtils;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -20,11 +22,27 @@ public class UserProfile implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "userProfileIdGenerator")
+    @TableGenerator(
+        name = "userProfileIdGenerator",
+        table = "id_generator",
+        pkColumnName = "sequence_name",
+        valueColumnName = "next_val",
+        pkColumnValue = "user_profile",
+        allocationSize = 50
+    )
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "email")
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Lower-cased and unique, as the email of a {@link User}: the current user is a member of the groups of the profile
+     * with their email.
+     */
+    @Column(name = "email", unique = true)
     private String email;
 
     @ManyToMany(fetch = FetchType.LAZY, mappedBy = "members")
@@ -47,6 +65,19 @@ public class UserProfile implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public UserProfile version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getEmail() {
         return this.email;
     }
@@ -57,7 +88,7 @@ public class UserProfile implements Serializable {
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        this.email = StringUtils.lowerCase(email, Locale.ENGLISH);
     }
 
     public Set<Group> getGroups() {
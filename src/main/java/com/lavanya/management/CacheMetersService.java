@@ -0,0 +1,202 @@
+package com.lavanya.management;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+import javax.cache.CacheManager;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.statistics.CacheOperationOutcomes.GetOutcome;
+import org.ehcache.core.statistics.CacheOperationOutcomes.PutOutcome;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.ChainedOperationObserver;
+import org.ehcache.core.statistics.TierStatistics;
+import org.springframework.stereotype.Service;
+
+/**
+ * Meters of the Ehcache caches, complementing the {@code cache.gets}, {@code cache.puts} and {@code cache.evictions}
+ * meters that Spring Boot registers for every JCache cache.
+ * <p>
+ * For each cache, tagged by its name, this publishes the bytes occupied in each storage tier, the latency of gets and
+ * the time taken to load a value after a miss. The load time is measured from a miss to the next put into the same
+ * cache on the same thread, which is how both Hibernate and the Spring caches fill a cache after a miss.
+ * <p>
+ * The statistics come from the public {@link StatisticsService} of the Ehcache cache manager, see
+ * {@link EhcacheStatisticsServices}.
+ */
+@Service
+public class CacheMetersService {
+
+    public static final String TIER_SIZE_METER_NAME = "cache.tier.size";
+    public static final String TIER_SIZE_METER_DESCRIPTION = "Estimated size of the entries stored in a tier of the cache.";
+    public static final String TIER_SIZE_METER_BASE_UNIT = "bytes";
+    public static final String TIER_SIZE_METER_TIER_DIMENSION = "tier";
+
+    public static final String GET_LATENCY_METER_NAME = "cache.gets.latency";
+    public static final String GET_LATENCY_METER_DESCRIPTION = "Time taken to look an entry up in the cache.";
+    public static final String GET_LATENCY_METER_RESULT_DIMENSION = "result";
+
+    public static final String MISS_LOAD_METER_NAME = "cache.misses.load";
+    public static final String MISS_LOAD_METER_DESCRIPTION = "Time between a cache miss and the put of the loaded value.";
+
+    public static final String CACHE_DIMENSION = "cache";
+
+    /**
+     * Longest time accepted between a miss and a put. A longer gap is a miss that was never filled, followed much later
+     * by an unrelated put on the same thread.
+     */
+    static final long MAX_LOAD_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Map<String, Region> regions = new TreeMap<>();
+
+    public CacheMetersService(CacheManager cacheManager, MeterRegistry registry) {
+        StatisticsService statisticsService = EhcacheStatisticsServices.forCacheManager(cacheManager);
+        StreamSupport.stream(cacheManager.getCacheNames().spliterator(), false).forEach(name ->
+            regions.put(name, new Region(name, statisticsService.getCacheStatistics(name), registry))
+        );
+    }
+
+    /**
+     * Statistics of a cache since the application started.
+     *
+     * @param name the name of the cache.
+     * @param hits the number of gets that found an entry.
+     * @param misses the number of gets that found no entry.
+     * @param hitRatio the ratio of hits to gets, {@code NaN} before the first get.
+     * @param puts the number of entries put into the cache.
+     * @param evictions the number of entries evicted from the cache to free space.
+     * @param tierSizes the estimated size of each tier in bytes, or {@code -1} when the tier is not sized in bytes.
+     * @param averageGetMillis the average latency of a get.
+     * @param averageLoadMillis the average time taken to load a value after a miss.
+     * @param missCostMillis the total time spent loading values after misses.
+     */
+    public record CacheStats(
+        String name,
+        long hits,
+        long misses,
+        double hitRatio,
+        long puts,
+        long evictions,
+        Map<String, Long> tierSizes,
+        double averageGetMillis,
+        double averageLoadMillis,
+        double missCostMillis
+    ) {}
+
+    /**
+     * @return the statistics of every cache, the most expensive misses first.
+     */
+    public List<CacheStats> getCacheStats() {
+        List<CacheStats> stats = new ArrayList<>(regions.size());
+        regions.values().forEach(region -> stats.add(region.snapshot()));
+        stats.sort(Comparator.comparingDouble(CacheStats::missCostMillis).reversed().thenComparing(CacheStats::name));
+        return stats;
+    }
+
+    private static final class Region {
+
+        private final String name;
+        private final CacheStatistics statistics;
+        private final Timer hitLatency;
+        private final Timer missLatency;
+        private final Timer missLoad;
+
+        /**
+         * When the last get of the current thread missed, the time it ended, otherwise {@code 0}.
+         */
+        private final ThreadLocal<long[]> pendingMiss = ThreadLocal.withInitial(() -> new long[1]);
+
+        private Region(String name, CacheStatistics statistics, MeterRegistry registry) {
+            this.name = name;
+            this.statistics = statistics;
+            this.hitLatency = getLatencyTimer("hit").register(registry);
+            this.missLatency = getLatencyTimer("miss").register(registry);
+            this.missLoad = Timer.builder(MISS_LOAD_METER_NAME)
+                .description(MISS_LOAD_METER_DESCRIPTION)
+                .tag(CACHE_DIMENSION, name)
+                .register(registry);
+            statistics
+                .getTierStatistics()
+                .forEach((tier, tierStatistics) ->
+                    Gauge.builder(TIER_SIZE_METER_NAME, tierStatistics, TierStatistics::getOccupiedByteSize)
+                        .description(TIER_SIZE_METER_DESCRIPTION)
+                        .baseUnit(TIER_SIZE_METER_BASE_UNIT)
+                        .tag(CACHE_DIMENSION, name)
+                        .tag(TIER_SIZE_METER_TIER_DIMENSION, tier)
+                        .register(registry)
+                );
+            statistics.registerDerivedStatistic(GetOutcome.class, "get", new GetObserver());
+            statistics.registerDerivedStatistic(PutOutcome.class, "put", new PutObserver());
+        }
+
+        private Timer.Builder getLatencyTimer(String result) {
+            return Timer.builder(GET_LATENCY_METER_NAME)
+                .description(GET_LATENCY_METER_DESCRIPTION)
+                .tag(CACHE_DIMENSION, name)
+                .tag(GET_LATENCY_METER_RESULT_DIMENSION, result);
+        }
+
+        private CacheStats snapshot() {
+            Map<String, Long> tierSizes = new TreeMap<>();
+            statistics.getTierStatistics().forEach((tier, tierStatistics) -> tierSizes.put(tier, tierStatistics.getOccupiedByteSize()));
+            long hits = statistics.getCacheHits();
+            long misses = statistics.getCacheMisses();
+            long gets = hitLatency.count() + missLatency.count();
+            double getMillis = hitLatency.totalTime(TimeUnit.MILLISECONDS) + missLatency.totalTime(TimeUnit.MILLISECONDS);
+            return new CacheStats(
+                name,
+                hits,
+                misses,
+                (double) hits / (hits + misses),
+                statistics.getCachePuts(),
+                statistics.getCacheEvictions(),
+                tierSizes,
+                gets == 0 ? 0 : getMillis / gets,
+                missLoad.mean(TimeUnit.MILLISECONDS),
+                missLoad.totalTime(TimeUnit.MILLISECONDS)
+            );
+        }
+
+        private final class GetObserver implements ChainedOperationObserver<GetOutcome> {
+
+            @Override
+            public void begin(long time) {}
+
+            @Override
+            public void end(long time, long latency, GetOutcome result) {
+                if (result == GetOutcome.HIT) {
+                    hitLatency.record(latency, TimeUnit.NANOSECONDS);
+                    pendingMiss.get()[0] = 0;
+                } else if (result == GetOutcome.MISS) {
+                    missLatency.record(latency, TimeUnit.NANOSECONDS);
+                    pendingMiss.get()[0] = time;
+                }
+            }
+        }
+
+        private final class PutObserver implements ChainedOperationObserver<PutOutcome> {
+
+            @Override
+            public void begin(long time) {
+                long[] pending = pendingMiss.get();
+                long missedAt = pending[0];
+                if (missedAt != 0) {
+                    pending[0] = 0;
+                    long loadTime = time - missedAt;
+                    if (loadTime >= 0 && loadTime <= MAX_LOAD_NANOS) {
+                        missLoad.record(loadTime, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+
+            @Override
+            public void end(long time, long latency, PutOutcome result) {}
+        }
+    }
+}
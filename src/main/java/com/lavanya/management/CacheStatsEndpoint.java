@@ -0,0 +1,27 @@
+package com.lavanya.management;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint listing the statistics of every cache, the caches whose misses cost the most time first.
+ * <p>
+ * Exposed under {@code /management/cache-stats}.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    private final CacheMetersService cacheMetersService;
+
+    public CacheStatsEndpoint(CacheMetersService cacheMetersService) {
+        this.cacheMetersService = cacheMetersService;
+    }
+
+    @ReadOperation
+    public List<CacheMetersService.CacheStats> cacheStats() {
+        return cacheMetersService.getCacheStats();
+    }
+}
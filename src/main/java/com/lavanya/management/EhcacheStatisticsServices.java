@@ -0,0 +1,71 @@
+package com.lavanya.management;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.cache.CacheManager;
+import org.ehcache.core.spi.service.CacheManagerProviderService;
+import org.ehcache.core.spi.service.ServiceFactory;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.spi.service.Service;
+import org.ehcache.spi.service.ServiceCreationConfiguration;
+import org.ehcache.spi.service.ServiceDependencies;
+import org.ehcache.spi.service.ServiceProvider;
+
+/**
+ * Ehcache service handing the {@link StatisticsService} of each Ehcache cache manager over to {@link CacheMetersService}.
+ * <p>
+ * Ehcache only gives its services to other services: {@link Factory} is registered in {@code META-INF/services}, and
+ * being mandatory, every cache manager starts an instance with the services it depends on.
+ */
+@ServiceDependencies({ StatisticsService.class, CacheManagerProviderService.class })
+public class EhcacheStatisticsServices implements Service {
+
+    /**
+     * The statistics services of the running Ehcache cache managers, by cache manager.
+     */
+    private static final Map<Object, StatisticsService> STATISTICS_SERVICES = new ConcurrentHashMap<>();
+
+    private Object cacheManager;
+
+    /**
+     * @param cacheManager a JCache cache manager backed by Ehcache.
+     * @return the statistics service of its Ehcache cache manager.
+     * @throws IllegalStateException if the cache manager is not running.
+     */
+    static StatisticsService forCacheManager(CacheManager cacheManager) {
+        StatisticsService statisticsService = STATISTICS_SERVICES.get(cacheManager.unwrap(org.ehcache.CacheManager.class));
+        if (statisticsService == null) {
+            throw new IllegalStateException("No statistics service for the cache manager " + cacheManager.getURI());
+        }
+        return statisticsService;
+    }
+
+    @Override
+    public void start(ServiceProvider<Service> serviceProvider) {
+        cacheManager = serviceProvider.getService(CacheManagerProviderService.class).getCacheManager();
+        STATISTICS_SERVICES.put(cacheManager, serviceProvider.getService(StatisticsService.class));
+    }
+
+    @Override
+    public void stop() {
+        STATISTICS_SERVICES.remove(cacheManager);
+    }
+
+    public static class Factory implements ServiceFactory<EhcacheStatisticsServices> {
+
+        @Override
+        public boolean isMandatory() {
+            return true;
+        }
+
+        @Override
+        public EhcacheStatisticsServices create(ServiceCreationConfiguration<EhcacheStatisticsServices, ?> configuration) {
+            return new EhcacheStatisticsServices();
+        }
+
+        @Override
+        public Class<EhcacheStatisticsServices> getServiceType() {
+            return EhcacheStatisticsServices.class;
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.lavanya.management;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -13,16 +21,98 @@ public class SecurityMetersService {
     public static final String INVALID_TOKENS_METER_BASE_UNIT = "errors";
     public static final String INVALID_TOKENS_METER_CAUSE_DIMENSION = "cause";
 
+    public static final String TOKEN_CACHE_METER_NAME = "security.authentication.token-cache";
+    public static final String TOKEN_CACHE_METER_RESULT_DIMENSION = "result";
+    public static final String TOKEN_CACHE_HIT_RATIO_METER_NAME = "security.authentication.token-cache.hit-ratio";
+    public static final String TOKEN_CACHE_SAVED_METER_NAME = "security.authentication.token-cache.saved";
+    public static final String TOKEN_DECODE_METER_NAME = "security.authentication.token-decode";
+    public static final String TOKEN_DECODE_OUTCOME_DIMENSION = "outcome";
+    public static final String TOKEN_VALID = "valid";
+    public static final String TOKEN_INVALID_SIGNATURE = "invalid-signature";
+    public static final String TOKEN_EXPIRED = "expired";
+    public static final String TOKEN_UNSUPPORTED = "unsupported";
+    public static final String TOKEN_MALFORMED = "malformed";
+    public static final String TOKEN_ERROR = "error";
+
+    public static final String PASSWORD_HASHING_WAIT_METER_NAME = "security.password-hashing.wait";
+    public static final String PASSWORD_HASHING_METER_NAME = "security.password-hashing.duration";
+    public static final String PASSWORD_HASHING_REJECTED_METER_NAME = "security.password-hashing.rejected";
+    public static final String PASSWORD_HASHING_QUEUE_METER_NAME = "security.password-hashing.queue";
+    public static final String PASSWORD_HASHING_OPERATION_DIMENSION = "operation";
+    public static final String PASSWORD_HASHING_ENCODE = "encode";
+    public static final String PASSWORD_HASHING_MATCHES = "matches";
+
+    public static final String RATE_LIMIT_METER_NAME = "security.rate-limit";
+    public static final String RATE_LIMIT_KEYS_METER_NAME = "security.rate-limit.keys";
+    public static final String RATE_LIMIT_KEY_CLASS_DIMENSION = "key-class";
+    public static final String RATE_LIMIT_RESULT_DIMENSION = "result";
+
     private final Counter tokenInvalidSignatureCounter;
     private final Counter tokenExpiredCounter;
     private final Counter tokenUnsupportedCounter;
     private final Counter tokenMalformedCounter;
+    private final Counter tokenCacheHitCounter;
+    private final Counter tokenCacheMissCounter;
+    private final Counter tokenCacheSavedCounter;
+    private final Map<String, Timer> tokenDecodeTimers = new HashMap<>();
+    private final Map<String, Timer> passwordHashingWaitTimers = new HashMap<>();
+    private final Map<String, Timer> passwordHashingTimers = new HashMap<>();
+    private final Map<String, Counter> passwordHashingRejectedCounters = new HashMap<>();
+    private final Map<String, Counter> rateLimitAllowedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rateLimitRejectedCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
 
     public SecurityMetersService(MeterRegistry registry) {
-        this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder("invalid-signature").register(registry);
-        this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder("expired").register(registry);
-        this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder("unsupported").register(registry);
-        this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder("malformed").register(registry);
+        this.registry = registry;
+        this.tokenInvalidSignatureCounter = invalidTokensCounterForCauseBuilder(TOKEN_INVALID_SIGNATURE).register(registry);
+        this.tokenExpiredCounter = invalidTokensCounterForCauseBuilder(TOKEN_EXPIRED).register(registry);
+        this.tokenUnsupportedCounter = invalidTokensCounterForCauseBuilder(TOKEN_UNSUPPORTED).register(registry);
+        this.tokenMalformedCounter = invalidTokensCounterForCauseBuilder(TOKEN_MALFORMED).register(registry);
+        this.tokenCacheHitCounter = tokenCacheCounterForResultBuilder("hit").register(registry);
+        this.tokenCacheMissCounter = tokenCacheCounterForResultBuilder("miss").register(registry);
+        this.tokenCacheSavedCounter = Counter.builder(TOKEN_CACHE_SAVED_METER_NAME)
+            .baseUnit("seconds")
+            .description("Estimated time saved by the token cache, as the mean decode time of each hit.")
+            .register(registry);
+        List<String> outcomes = List.of(TOKEN_VALID, TOKEN_INVALID_SIGNATURE, TOKEN_EXPIRED, TOKEN_UNSUPPORTED, TOKEN_MALFORMED, TOKEN_ERROR);
+        for (String outcome : outcomes) {
+            tokenDecodeTimers.put(
+                outcome,
+                Timer.builder(TOKEN_DECODE_METER_NAME)
+                    .description("Time to parse and verify the tokens not found in the token cache, by outcome.")
+                    .tag(TOKEN_DECODE_OUTCOME_DIMENSION, outcome)
+                    .register(registry)
+            );
+        }
+        Gauge.builder(TOKEN_CACHE_HIT_RATIO_METER_NAME, this, SecurityMetersService::tokenCacheHitRatio)
+            .description("Share of the tokens presented by the clients found in the token cache.")
+            .register(registry);
+        for (String operation : List.of(PASSWORD_HASHING_ENCODE, PASSWORD_HASHING_MATCHES)) {
+            passwordHashingWaitTimers.put(
+                operation,
+                Timer.builder(PASSWORD_HASHING_WAIT_METER_NAME)
+                    .description("Time the passwords to hash wait for a thread of the password hashing pool.")
+                    .tag(PASSWORD_HASHING_OPERATION_DIMENSION, operation)
+                    .publishPercentileHistogram()
+                    .register(registry)
+            );
+            passwordHashingTimers.put(
+                operation,
+                Timer.builder(PASSWORD_HASHING_METER_NAME)
+                    .description("Time to hash the passwords, once on a thread of the password hashing pool.")
+                    .tag(PASSWORD_HASHING_OPERATION_DIMENSION, operation)
+                    .publishPercentileHistogram()
+                    .register(registry)
+            );
+            passwordHashingRejectedCounters.put(
+                operation,
+                Counter.builder(PASSWORD_HASHING_REJECTED_METER_NAME)
+                    .baseUnit("requests")
+                    .description("Passwords not hashed, and their requests rejected, as the password hashing queue was full.")
+                    .tag(PASSWORD_HASHING_OPERATION_DIMENSION, operation)
+                    .register(registry)
+            );
+        }
     }
 
     private Counter.Builder invalidTokensCounterForCauseBuilder(String cause) {
@@ -32,6 +122,18 @@ public class SecurityMetersService {
             .tag(INVALID_TOKENS_METER_CAUSE_DIMENSION, cause);
     }
 
+    private Counter.Builder tokenCacheCounterForResultBuilder(String result) {
+        return Counter.builder(TOKEN_CACHE_METER_NAME)
+            .baseUnit("requests")
+            .description("Lookups of the tokens presented by the clients in the token cache.")
+            .tag(TOKEN_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    private double tokenCacheHitRatio() {
+        double lookups = tokenCacheHitCounter.count() + tokenCacheMissCounter.count();
+        return lookups == 0 ? 0 : tokenCacheHitCounter.count() / lookups;
+    }
+
     public void trackTokenInvalidSignature() {
         this.tokenInvalidSignatureCounter.increment();
     }
@@ -47,4 +149,63 @@ public class SecurityMetersService {
     public void trackTokenMalformed() {
         this.tokenMalformedCounter.increment();
     }
+
+    public void trackTokenCacheHit() {
+        this.tokenCacheHitCounter.increment();
+        this.tokenCacheSavedCounter.increment(this.tokenDecodeTimers.get(TOKEN_VALID).mean(TimeUnit.SECONDS));
+    }
+
+    public void trackTokenCacheMiss() {
+        this.tokenCacheMissCounter.increment();
+    }
+
+    public void trackTokenDecode(String outcome, long nanos) {
+        this.tokenDecodeTimers.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackPasswordHashingWait(String operation, long nanos) {
+        this.passwordHashingWaitTimers.get(operation).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackPasswordHashing(String operation, long nanos) {
+        this.passwordHashingTimers.get(operation).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void trackPasswordHashingRejected(String operation) {
+        this.passwordHashingRejectedCounters.get(operation).increment();
+    }
+
+    public void registerPasswordHashingQueue(IntSupplier queueSize) {
+        Gauge.builder(PASSWORD_HASHING_QUEUE_METER_NAME, queueSize, IntSupplier::getAsInt)
+            .description("Passwords waiting for a thread of the password hashing pool.")
+            // The supplier is usually a lambda referenced by nothing else, which a weak reference would lose
+            .strongReference(true)
+            .register(registry);
+    }
+
+    public void registerRateLimiter(String keyClass, IntSupplier keys) {
+        rateLimitAllowedCounters.put(keyClass, rateLimitCounterBuilder(keyClass, "allowed").register(registry));
+        rateLimitRejectedCounters.put(keyClass, rateLimitCounterBuilder(keyClass, "rejected").register(registry));
+        Gauge.builder(RATE_LIMIT_KEYS_METER_NAME, keys, IntSupplier::getAsInt)
+            .description("Keys whose requests are being rate limited, by class of key.")
+            .tag(RATE_LIMIT_KEY_CLASS_DIMENSION, keyClass)
+            .strongReference(true)
+            .register(registry);
+    }
+
+    private Counter.Builder rateLimitCounterBuilder(String keyClass, String result) {
+        return Counter.builder(RATE_LIMIT_METER_NAME)
+            .baseUnit("requests")
+            .description("Requests checked against the rate limit of their key, by class of key.")
+            .tag(RATE_LIMIT_KEY_CLASS_DIMENSION, keyClass)
+            .tag(RATE_LIMIT_RESULT_DIMENSION, result);
+    }
+
+    public void trackRateLimitAllowed(String keyClass) {
+        this.rateLimitAllowedCounters.get(keyClass).increment();
+    }
+
+    public void trackRateLimitRejected(String keyClass) {
+        this.rateLimitRejectedCounters.get(keyClass).increment();
+    }
 }
@@ -0,0 +1,41 @@
+package com.lavanya.repository;
+
+import java.sql.Timestamp;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Base abstract class for the repositories of the tables logging changes for other transactions and nodes to read,
+ * with a {@code created_date} column.
+ * <p>
+ * Plain JDBC, so that rows can be written while Hibernate flushes or completes the transaction they belong to, on its
+ * connection. Dates are always taken from the database clock, so that they are never compared with dates from another
+ * clock.
+ */
+public abstract class AbstractJdbcLogRepository {
+
+    protected final JdbcTemplate jdbcTemplate;
+
+    private final String table;
+
+    protected AbstractJdbcLogRepository(JdbcTemplate jdbcTemplate, String table) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.table = table;
+    }
+
+    /**
+     * @return the current date of the database.
+     */
+    public Timestamp now() {
+        return jdbcTemplate.queryForObject("select current_timestamp", Timestamp.class);
+    }
+
+    /**
+     * Delete the rows created before a date.
+     *
+     * @param before the latest creation date.
+     * @return the number of deleted rows.
+     */
+    public int deleteCreatedBefore(Timestamp before) {
+        return jdbcTemplate.update("delete from " + table + " where created_date < ?", before);
+    }
+}
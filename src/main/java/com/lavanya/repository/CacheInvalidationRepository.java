@@ -0,0 +1,53 @@
+package com.lavanya.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository of the {@code cache_invalidation} table, whose rows are written while Hibernate is flushing the changes
+ * they invalidate.
+ */
+@Repository
+public class CacheInvalidationRepository extends AbstractJdbcLogRepository {
+
+    /**
+     * A row of the {@code cache_invalidation} table.
+     */
+    public record CacheInvalidationRow(long id, String node, String kind, String region, String key, Timestamp createdDate) {}
+
+    public CacheInvalidationRepository(JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate, "cache_invalidation");
+    }
+
+    public void insert(String node, String kind, String region, String key) {
+        jdbcTemplate.update(
+            "insert into cache_invalidation (node, kind, region, cache_key, created_date) values (?, ?, ?, ?, current_timestamp)",
+            node,
+            kind,
+            region,
+            key
+        );
+    }
+
+    /**
+     * @param since the earliest creation date.
+     * @return the rows created since the given date, ordered by id.
+     */
+    public List<CacheInvalidationRow> findCreatedSince(Timestamp since) {
+        return jdbcTemplate.query(
+            "select id, node, kind, region, cache_key, created_date from cache_invalidation where created_date >= ? order by id",
+            (rs, rowNum) ->
+                new CacheInvalidationRow(
+                    rs.getLong("id"),
+                    rs.getString("node"),
+                    rs.getString("kind"),
+                    rs.getString("region"),
+                    rs.getString("cache_key"),
+                    rs.getTimestamp("created_date")
+                ),
+            since
+        );
+    }
+}
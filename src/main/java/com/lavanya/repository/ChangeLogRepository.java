@@ -0,0 +1,175 @@
+package com.lavanya.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository of the {@code change_log} table, whose rows are written once Hibernate has flushed the changes of a
+ * transaction.
+ */
+@Repository
+public class ChangeLogRepository extends AbstractJdbcLogRepository {
+
+    /**
+     * Types of the entities whose changes are logged.
+     */
+    public enum EntityType {
+        EXPENSE,
+        GROUP,
+        USER_PROFILE,
+        /**
+         * A user profile joining or leaving a group, logged with the id of the group and addressed to the profile.
+         */
+        MEMBERSHIP,
+    }
+
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        DELETE,
+    }
+
+    /**
+     * A change to log.
+     *
+     * @param entityType the type of the changed entity.
+     * @param entityId the id of the changed entity.
+     * @param operation the change.
+     * @param groupId the group whose members can see the change, or {@code null} if every user can.
+     * @param userProfileId the user profile the change is addressed to, who is the only user to see it, or
+     * {@code null}.
+     */
+    public record Change(EntityType entityType, long entityId, Operation operation, Long groupId, Long userProfileId) {
+        public Change(EntityType entityType, long entityId, Operation operation, Long groupId) {
+            this(entityType, entityId, operation, groupId, null);
+        }
+    }
+
+    /**
+     * A row of the {@code change_log} table.
+     *
+     * @param visible whether the user the row was read for can see the change.
+     */
+    public record ChangeRow(
+        long sequence,
+        EntityType entityType,
+        long entityId,
+        Operation operation,
+        Timestamp createdDate,
+        boolean visible
+    ) {}
+
+    private static final RowMapper<ChangeRow> CHANGE_ROW_MAPPER = (rs, rowNum) ->
+        new ChangeRow(
+            rs.getLong("id"),
+            EntityType.valueOf(rs.getString("entity_type")),
+            rs.getLong("entity_id"),
+            Operation.valueOf(rs.getString("operation")),
+            rs.getTimestamp("created_date"),
+            rs.getBoolean("visible")
+        );
+
+    public ChangeLogRepository(JdbcTemplate jdbcTemplate) {
+        super(jdbcTemplate, "change_log");
+    }
+
+    public void insertAll(List<Change> changes) {
+        jdbcTemplate.batchUpdate(
+            "insert into change_log (entity_type, entity_id, operation, group_id, user_profile_id, created_date) " +
+            "values (?, ?, ?, ?, ?, current_timestamp)",
+            changes,
+            changes.size(),
+            (ps, change) -> {
+                ps.setString(1, change.entityType().name());
+                ps.setLong(2, change.entityId());
+                ps.setString(3, change.operation().name());
+                ps.setObject(4, change.groupId());
+                ps.setObject(5, change.userProfileId());
+            }
+        );
+    }
+
+    /**
+     * @param sequence the sequence to start after.
+     * @param limit the maximum number of rows to return.
+     * @return the rows after the given sequence, ordered by sequence, visible unless addressed to a user profile.
+     */
+    public List<ChangeRow> findAfter(long sequence, int limit) {
+        return jdbcTemplate.query(
+            "select id, entity_type, entity_id, operation, created_date, user_profile_id is null as visible " +
+            "from change_log where id > ? order by id limit ?",
+            CHANGE_ROW_MAPPER,
+            sequence,
+            limit
+        );
+    }
+
+    /**
+     * Read the rows after a sequence for a user who only sees the changes of the groups they are a member of, matched
+     * to their profile by email like {@link GroupRepository#MEMBER_GROUP_IDS}. Changes of no group, and deletions,
+     * which carry nothing but an id, are visible to every user. Changes addressed to a user profile are only visible
+     * to its user.
+     * <p>
+     * The rows the user cannot see are still returned, as not visible, so that the gaps in the sequences are the same
+     * for every user.
+     *
+     * @param sequence the sequence to start after.
+     * @param limit the maximum number of rows to return.
+     * @param login the login of the user.
+     * @return the rows after the given sequence, ordered by sequence.
+     */
+    public List<ChangeRow> findAfterForMember(long sequence, int limit, String login) {
+        return jdbcTemplate.query(
+            "select id, entity_type, entity_id, operation, created_date, " +
+            "(case when user_profile_id is null then " +
+            "(group_id is null or operation = 'DELETE' or group_id in (" +
+            "select membership.jhi_group_id from jhi_user member " +
+            "join user_profile profile on profile.email = member.email " +
+            "join rel_jhi_group__members membership on membership.members_id = profile.id " +
+            "where member.login = ?)) " +
+            "else user_profile_id in (" +
+            "select profile.id from jhi_user member join user_profile profile on profile.email = member.email where member.login = ?) " +
+            "end) as visible " +
+            "from change_log where id > ? order by id limit ?",
+            CHANGE_ROW_MAPPER,
+            login,
+            login,
+            sequence,
+            limit
+        );
+    }
+
+    /**
+     * @param before the latest creation date.
+     * @return the highest sequence of the rows created before the given date, or {@code 0} if there is none.
+     */
+    public long findLastSequenceCreatedBefore(Timestamp before) {
+        return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from change_log where created_date < ?", Long.class, before);
+    }
+
+    /**
+     * @return the lowest sequence still logged, or {@code null} if there is none.
+     */
+    public Long findFirstSequence() {
+        return jdbcTemplate.queryForObject("select min(id) from change_log", Long.class);
+    }
+
+    /**
+     * Delete the rows created before a date, except the last one, which keeps the sequence of the last change.
+     *
+     * @param before the latest creation date.
+     * @return the number of deleted rows.
+     */
+    @Override
+    public int deleteCreatedBefore(Timestamp before) {
+        return jdbcTemplate.update(
+            // MySQL cannot select from the table deleted from, except through a derived table
+            "delete from change_log where created_date < ? " +
+            "and id < (select last_id from (select max(id) as last_id from change_log) last_change)",
+            before
+        );
+    }
+}
@@ -1,12 +1,115 @@
 package com.lavanya.repository;
 
 import com.lavanya.domain.Expense;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * Spring Data JPA repository for the Expense entity.
+ * <p>
+ * Totals are computed with SQL aggregates, so callers never need to load every expense to sum amounts.
+ * <p>
+ * The {@code Visible} queries only return the expenses of the groups a user is a member of, see
+ * {@link GroupRepository#MEMBER_GROUP_IDS}.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Long> {}
+public interface ExpenseRepository
+    extends ExpenseRepositoryWithBulkInsert, JpaRepository<Expense, Long>, JpaSpecificationExecutor<Expense> {
+    /**
+     * Number of rows the JDBC driver fetches per round trip when streaming exports.
+     */
+    String EXPORT_FETCH_SIZE = "1000";
+
+    /**
+     * Name of {@link ExpenseRow} in constructor expressions.
+     */
+    String EXPENSE_ROW = "com.lavanya.repository.ExpenseRepository$ExpenseRow";
+
+    /**
+     * Projection of the columns of an expense, with its user and group reduced to their ids.
+     * <p>
+     * A record built by a constructor expression, so that each row costs a single allocation instead of a proxy.
+     */
+    record ExpenseRow(Long id, BigDecimal amount, Long userId, Long groupId) {}
+
+    @Query(
+        "select new " + EXPENSE_ROW + "(expense.id, expense.amount, expense.user.id, expense.group.id) " +
+        "from Expense expense where expense.id = :id"
+    )
+    Optional<ExpenseRow> findRowById(@Param("id") Long id);
+
+    @Query(
+        "select new " + EXPENSE_ROW + "(expense.id, expense.amount, expense.user.id, expense.group.id) " +
+        "from Expense expense where expense.id = :id and expense.group.id in (" + GroupRepository.MEMBER_GROUP_IDS + ")"
+    )
+    Optional<ExpenseRow> findVisibleRowById(@Param("id") Long id, @Param("login") String login);
+
+    @Query("select expense.version from Expense expense where expense.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(
+        "select expense.version from Expense expense " +
+        "where expense.id = :id and expense.group.id in (" + GroupRepository.MEMBER_GROUP_IDS + ")"
+    )
+    Optional<Long> findVisibleVersionById(@Param("id") Long id, @Param("login") String login);
+
+    @Query(
+        "select count(expense) > 0 from Expense expense " +
+        "where expense.id = :id and expense.group.id in (" + GroupRepository.MEMBER_GROUP_IDS + ")"
+    )
+    boolean existsVisibleById(@Param("id") Long id, @Param("login") String login);
+
+    @Query(
+        "select new " + EXPENSE_ROW + "(expense.id, expense.amount, expense.user.id, expense.group.id) " +
+        "from Expense expense where expense.id in :ids order by expense.id"
+    )
+    List<ExpenseRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+        "select new " + EXPENSE_ROW + "(expense.id, expense.amount, expense.user.id, expense.group.id) " +
+        "from Expense expense where expense.id in :ids and expense.group.id in (" + GroupRepository.MEMBER_GROUP_IDS + ") " +
+        "order by expense.id"
+    )
+    List<ExpenseRow> findVisibleRowsByIdIn(@Param("ids") Collection<Long> ids, @Param("login") String login);
+
+    /**
+     * Sum the amounts paid by each member of a group, members who paid nothing included, with a single aggregate over the
+     * members of the group and their expenses which reads the {@code (group_id, user_id, amount)} covering index.
+     */
+    @Query(
+        "select member.id as id, member.email as email, coalesce(sum(expense.amount), 0) as total " +
+        "from Group memberGroup join memberGroup.members member " +
+        "left join Expense expense on expense.group = memberGroup and expense.user = member " +
+        "where memberGroup.id = :groupId group by member.id, member.email order by member.id"
+    )
+    List<GroupMemberBalanceRepository.MemberTotal> sumAmountPaidByMemberForGroupId(@Param("groupId") Long groupId);
+
+    @Query("select expense.id from Expense expense where expense.group.id in :groupIds")
+    List<Long> findIdsByGroupIdIn(@Param("groupIds") Collection<Long> groupIds);
+
+    /**
+     * Stream every expense over a forward-only cursor. Rows are scalar projections, so nothing is added to the
+     * persistence context while the stream is consumed; the stream must be closed, in the transaction it was opened in.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+        }
+    )
+    @Query(
+        "select new " + EXPENSE_ROW + "(expense.id, expense.amount, expense.user.id, expense.group.id) " +
+        "from Expense expense order by expense.id"
+    )
+    Stream<ExpenseRow> streamAllForExport();
+}
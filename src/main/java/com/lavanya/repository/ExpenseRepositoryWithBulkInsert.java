@@ -0,0 +1,19 @@
+package com.lavanya.repository;
+
+import com.lavanya.domain.Expense;
+import java.util.List;
+
+/**
+ * Repository fragment inserting many expenses at once.
+ */
+public interface ExpenseRepositoryWithBulkInsert {
+    /**
+     * Insert new expenses in JDBC batches, in the current transaction, and set their generated ids. Only the ids of
+     * the user and of the group of each expense are used. The second-level cache is bypassed for the rest of the
+     * transaction.
+     *
+     * @param expenses the expenses to insert.
+     * @return the number of inserted expenses.
+     */
+    int insertAll(List<Expense> expenses);
+}
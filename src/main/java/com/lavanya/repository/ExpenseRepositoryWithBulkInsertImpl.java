@@ -0,0 +1,46 @@
+package com.lavanya.repository;
+
+import com.lavanya.domain.Expense;
+import com.lavanya.domain.Group;
+import com.lavanya.domain.UserProfile;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+/**
+ * Inserts expenses through the persistence context: their pooled ids let Hibernate send all the inserts as one JDBC
+ * batch. Users and groups are referenced by id, without being loaded.
+ * <p>
+ * The new expenses are kept out of the second-level cache, where they would only evict entries that are actually read.
+ * The cache mode is only reset with the session, as Hibernate checks it again when the transaction completes.
+ */
+public class ExpenseRepositoryWithBulkInsertImpl implements ExpenseRepositoryWithBulkInsert {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertAll(List<Expense> expenses) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer batchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(Math.max(expenses.size(), 1));
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            for (Expense expense : expenses) {
+                if (expense.getUser() != null) {
+                    expense.setUser(session.getReference(UserProfile.class, expense.getUser().getId()));
+                }
+                if (expense.getGroup() != null) {
+                    expense.setGroup(session.getReference(Group.class, expense.getGroup().getId()));
+                }
+                session.persist(expense);
+            }
+            session.flush();
+        } finally {
+            session.setJdbcBatchSize(batchSize);
+        }
+        return expenses.size();
+    }
+}
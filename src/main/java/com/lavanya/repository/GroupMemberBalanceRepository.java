@@ -0,0 +1,144 @@
+package com.lavanya.repository;
+
+import com.lavanya.domain.GroupMemberBalance;
+import com.lavanya.domain.GroupMemberBalanceId;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the GroupMemberBalance entity.
+ * <p>
+ * Writes are native statements declaring {@code group_member_balance} as their only query space, so that Hibernate
+ * does not evict the whole second-level cache after each of them.
+ */
+@Repository
+public interface GroupMemberBalanceRepository extends JpaRepository<GroupMemberBalance, GroupMemberBalanceId> {
+    String TABLE_NAME = "group_member_balance";
+
+    /**
+     * Projection of the amount paid by one member of a group.
+     */
+    interface MemberTotal {
+        Long getId();
+
+        String getEmail();
+
+        BigDecimal getTotal();
+    }
+
+    /**
+     * Projection of a (group, member) pair whose materialized total differs from the raw sum of its expenses.
+     */
+    interface Mismatch {
+        Long getGroupId();
+
+        Long getUserProfileId();
+
+        BigDecimal getExpectedPaid();
+
+        BigDecimal getActualPaid();
+
+        Long getExpectedCount();
+
+        Long getActualCount();
+    }
+
+    @Query(
+        "select member.id as id, member.email as email, coalesce(balance.paid, 0) as total " +
+        "from Group memberGroup join memberGroup.members member " +
+        "left join GroupMemberBalance balance on balance.id.groupId = memberGroup.id and balance.id.userProfileId = member.id " +
+        "where memberGroup.id = :groupId order by member.id"
+    )
+    List<MemberTotal> findPaidByMemberForGroupId(@Param("groupId") Long groupId);
+
+    /**
+     * Add to the totals of a (group, member) pair, creating them with its first expense. An update then an insert, as
+     * MySQL and H2 share no upsert syntax. When two transactions add the first expense of the same pair, the insert of
+     * the later one fails on the primary key and is reported as a concurrency failure, so the write can be retried.
+     */
+    default void add(Long groupId, Long userProfileId, BigDecimal paid, long expenseCount) {
+        if (addToExisting(groupId, userProfileId, paid, expenseCount) > 0) {
+            return;
+        }
+        try {
+            insertBalance(groupId, userProfileId, paid, expenseCount);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConcurrencyFailureException(
+                "Balance of member " + userProfileId + " in group " + groupId + " created concurrently",
+                e
+            );
+        }
+    }
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = TABLE_NAME))
+    @Query(
+        value = "update group_member_balance set paid = paid + :paid, expense_count = expense_count + :expenseCount " +
+        "where group_id = :groupId and user_profile_id = :userProfileId",
+        nativeQuery = true
+    )
+    int addToExisting(
+        @Param("groupId") Long groupId,
+        @Param("userProfileId") Long userProfileId,
+        @Param("paid") BigDecimal paid,
+        @Param("expenseCount") long expenseCount
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = TABLE_NAME))
+    @Query(
+        value = "insert into group_member_balance (group_id, user_profile_id, paid, expense_count) " +
+        "values (:groupId, :userProfileId, :paid, :expenseCount)",
+        nativeQuery = true
+    )
+    int insertBalance(
+        @Param("groupId") Long groupId,
+        @Param("userProfileId") Long userProfileId,
+        @Param("paid") BigDecimal paid,
+        @Param("expenseCount") long expenseCount
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = TABLE_NAME))
+    @Query(
+        value = "delete from group_member_balance where group_id = :groupId and user_profile_id = :userProfileId and expense_count <= 0",
+        nativeQuery = true
+    )
+    int deleteIfEmpty(@Param("groupId") Long groupId, @Param("userProfileId") Long userProfileId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = TABLE_NAME))
+    @Query(value = "delete from group_member_balance", nativeQuery = true)
+    int deleteAllBalances();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = TABLE_NAME))
+    @Query(
+        value = "insert into group_member_balance (group_id, user_profile_id, paid, expense_count) " +
+        "select group_id, user_id, coalesce(sum(amount), 0), count(*) from expense " +
+        "where group_id is not null and user_id is not null group by group_id, user_id",
+        nativeQuery = true
+    )
+    int insertAllFromExpenses();
+
+    @Query(
+        value = "select totals.group_id as groupId, totals.user_id as userProfileId, totals.paid as expectedPaid, " +
+        "balance.paid as actualPaid, totals.expense_count as expectedCount, balance.expense_count as actualCount " +
+        "from (select group_id, user_id, coalesce(sum(amount), 0) as paid, count(*) as expense_count from expense " +
+        "where group_id is not null and user_id is not null group by group_id, user_id) totals " +
+        "left join group_member_balance balance on balance.group_id = totals.group_id and balance.user_profile_id = totals.user_id " +
+        "where balance.group_id is null or balance.paid <> totals.paid or balance.expense_count <> totals.expense_count " +
+        "union all " +
+        "select balance.group_id, balance.user_profile_id, 0, balance.paid, 0, balance.expense_count from group_member_balance balance " +
+        "where not exists (select 1 from expense where expense.group_id = balance.group_id and expense.user_id = balance.user_profile_id)",
+        nativeQuery = true
+    )
+    List<Mismatch> findMismatches();
+}
@@ -1,11 +1,13 @@
 package com.lavanya.repository;
 
 import com.lavanya.domain.Group;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -15,16 +17,106 @@ import org.springframework.stereotype.Repository;
  * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface GroupRepository extends GroupRepositoryWithBagRelationships, JpaRepository<Group, Long> {
+public interface GroupRepository extends GroupRepositoryWithBagRelationships, JpaRepository<Group, Long>, JpaSpecificationExecutor<Group> {
+    /**
+     * Name of {@link GroupRow} in constructor expressions.
+     */
+    String GROUP_ROW = "com.lavanya.repository.GroupRepository$GroupRow";
+
+    /**
+     * Name of {@link MemberRow} in constructor expressions.
+     */
+    String MEMBER_ROW = "com.lavanya.repository.GroupRepository$MemberRow";
+
+    /**
+     * Name of {@link VersionRow} in constructor expressions.
+     */
+    String VERSION_ROW = "com.lavanya.repository.GroupRepository$VersionRow";
+
+    /**
+     * Ids of the groups of the user whose login is the {@code :login} parameter, who is a member of a group through the
+     * user profile with the same email, unique and lower-cased in both tables. Starts from the unique login, so that it
+     * costs an index lookup per table.
+     */
+    String MEMBER_GROUP_IDS =
+        "select membership.id from User member, UserProfile profile join profile.groups membership " +
+        "where member.login = :login and profile.email = member.email";
+
+    /**
+     * Projection of the columns of a group, without its members.
+     */
+    record GroupRow(Long id, String name, Integer adminId) {}
+
+    /**
+     * Projection of a member of a group.
+     */
+    record MemberRow(Long groupId, Long id, String email) {}
+
+    /**
+     * Projection of the version of a group and the sum of the versions of its members. Changing the members of a group
+     * increments its version, and changing a member increments the sum, so the pair changes whenever the group does.
+     */
+    record VersionRow(Long version, Long membersVersion) {}
+
     default Optional<Group> findOneWithEagerRelationships(Long id) {
         return this.fetchBagRelationships(this.findById(id));
     }
 
-    default List<Group> findAllWithEagerRelationships() {
-        return this.fetchBagRelationships(this.findAll());
-    }
-
     default Page<Group> findAllWithEagerRelationships(Pageable pageable) {
         return this.fetchBagRelationships(this.findAll(pageable));
     }
+
+    @Query(
+        "select new " + GROUP_ROW + "(memberGroup.id, memberGroup.name, memberGroup.adminId) from Group memberGroup " +
+        "where memberGroup.id = :id"
+    )
+    Optional<GroupRow> findRowById(@Param("id") Long id);
+
+    @Query(
+        "select new " + GROUP_ROW + "(memberGroup.id, memberGroup.name, memberGroup.adminId) from Group memberGroup " +
+        "where memberGroup.id = :id and memberGroup.id in (" + MEMBER_GROUP_IDS + ")"
+    )
+    Optional<GroupRow> findVisibleRowById(@Param("id") Long id, @Param("login") String login);
+
+    @Query(
+        "select new " + GROUP_ROW + "(memberGroup.id, memberGroup.name, memberGroup.adminId) from Group memberGroup " +
+        "where memberGroup.id in :ids order by memberGroup.id"
+    )
+    List<GroupRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(
+        "select new " + GROUP_ROW + "(memberGroup.id, memberGroup.name, memberGroup.adminId) from Group memberGroup " +
+        "where memberGroup.id in :ids and memberGroup.id in (" + MEMBER_GROUP_IDS + ") order by memberGroup.id"
+    )
+    List<GroupRow> findVisibleRowsByIdIn(@Param("ids") Collection<Long> ids, @Param("login") String login);
+
+    @Query(
+        "select new " + VERSION_ROW + "(memberGroup.version, coalesce(sum(member.version), 0L)) from Group memberGroup " +
+        "left join memberGroup.members member where memberGroup.id = :id group by memberGroup.id, memberGroup.version"
+    )
+    Optional<VersionRow> findVersionRowById(@Param("id") Long id);
+
+    @Query(
+        "select new " + VERSION_ROW + "(memberGroup.version, coalesce(sum(member.version), 0L)) from Group memberGroup " +
+        "left join memberGroup.members member where memberGroup.id = :id and memberGroup.id in (" + MEMBER_GROUP_IDS + ") " +
+        "group by memberGroup.id, memberGroup.version"
+    )
+    Optional<VersionRow> findVisibleVersionRowById(@Param("id") Long id, @Param("login") String login);
+
+    @Query(
+        "select count(memberGroup) > 0 from Group memberGroup where memberGroup.id = :id and memberGroup.id in (" + MEMBER_GROUP_IDS + ")"
+    )
+    boolean existsVisibleById(@Param("id") Long id, @Param("login") String login);
+
+    @Query("select memberGroup.id from Group memberGroup join memberGroup.members member where member.id = :memberId")
+    List<Long> findIdsByMemberId(@Param("memberId") Long memberId);
+
+    @Query(
+        "select new " + MEMBER_ROW + "(memberGroup.id, member.id, member.email) " +
+        "from Group memberGroup join memberGroup.members member where memberGroup.id in :groupIds order by member.id"
+    )
+    List<MemberRow> findMemberRowsByGroupIdIn(@Param("groupIds") Collection<Long> groupIds);
+
+    @Query("select memberGroup.id from Group memberGroup where memberGroup.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -4,20 +4,24 @@ import com.lavanya.domain.Group;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
 /**
  * Utility repository to load bag relationships based on https://vladmihalcea.com/hibernate-multiplebagfetchexception/
+ * <p>
+ * Lists are expected to be pages: their members are loaded with one query on the ids of the page, which initializes the
+ * collections of the groups already in the persistence context and keeps the order of the page.
  */
 public class GroupRepositoryWithBagRelationshipsImpl implements GroupRepositoryWithBagRelationships {
 
     private static final String ID_PARAMETER = "id";
-    private static final String GROUPS_PARAMETER = "groups";
+    private static final String IDS_PARAMETER = "ids";
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -45,13 +49,16 @@ public class GroupRepositoryWithBagRelationshipsImpl implements GroupRepositoryW
     }
 
     List<Group> fetchMembers(List<Group> groups) {
-        HashMap<Object, Integer> order = new HashMap<>();
-        IntStream.range(0, groups.size()).forEach(index -> order.put(groups.get(index).getId(), index));
-        List<Group> result = entityManager
-            .createQuery("select group from Group group left join fetch group.members where group in :groups", Group.class)
-            .setParameter(GROUPS_PARAMETER, groups)
-            .getResultList();
-        Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
-        return result;
+        if (groups.isEmpty()) {
+            return groups;
+        }
+        List<Long> ids = groups.stream().map(Group::getId).toList();
+        Map<Long, Group> result = entityManager
+            .createQuery("select group from Group group left join fetch group.members where group.id in :ids", Group.class)
+            .setParameter(IDS_PARAMETER, ids)
+            .getResultList()
+            .stream()
+            .collect(Collectors.toMap(Group::getId, Function.identity(), (first, duplicate) -> first));
+        return groups.stream().map(group -> result.getOrDefault(group.getId(), group)).toList();
     }
 }
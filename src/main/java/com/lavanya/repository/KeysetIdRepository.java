@@ -0,0 +1,61 @@
+package com.lavanya.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository selecting the ids of a keyset page of entities matching a {@link Specification}.
+ * <p>
+ * Only the primary key is read, straight from its index, so that the page itself can then be loaded as a projection
+ * of the columns actually returned instead of as managed entities.
+ */
+@Repository
+public class KeysetIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Select the ids of the entities matching the specification, in ascending order.
+     *
+     * @param domainClass the entity class.
+     * @param idAttribute the id attribute of the entity.
+     * @param specification the filters, may be {@code null}.
+     * @param after the id to start after, or {@code null} to start from the first entity.
+     * @param limit the maximum number of ids to return.
+     * @param <T> the entity type.
+     * @return the ids.
+     */
+    public <T> List<Long> findIds(
+        Class<T> domainClass,
+        SingularAttribute<? super T, Long> idAttribute,
+        Specification<T> specification,
+        Long after,
+        int limit
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        Path<Long> id = root.get(idAttribute);
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = specification == null ? null : specification.toPredicate(root, query, builder);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (after != null) {
+            predicates.add(builder.greaterThan(id, after));
+        }
+        query.select(id).where(predicates.toArray(Predicate[]::new)).orderBy(builder.asc(id));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
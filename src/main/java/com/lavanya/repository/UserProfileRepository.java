@@ -1,7 +1,11 @@
 package com.lavanya.repository;
 
 import com.lavanya.domain.UserProfile;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,40 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {}
+public interface UserProfileRepository extends JpaRepository<UserProfile, Long>, JpaSpecificationExecutor<UserProfile> {
+    /**
+     * Name of {@link UserProfileRow} in constructor expressions.
+     */
+    String USER_PROFILE_ROW = "com.lavanya.repository.UserProfileRepository$UserProfileRow";
+
+    /**
+     * Projection of the columns of a user profile.
+     */
+    record UserProfileRow(Long id, String email) {}
+
+    @Query("select new " + USER_PROFILE_ROW + "(userProfile.id, userProfile.email) from UserProfile userProfile where userProfile.id = :id")
+    Optional<UserProfileRow> findRowById(@Param("id") Long id);
+
+    @Query(
+        "select new " + USER_PROFILE_ROW + "(userProfile.id, userProfile.email) from UserProfile userProfile " +
+        "where userProfile.id in :ids order by userProfile.id"
+    )
+    List<UserProfileRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select userProfile.id from UserProfile userProfile where userProfile.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    boolean existsByEmail(String email);
+
+    boolean existsByEmailAndIdNot(String email, Long id);
+
+    /**
+     * Check that a user profile is the profile of the user whose login is the {@code login} parameter, that is, has their
+     * email, see {@link GroupRepository#MEMBER_GROUP_IDS}.
+     */
+    @Query(
+        "select count(userProfile) > 0 from UserProfile userProfile, User owner " +
+        "where userProfile.id = :id and owner.login = :login and userProfile.email = owner.email"
+    )
+    boolean existsOwnedById(@Param("id") Long id, @Param("login") String login);
+}
@@ -0,0 +1,77 @@
+package com.lavanya.security;
+
+import com.lavanya.config.ApplicationProperties;
+import com.lavanya.management.SecurityMetersService;
+import java.util.Locale;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rate limits of the endpoints which hash passwords or send emails before the client is authenticated, by client
+ * address and by the login or email the request is for, so that neither a single client nor many clients targeting
+ * a single account can make the application hash and send at will.
+ * <p>
+ * Addresses are the remote addresses of the requests, which are only the addresses of the clients behind a proxy
+ * if {@code server.forward-headers-strategy} is set. Logins and emails are lower-cased, like they are stored.
+ */
+@Component
+public class AuthenticationRateLimiter {
+
+    public static final String ADDRESS_KEY_CLASS = "address";
+    public static final String LOGIN_KEY_CLASS = "login";
+    public static final String EMAIL_KEY_CLASS = "email";
+
+    private final boolean enabled;
+
+    private final TokenBucketRateLimiter addresses;
+
+    private final TokenBucketRateLimiter logins;
+
+    private final TokenBucketRateLimiter emails;
+
+    public AuthenticationRateLimiter(ApplicationProperties applicationProperties, SecurityMetersService metersService) {
+        ApplicationProperties.Security.RateLimit properties = applicationProperties.getSecurity().getRateLimit();
+        this.enabled = properties.isEnabled();
+        this.addresses = rateLimiter(ADDRESS_KEY_CLASS, properties.getAddress(), properties.getMaximumSize(), metersService);
+        this.logins = rateLimiter(LOGIN_KEY_CLASS, properties.getLogin(), properties.getMaximumSize(), metersService);
+        this.emails = rateLimiter(EMAIL_KEY_CLASS, properties.getEmail(), properties.getMaximumSize(), metersService);
+    }
+
+    private static TokenBucketRateLimiter rateLimiter(
+        String keyClass,
+        ApplicationProperties.Security.RateLimit.Limit limit,
+        int maximumSize,
+        SecurityMetersService metersService
+    ) {
+        return new TokenBucketRateLimiter(keyClass, limit.getCapacity(), limit.getPeriod(), maximumSize, System::nanoTime, metersService);
+    }
+
+    /**
+     * @param address the remote address of the request.
+     * @throws RateLimitExceededException if the address sent too many requests.
+     */
+    public void acquireAddress(String address) {
+        if (enabled && address != null) {
+            addresses.acquire(address);
+        }
+    }
+
+    /**
+     * @param login the login the request is for.
+     * @throws RateLimitExceededException if too many requests were sent for the login.
+     */
+    public void acquireLogin(String login) {
+        if (enabled && login != null) {
+            logins.acquire(login.toLowerCase(Locale.ENGLISH));
+        }
+    }
+
+    /**
+     * @param email the email the request is for.
+     * @throws RateLimitExceededException if too many requests were sent for the email.
+     */
+    public void acquireEmail(String email) {
+        if (enabled && email != null) {
+            emails.acquire(email.trim().toLowerCase(Locale.ENGLISH));
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.lavanya.security;
+
+import com.lavanya.management.SecurityMetersService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} hashing passwords on its own bounded pool of threads, so that a burst of authentications
+ * and registrations cannot take every request thread for its CPU-bound hashes.
+ * <p>
+ * The caller waits for its hash; once the queue of waiting hashes is full, a {@link PasswordHashingRejectedException}
+ * is thrown right away, answered with {@code 503 (Service Unavailable)}. The time hashes wait in the queue and the time
+ * they take are tracked by the {@link SecurityMetersService}.
+ */
+public class BulkheadPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final ThreadPoolExecutor executor;
+
+    public BulkheadPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, SecurityMetersService metersService) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        metersService.registerPasswordHashingQueue(this::queueSize);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(SecurityMetersService.PASSWORD_HASHING_ENCODE, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(SecurityMetersService.PASSWORD_HASHING_MATCHES, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(String operation, Callable<T> hash) {
+        long queued = System.nanoTime();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                long started = System.nanoTime();
+                metersService.trackPasswordHashingWait(operation, started - queued);
+                try {
+                    return hash.call();
+                } finally {
+                    metersService.trackPasswordHashing(operation, System.nanoTime() - started);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            metersService.trackPasswordHashingRejected(operation);
+            throw new PasswordHashingRejectedException();
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * @return the number of hashes waiting for a thread.
+     */
+    public int queueSize() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
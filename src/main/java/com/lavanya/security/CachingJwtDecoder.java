@@ -0,0 +1,108 @@
+package com.lavanya.security;
+
+import com.lavanya.management.SecurityMetersService;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} keeping the tokens verified by another decoder until they expire, as clients present the same
+ * token on every request.
+ * <p>
+ * Tokens are keyed by their SHA-256 digest. Lookups do not lock; once the cache is full, a single thread at a time
+ * removes the expired tokens then arbitrary ones, and the tokens decoded meanwhile are not cached. Tokens without an
+ * expiry are never cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final JwtDecoder delegate;
+
+    private final int maximumSize;
+
+    private final Clock clock;
+
+    private final SecurityMetersService metersService;
+
+    private final ConcurrentHashMap<ByteBuffer, Jwt> tokens = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maximumSize, Clock clock, SecurityMetersService metersService) {
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.clock = clock;
+        this.metersService = metersService;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        ByteBuffer digest = digest(token);
+        Jwt cached = tokens.get(digest);
+        if (cached != null) {
+            if (isUnexpired(cached)) {
+                metersService.trackTokenCacheHit();
+                return cached;
+            }
+            tokens.remove(digest, cached);
+        }
+        metersService.trackTokenCacheMiss();
+        Jwt jwt = delegate.decode(token);
+        if (maximumSize > 0 && jwt.getExpiresAt() != null && isUnexpired(jwt)) {
+            if (tokens.size() >= maximumSize) {
+                evict();
+            }
+            if (tokens.size() < maximumSize) {
+                tokens.put(digest, jwt);
+            }
+        }
+        return jwt;
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    private boolean isUnexpired(Jwt jwt) {
+        return clock.instant().isBefore(jwt.getExpiresAt());
+    }
+
+    /**
+     * Remove the expired tokens, then arbitrary ones until a tenth of the cache is free.
+     */
+    private void evict() {
+        if (evicting.compareAndSet(false, true)) {
+            try {
+                Instant now = clock.instant();
+                tokens.values().removeIf(jwt -> !now.isBefore(jwt.getExpiresAt()));
+                Iterator<ByteBuffer> digests = tokens.keySet().iterator();
+                while (tokens.size() > maximumSize - maximumSize / 10 - 1 && digests.hasNext()) {
+                    digests.next();
+                    digests.remove();
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,134 @@
+package com.lavanya.security;
+
+import com.lavanya.management.SecurityMetersService;
+import com.nimbusds.jose.proc.BadJWSException;
+import java.text.ParseException;
+import java.util.Base64;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+
+/**
+ * {@link JwtDecoder} rejecting the tokens which are not structurally a signed JWT before another decoder parses and
+ * verifies them, then validating their timestamps, so that each failure is classified by where it happened and by
+ * its exception type rather than by its message.
+ * <p>
+ * The delegate must only parse and verify the signature: it is given no validator, so that a validation failure can
+ * only be a timestamp one. The time of every token decoded, including the rejected ones, is tracked by outcome by the
+ * {@link SecurityMetersService}.
+ */
+public class ClassifyingJwtDecoder implements JwtDecoder {
+
+    /**
+     * Longest token accepted, far above the size of the tokens issued.
+     */
+    static final int MAX_TOKEN_LENGTH = 8 * 1024;
+
+    private final Logger log = LoggerFactory.getLogger(ClassifyingJwtDecoder.class);
+
+    private final JwtDecoder delegate;
+
+    private final OAuth2TokenValidator<Jwt> timestampValidator;
+
+    private final SecurityMetersService metersService;
+
+    public ClassifyingJwtDecoder(JwtDecoder delegate, OAuth2TokenValidator<Jwt> timestampValidator, SecurityMetersService metersService) {
+        this.delegate = delegate;
+        this.timestampValidator = timestampValidator;
+        this.metersService = metersService;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        if (!isWellFormed(token)) {
+            metersService.trackTokenMalformed();
+            metersService.trackTokenDecode(SecurityMetersService.TOKEN_MALFORMED, System.nanoTime() - start);
+            throw new BadJwtException("Malformed token");
+        }
+        Jwt jwt;
+        try {
+            jwt = delegate.decode(token);
+        } catch (JwtException e) {
+            String outcome = classify(e);
+            metersService.trackTokenDecode(outcome, System.nanoTime() - start);
+            throw e;
+        }
+        OAuth2TokenValidatorResult result = timestampValidator.validate(jwt);
+        if (result.hasErrors()) {
+            metersService.trackTokenExpired();
+            metersService.trackTokenDecode(SecurityMetersService.TOKEN_EXPIRED, System.nanoTime() - start);
+            throw new JwtValidationException(result.getErrors().iterator().next().getDescription(), result.getErrors());
+        }
+        metersService.trackTokenDecode(SecurityMetersService.TOKEN_VALID, System.nanoTime() - start);
+        return jwt;
+    }
+
+    private String classify(JwtException e) {
+        if (e.getCause() instanceof ParseException) {
+            metersService.trackTokenMalformed();
+            return SecurityMetersService.TOKEN_MALFORMED;
+        }
+        if (e.getCause() instanceof BadJWSException) {
+            metersService.trackTokenInvalidSignature();
+            return SecurityMetersService.TOKEN_INVALID_SIGNATURE;
+        }
+        if (e instanceof BadJwtException) {
+            // Tokens signed with another algorithm, or not signed
+            metersService.trackTokenUnsupported();
+            return SecurityMetersService.TOKEN_UNSUPPORTED;
+        }
+        log.error("Unknown JWT error {}", e.getMessage());
+        return SecurityMetersService.TOKEN_ERROR;
+    }
+
+    /**
+     * @param token the token presented.
+     * @return whether the token is made of three non-empty base64url parts, the first of which is a JSON object.
+     */
+    static boolean isWellFormed(String token) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+        int headerEnd = -1;
+        int payloadEnd = -1;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (headerEnd < 0) {
+                    headerEnd = i;
+                } else if (payloadEnd < 0) {
+                    payloadEnd = i;
+                } else {
+                    return false;
+                }
+            } else if (!isBase64Url(c)) {
+                return false;
+            }
+        }
+        if (headerEnd <= 0 || payloadEnd <= headerEnd + 1 || payloadEnd == token.length() - 1) {
+            return false;
+        }
+        try {
+            byte[] header = Base64.getUrlDecoder().decode(token.substring(0, headerEnd));
+            for (byte b : header) {
+                if (!Character.isWhitespace(b)) {
+                    return b == '{';
+                }
+            }
+            return false;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+}
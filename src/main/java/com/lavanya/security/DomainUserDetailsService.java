@@ -4,6 +4,7 @@ import com.lavanya.domain.Authority;
 import com.lavanya.domain.User;
 import com.lavanya.repository.UserRepository;
 import java.util.*;
+import java.util.function.Function;
 import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,8 +25,11 @@ public class DomainUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public DomainUserDetailsService(UserRepository userRepository) {
+    private final KnownLogins knownLogins;
+
+    public DomainUserDetailsService(UserRepository userRepository, KnownLogins knownLogins) {
         this.userRepository = userRepository;
+        this.knownLogins = knownLogins;
     }
 
     @Override
@@ -34,19 +38,32 @@ public class DomainUserDetailsService implements UserDetailsService {
         log.debug("Authenticating {}", login);
 
         if (new EmailValidator().isValid(login, null)) {
-            return userRepository
-                .findOneWithAuthoritiesByEmailIgnoreCase(login)
+            return findUser(login, userRepository::findOneWithAuthoritiesByEmailIgnoreCase)
                 .map(user -> createSpringSecurityUser(login, user))
                 .orElseThrow(() -> new UsernameNotFoundException("User with email " + login + " was not found in the database"));
         }
 
         String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
-        return userRepository
-            .findOneWithAuthoritiesByLogin(lowercaseLogin)
+        return findUser(lowercaseLogin, userRepository::findOneWithAuthoritiesByLogin)
             .map(user -> createSpringSecurityUser(lowercaseLogin, user))
             .orElseThrow(() -> new UsernameNotFoundException("User " + lowercaseLogin + " was not found in the database"));
     }
 
+    /**
+     * Find a user by login or email, without querying the database when the {@link KnownLogins} tell it does not exist.
+     */
+    private Optional<User> findUser(String login, Function<String, Optional<User>> finder) {
+        if (!knownLogins.mightExist(login)) {
+            log.debug("Rejecting unknown user {} without querying the database", login);
+            return Optional.empty();
+        }
+        Optional<User> user = finder.apply(login);
+        if (user.isEmpty()) {
+            knownLogins.markUnknown(login);
+        }
+        return user;
+    }
+
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
         if (!user.isActivated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
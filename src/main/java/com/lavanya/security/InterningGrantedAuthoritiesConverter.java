@@ -0,0 +1,54 @@
+package com.lavanya.security;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Extracts the authorities of a JWT from its {@link SecurityUtils#AUTHORITIES_KEY} claim, sharing the same immutable
+ * list of authorities between all the tokens with the same claim, as there are only a few combinations of authorities.
+ * <p>
+ * The claim is either a string of space-separated authorities or a list of authorities. At most
+ * {@link #MAX_INTERNED} distinct claims are kept; others are parsed on every call.
+ */
+public class InterningGrantedAuthoritiesConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
+
+    static final int MAX_INTERNED = 1024;
+
+    private final Map<String, List<GrantedAuthority>> interned = new ConcurrentHashMap<>();
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        Object claim = jwt.getClaims().get(SecurityUtils.AUTHORITIES_KEY);
+        String authorities;
+        if (claim instanceof String string) {
+            authorities = string;
+        } else if (claim instanceof Collection<?> collection) {
+            authorities = collection.stream().map(String::valueOf).collect(Collectors.joining(" "));
+        } else {
+            return List.of();
+        }
+        List<GrantedAuthority> grantedAuthorities = interned.get(authorities);
+        if (grantedAuthorities == null) {
+            grantedAuthorities = Arrays.stream(authorities.split(" "))
+                .filter(authority -> !authority.isEmpty())
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+            if (interned.size() < MAX_INTERNED) {
+                interned.putIfAbsent(authorities, grantedAuthorities);
+            }
+        }
+        return grantedAuthorities;
+    }
+
+    int size() {
+        return interned.size();
+    }
+}
@@ -0,0 +1,180 @@
+package com.lavanya.security;
+
+import com.lavanya.config.ApplicationProperties;
+import com.lavanya.repository.UserRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Logins and emails of the existing users, so that authentication attempts with unknown ones, as sent by credential
+ * stuffing, are rejected without querying the database.
+ * <p>
+ * A {@link BloomFilter} holds every login and email, lower-cased: it is built from the database once the application is
+ * ready and rebuilt periodically where scheduling is enabled, and every login and email persisted in between is
+ * {@link #add(String) added}. The few
+ * unknown logins it lets through are looked up, then {@link #markUnknown(String) kept} in the
+ * {@link #UNKNOWN_LOGINS_CACHE} cache for a short time.
+ * <p>
+ * Until the filter is first built, every login might exist.
+ */
+@Component
+public class KnownLogins implements SchedulingConfigurer {
+
+    public static final String UNKNOWN_LOGINS_CACHE = "unknownLogins";
+
+    private final Logger log = LoggerFactory.getLogger(KnownLogins.class);
+
+    private final UserRepository userRepository;
+
+    private final Cache unknownLogins;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.KnownLogins properties;
+
+    private volatile BloomFilter filter;
+
+    /**
+     * Logins added while the filter is being rebuilt, guarded by {@code this}.
+     */
+    private List<String> addedDuringRebuild;
+
+    public KnownLogins(
+        UserRepository userRepository,
+        CacheManager cacheManager,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.userRepository = userRepository;
+        this.unknownLogins = Objects.requireNonNull(cacheManager.getCache(UNKNOWN_LOGINS_CACHE));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getKnownLogins();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        rebuild();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        Duration interval = properties.getRebuildInterval();
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::rebuild, interval, interval));
+    }
+
+    /**
+     * Rebuild the filter from the logins and emails in the database.
+     */
+    public void rebuild() {
+        synchronized (this) {
+            addedDuringRebuild = new ArrayList<>();
+        }
+        try {
+            // Each user has a login and usually an email
+            long count = 2 * userRepository.count();
+            BloomFilter rebuilt = new BloomFilter(
+                Math.max(properties.getExpectedCount(), 2 * count),
+                properties.getFalsePositiveRate()
+            );
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> logins = userRepository.streamAllLogins()) {
+                    logins.map(KnownLogins::normalize).forEach(rebuilt::put);
+                }
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.map(KnownLogins::normalize).forEach(rebuilt::put);
+                }
+            });
+            synchronized (this) {
+                addedDuringRebuild.forEach(rebuilt::put);
+                filter = rebuilt;
+            }
+            log.debug("Built filter of about {} logins and emails: {} bits, {} hashes", count, rebuilt.bitCount(), rebuilt.hashCount());
+        } catch (RuntimeException e) {
+            log.warn("Could not build the filter of known logins: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                addedDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * @param login a login or an email.
+     * @return {@code false} if no user has this login or email, {@code true} if one might.
+     */
+    public boolean mightExist(String login) {
+        String key = normalize(login);
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(key)) {
+            return false;
+        }
+        return unknownLogins.get(key) == null;
+    }
+
+    /**
+     * Add the login or the email of a user being written. It is added again once the current transaction commits, so
+     * that it is in the filter even if the filter is rebuilt before the user is visible to other transactions.
+     *
+     * @param login a login or an email.
+     */
+    public void add(String login) {
+        String key = normalize(login);
+        put(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        put(key);
+                    }
+                }
+            );
+        }
+    }
+
+    private void put(String key) {
+        synchronized (this) {
+            BloomFilter current = filter;
+            if (current != null) {
+                current.put(key);
+            }
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(key);
+            }
+        }
+        unknownLogins.evict(key);
+    }
+
+    /**
+     * Reject a login or an email without querying the database until it expires from the {@link #UNKNOWN_LOGINS_CACHE}
+     * cache, or is {@link #add(String) added}.
+     *
+     * @param login a login or an email.
+     */
+    public void markUnknown(String login) {
+        unknownLogins.put(normalize(login), Boolean.TRUE);
+    }
+
+    private static String normalize(String login) {
+        return login.toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,57 @@
+package com.lavanya.security;
+
+import java.time.Duration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the BCrypt strength (the log2 of its number of rounds) hashing a password in about a target time on the
+ * current hardware.
+ * <p>
+ * Each step of strength doubles the time of a hash, so a few hashes at the minimum strength are enough: the fastest
+ * of them is taken, as the others were slowed down by the JIT or other threads.
+ */
+public final class PasswordHashCalibration {
+
+    /**
+     * Highest strength supported by BCrypt.
+     */
+    static final int MAX_STRENGTH = 31;
+
+    private static final int SAMPLES = 3;
+
+    private PasswordHashCalibration() {}
+
+    /**
+     * Measure BCrypt on the current hardware.
+     *
+     * @param targetLatency the time a hash should take.
+     * @param minStrength the lowest strength to use, whatever the hardware.
+     * @return the highest strength hashing in at most the target time, or the minimum strength.
+     */
+    public static int calibrateBCrypt(Duration targetLatency, int minStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return strength(targetLatency, minStrength, Duration.ofNanos(fastest));
+    }
+
+    /**
+     * @param targetLatency the time a hash should take.
+     * @param minStrength the lowest strength to use.
+     * @param minStrengthLatency the time of a hash at the minimum strength.
+     * @return the highest strength hashing in at most the target time, or the minimum strength.
+     */
+    static int strength(Duration targetLatency, int minStrength, Duration minStrengthLatency) {
+        int strength = minStrength;
+        long latency = Math.max(minStrengthLatency.toNanos(), 1);
+        while (strength < MAX_STRENGTH && latency * 2 <= targetLatency.toNanos()) {
+            latency *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
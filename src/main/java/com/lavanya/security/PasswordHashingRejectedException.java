@@ -0,0 +1,18 @@
+package com.lavanya.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This exception is thrown when too many passwords are already waiting to be hashed, so that the request is shed
+ * instead of holding its thread.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingRejectedException() {
+        super("Too many passwords waiting to be hashed");
+    }
+}
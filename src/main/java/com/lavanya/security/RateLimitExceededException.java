@@ -0,0 +1,29 @@
+package com.lavanya.security;
+
+import java.time.Duration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This exception is thrown when a client sent too many requests for a key, such as its address or a login, so that
+ * the request is rejected before any password is hashed or email sent.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class RateLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String keyClass, Duration retryAfter) {
+        super("Too many requests for this " + keyClass);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return the time until the request would be allowed.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
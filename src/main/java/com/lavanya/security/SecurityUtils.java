@@ -2,7 +2,10 @@ package com.lavanya.security;
 
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
@@ -57,6 +60,16 @@ public final class SecurityUtils {
             .map(authentication -> (String) authentication.getCredentials());
     }
 
+    /**
+     * Get the authorities of the current user.
+     *
+     * @return the authorities of the current user, empty if there is no current user.
+     */
+    public static Set<String> getCurrentUserAuthorities() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? Set.of() : getAuthorities(authentication).collect(Collectors.toSet());
+    }
+
     /**
      * Check if a user is authenticated.
      *
@@ -100,6 +113,19 @@ public final class SecurityUtils {
         return hasCurrentUserAnyOfAuthorities(authority);
     }
 
+    /**
+     * Get the login of the current user, when they can only read the groups they are a member of and their expenses.
+     *
+     * @return the login of the current user, or empty if they are an admin, who can read every group.
+     * @throws AccessDeniedException if there is no current user.
+     */
+    public static Optional<String> getCurrentUserMemberLogin() {
+        if (hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN)) {
+            return Optional.empty();
+        }
+        return Optional.of(getCurrentUserLogin().orElseThrow(() -> new AccessDeniedException("No current user")));
+    }
+
     private static Stream<String> getAuthorities(Authentication authentication) {
         return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority);
     }
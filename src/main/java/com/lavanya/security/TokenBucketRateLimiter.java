@@ -0,0 +1,139 @@
+package com.lavanya.security;
+
+import com.lavanya.management.SecurityMetersService;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets of a class of keys, such as client addresses, each holding up to {@code capacity} requests and
+ * refilled at {@code capacity} requests per {@code period}.
+ * <p>
+ * Each bucket is a single {@link AtomicLong}: the time at which it will be full again, which is moved forward by an
+ * emission interval of {@code period / capacity} per request with a compare-and-set, and a request is allowed as long
+ * as that time is less than a {@code period} ahead. Buckets which are full again are the same as missing ones: once
+ * there are {@code maximumSize} keys, a single thread at a time removes them. A bucket which is not full is never
+ * removed, as a client could then reset its own bucket by sending requests for many other keys: while
+ * there are still {@code maximumSize} keys, requests for new keys are rejected until the earliest of the remaining
+ * buckets is full again. A removed bucket can still allow the request which was reading it.
+ * <p>
+ * Allowed and rejected requests are tracked by key class by the {@link SecurityMetersService}.
+ */
+public class TokenBucketRateLimiter {
+
+    private final String keyClass;
+
+    private final long period;
+
+    private final long emissionInterval;
+
+    private final int maximumSize;
+
+    private final LongSupplier nanoClock;
+
+    private final SecurityMetersService metersService;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * The time at which the earliest of the buckets left by the last eviction is full again, before which new keys
+     * are rejected without looking for buckets to remove.
+     */
+    private volatile long fullAgainAt;
+
+    public TokenBucketRateLimiter(
+        String keyClass,
+        int capacity,
+        Duration period,
+        int maximumSize,
+        LongSupplier nanoClock,
+        SecurityMetersService metersService
+    ) {
+        this.keyClass = keyClass;
+        this.period = period.toNanos();
+        this.emissionInterval = this.period / capacity;
+        this.maximumSize = maximumSize;
+        this.nanoClock = nanoClock;
+        this.metersService = metersService;
+        this.fullAgainAt = nanoClock.getAsLong();
+        metersService.registerRateLimiter(keyClass, this::size);
+    }
+
+    /**
+     * Take a request from the bucket of a key.
+     *
+     * @param key the key, such as a client address.
+     * @throws RateLimitExceededException if the bucket of the key is empty.
+     */
+    public void acquire(String key) {
+        long wait = tryAcquire(key);
+        if (wait > 0) {
+            metersService.trackRateLimitRejected(keyClass);
+            throw new RateLimitExceededException(keyClass, Duration.ofNanos(wait));
+        }
+        metersService.trackRateLimitAllowed(keyClass);
+    }
+
+    /**
+     * @param key the key, such as a client address.
+     * @return {@code 0} if a request was taken from the bucket of the key, or else the time in nanoseconds until it
+     * holds one, or until there is room for the bucket of a new key.
+     */
+    long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maximumSize) {
+                long wait = evict(now);
+                if (wait > 0) {
+                    return wait;
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now < 0 ? now : fullAt) + emissionInterval;
+            if (next - now > period) {
+                return next - now - period;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Remove the buckets which are full again, unless none of the buckets left by the last eviction is yet.
+     *
+     * @return {@code 0} if there is room for a new key, or else the time in nanoseconds until there might be.
+     */
+    private long evict(long now) {
+        if (fullAgainAt - now <= 0 && evicting.compareAndSet(false, true)) {
+            try {
+                long earliest = now + period;
+                for (Iterator<AtomicLong> iterator = buckets.values().iterator(); iterator.hasNext();) {
+                    long fullAt = iterator.next().get();
+                    if (fullAt - now <= 0) {
+                        iterator.remove();
+                    } else if (fullAt - earliest < 0) {
+                        earliest = fullAt;
+                    }
+                }
+                fullAgainAt = earliest;
+            } finally {
+                evicting.set(false);
+            }
+        }
+        return buckets.size() < maximumSize ? 0 : Math.max(fullAgainAt - now, 1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.lavanya.service;
+
+/**
+ * An entry, or a whole cache, to evict on every node.
+ *
+ * @param kind what the region holds.
+ * @param region the entity name for {@link Kind#ENTITY}, the collection role for {@link Kind#COLLECTION}, the cache
+ * name for {@link Kind#CACHE}.
+ * @param key the key of the entry in its text form, or {@code null} to evict the whole region.
+ */
+public record CacheInvalidation(Kind kind, String region, String key) {
+    public enum Kind {
+        /**
+         * A second-level cache entity region, keyed by entity id.
+         */
+        ENTITY,
+        /**
+         * A second-level cache collection region, keyed by owner id.
+         */
+        COLLECTION,
+        /**
+         * A Spring cache, with string keys.
+         */
+        CACHE,
+    }
+
+    public static CacheInvalidation entity(String entityName, Object id) {
+        return new CacheInvalidation(Kind.ENTITY, entityName, String.valueOf(id));
+    }
+
+    public static CacheInvalidation collection(String role, Object ownerId) {
+        return new CacheInvalidation(Kind.COLLECTION, role, String.valueOf(ownerId));
+    }
+
+    public static CacheInvalidation cache(String cacheName, String key) {
+        return new CacheInvalidation(Kind.CACHE, cacheName, key);
+    }
+}
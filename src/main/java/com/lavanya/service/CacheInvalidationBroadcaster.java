@@ -0,0 +1,27 @@
+package com.lavanya.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidations between the nodes of a cluster, so that an entry evicted on one node is evicted on
+ * every other node too.
+ * <p>
+ * Invalidations published in a transaction only reach the other nodes once it commits, otherwise another node could
+ * reload the old state before the commit and keep serving it. The implementation is selected with
+ * {@code application.cache.invalidation.broadcaster}.
+ */
+public interface CacheInvalidationBroadcaster {
+    /**
+     * Publish an invalidation to every other node. The local caches must be evicted by the caller.
+     *
+     * @param invalidation the invalidation.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Register a subscriber, called with each invalidation published by another node.
+     *
+     * @param subscriber the subscriber.
+     */
+    void subscribe(Consumer<CacheInvalidation> subscriber);
+}
@@ -0,0 +1,95 @@
+package com.lavanya.service;
+
+import com.lavanya.domain.Expense;
+import com.lavanya.domain.Expense_;
+import com.lavanya.domain.Group;
+import com.lavanya.domain.Group_;
+import com.lavanya.domain.User;
+import com.lavanya.domain.User_;
+import com.lavanya.repository.KeysetIdRepository;
+import com.lavanya.repository.UserRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service filling the caches read on the request paths, and selecting the resources whose requests are replayed to
+ * fill the response caches.
+ * <p>
+ * Entities are selected by keyset, from the lowest ids up to a limit, so that a cache sized for fewer entries is not
+ * filled only to evict them again, and no page ever counts the rows of its table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CacheWarmUpService {
+
+    private static final int USERS_BATCH_SIZE = 100;
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final UserRepository userRepository;
+
+    private final KeysetIdRepository keysetIdRepository;
+
+    private final CacheManager cacheManager;
+
+    public CacheWarmUpService(UserRepository userRepository, KeysetIdRepository keysetIdRepository, CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.keysetIdRepository = keysetIdRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Fill the {@link UserRepository#USERS_BY_LOGIN_CACHE} and {@link UserRepository#USERS_BY_EMAIL_CACHE} caches
+     * authentication reads users from, with users and their authorities loaded by batches.
+     *
+     * @param limit the maximum number of users to cache.
+     * @return the number of users cached.
+     */
+    public int preloadUsers(int limit) {
+        Cache usersByLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        Cache usersByEmail = cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE);
+        int count = 0;
+        Long after = null;
+        while (count < limit) {
+            List<Long> ids = keysetIdRepository.findIds(User.class, User_.id, null, after, Math.min(USERS_BATCH_SIZE, limit - count));
+            if (ids.isEmpty()) {
+                break;
+            }
+            for (User user : userRepository.findAllWithAuthoritiesByIdIn(ids)) {
+                usersByLogin.put(user.getLogin(), user);
+                if (user.getEmail() != null) {
+                    usersByEmail.put(user.getEmail(), user);
+                }
+            }
+            count += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+        log.debug("Preloaded {} users", count);
+        return count;
+    }
+
+    /**
+     * Select the groups whose requests are replayed.
+     *
+     * @param limit the maximum number of groups.
+     * @return the ids of the groups.
+     */
+    public List<Long> findGroupIds(int limit) {
+        return keysetIdRepository.findIds(Group.class, Group_.id, null, null, limit);
+    }
+
+    /**
+     * Select the expenses whose requests are replayed.
+     *
+     * @param limit the maximum number of expenses.
+     * @return the ids of the expenses.
+     */
+    public List<Long> findExpenseIds(int limit) {
+        return keysetIdRepository.findIds(Expense.class, Expense_.id, null, null, limit);
+    }
+}
@@ -0,0 +1,134 @@
+package com.lavanya.service;
+
+import com.lavanya.config.ApplicationProperties;
+import com.lavanya.repository.CacheInvalidationRepository;
+import com.lavanya.repository.CacheInvalidationRepository.CacheInvalidationRow;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link CacheInvalidationBroadcaster} going through the {@code cache_invalidation} table.
+ * <p>
+ * Invalidations are inserted in the current transaction, so they become visible to the other nodes exactly when the
+ * change they invalidate is committed. Every node polls the table at a fixed interval, which bounds the time another
+ * node serves a stale entry to the poll interval plus the poll itself.
+ * <p>
+ * Ids and creation dates of concurrent transactions are not in commit order, so each poll reads again the rows created
+ * within the lookback before the previous poll, and skips the ones already delivered. The lookback must be longer than
+ * the longest transaction.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "broadcaster", havingValue = "database")
+public class DatabaseCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster, DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(DatabaseCacheInvalidationBroadcaster.class);
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private final String node = UUID.randomUUID().toString();
+
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Creation dates of the invalidations already delivered, by id. Only accessed by the polling thread.
+     */
+    private final Map<Long, Timestamp> delivered = new HashMap<>();
+
+    private Timestamp lastPoll;
+
+    public DatabaseCacheInvalidationBroadcaster(
+        CacheInvalidationRepository cacheInvalidationRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.cacheInvalidationRepository = cacheInvalidationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getCache().getInvalidation();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("cache-invalidation-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        cacheInvalidationRepository.insert(node, invalidation.kind().name(), invalidation.region(), invalidation.key());
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+        if (lastPoll == null) {
+            lastPoll = cacheInvalidationRepository.now();
+            long pollInterval = properties.getPollInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+            long purgeInterval = properties.getLookback().toMillis();
+            scheduler.scheduleWithFixedDelay(this::purge, purgeInterval, purgeInterval, TimeUnit.MILLISECONDS);
+            log.debug("Polling cache invalidations every {} as node {}", properties.getPollInterval(), node);
+        }
+    }
+
+    private void poll() {
+        try {
+            Timestamp now = cacheInvalidationRepository.now();
+            Timestamp since = minus(lastPoll, properties.getLookback());
+            for (CacheInvalidationRow row : cacheInvalidationRepository.findCreatedSince(since)) {
+                if (delivered.putIfAbsent(row.id(), row.createdDate()) == null && !node.equals(row.node())) {
+                    CacheInvalidation invalidation = new CacheInvalidation(
+                        CacheInvalidation.Kind.valueOf(row.kind()),
+                        row.region(),
+                        row.key()
+                    );
+                    subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+                }
+            }
+            delivered.values().removeIf(createdDate -> createdDate.before(since));
+            lastPoll = now;
+        } catch (RuntimeException e) {
+            log.warn("Could not poll cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    private void purge() {
+        try {
+            // Connections do not auto-commit, so the deletion needs a transaction of its own
+            Integer count = transactionTemplate.execute(status ->
+                cacheInvalidationRepository.deleteCreatedBefore(minus(cacheInvalidationRepository.now(), properties.getRetention()))
+            );
+            log.debug("Purged {} cache invalidations", count);
+        } catch (RuntimeException e) {
+            log.warn("Could not purge cache invalidations: {}", e.getMessage());
+        }
+    }
+
+    private static Timestamp minus(Timestamp timestamp, Duration duration) {
+        return Timestamp.from(timestamp.toInstant().minus(duration));
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,118 @@
+package com.lavanya.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lavanya.repository.ExpenseRepository;
+import com.lavanya.repository.ExpenseRepository.ExpenseRow;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting the whole {@code expense} table.
+ * <p>
+ * Rows are read over a forward-only cursor and written to the output as soon as they are read, so the heap used by an
+ * export does not depend on the size of the table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExpenseExportService {
+
+    private static final String CSV_HEADER = "id,amount,user_id,group_id\n";
+
+    private final Logger log = LoggerFactory.getLogger(ExpenseExportService.class);
+
+    private final ExpenseRepository expenseRepository;
+
+    private final ObjectMapper objectMapper;
+
+    public ExpenseExportService(ExpenseRepository expenseRepository, ObjectMapper objectMapper) {
+        this.expenseRepository = expenseRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write every expense to the output, ordered by id. The output is flushed but not closed.
+     *
+     * @param format the format to write.
+     * @param out the output.
+     * @return the number of exported expenses.
+     * @throws IOException if the output cannot be written, typically because the client went away.
+     */
+    public long export(ExpenseFileFormat format, OutputStream out) throws IOException {
+        log.debug("Request to export Expenses as {}", format);
+        try (Stream<ExpenseRow> rows = expenseRepository.streamAllForExport()) {
+            long count = format == ExpenseFileFormat.CSV ? writeCsv(rows.iterator(), out) : writeNdjson(rows.iterator(), out);
+            log.debug("Exported {} Expenses", count);
+            return count;
+        }
+    }
+
+    private long writeNdjson(Iterator<ExpenseRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+            // Lines are separated by the newline written after each object
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                ExpenseRow row = rows.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", row.id());
+                writeNumberField(generator, "amount", row.amount());
+                writeNumberField(generator, "userId", row.userId());
+                writeNumberField(generator, "groupId", row.groupId());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void writeNumberField(JsonGenerator generator, String name, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private static void writeNumberField(JsonGenerator generator, String name, BigDecimal value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private long writeCsv(Iterator<ExpenseRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        while (rows.hasNext()) {
+            ExpenseRow row = rows.next();
+            writer.write(String.valueOf(row.id()));
+            writer.write(',');
+            writer.write(row.amount() == null ? "" : row.amount().toPlainString());
+            writer.write(',');
+            writer.write(row.userId() == null ? "" : row.userId().toString());
+            writer.write(',');
+            writer.write(row.groupId() == null ? "" : row.groupId().toString());
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+}
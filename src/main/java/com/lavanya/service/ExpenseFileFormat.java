@@ -0,0 +1,56 @@
+package com.lavanya.service;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * File formats in which expenses are exported and imported.
+ */
+public enum ExpenseFileFormat {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String extension;
+
+    private final String contentType;
+
+    ExpenseFileFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @param value the name of the format, case insensitive.
+     * @return the format, or empty if it is not supported.
+     */
+    public static Optional<ExpenseFileFormat> fromValue(String value) {
+        for (ExpenseFileFormat format : values()) {
+            if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param contentType a {@code Content-Type} header, parameters such as the charset are ignored.
+     * @return the format, or empty if it is not supported.
+     */
+    public static Optional<ExpenseFileFormat> fromContentType(String contentType) {
+        String mediaType = contentType.split(";", 2)[0].trim();
+        for (ExpenseFileFormat format : values()) {
+            if (format.contentType.equalsIgnoreCase(mediaType)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
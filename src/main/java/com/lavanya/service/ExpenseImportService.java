@@ -0,0 +1,397 @@
+package com.lavanya.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.lavanya.domain.Expense;
+import com.lavanya.domain.Group;
+import com.lavanya.domain.UserProfile;
+import com.lavanya.repository.ExpenseRepository;
+import com.lavanya.repository.GroupRepository;
+import com.lavanya.repository.UserProfileRepository;
+import com.lavanya.service.GroupMemberBalanceService.Contribution;
+import com.lavanya.service.dto.ExpenseImportErrorDTO;
+import com.lavanya.service.dto.ExpenseImportReportDTO;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing batches of expenses.
+ * <p>
+ * The input is read as a pipeline of chunks of {@link #CHUNK_SIZE} lines: chunks are parsed and validated in parallel
+ * on the common fork-join pool, while the calling thread writes the parsed chunks in order, one transaction per chunk.
+ * At most one chunk per parsing thread is buffered ahead of the writer, so an import of any size uses a bounded heap.
+ * <p>
+ * Each chunk resolves the users and groups it references with one query per entity, only for ids not seen in a previous
+ * chunk, then inserts its expenses in a single JDBC batch.
+ */
+@Service
+public class ExpenseImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final List<String> CSV_COLUMNS = List.of("amount", "user_id", "group_id");
+
+    private final Logger log = LoggerFactory.getLogger(ExpenseImportService.class);
+
+    private final ExpenseRepository expenseRepository;
+
+    private final UserProfileRepository userProfileRepository;
+
+    private final GroupRepository groupRepository;
+
+    private final GroupMemberBalanceService groupMemberBalanceService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectReader jsonReader;
+
+    private final int maxPendingChunks = ForkJoinPool.getCommonPoolParallelism() + 1;
+
+    public ExpenseImportService(
+        ExpenseRepository expenseRepository,
+        UserProfileRepository userProfileRepository,
+        GroupRepository groupRepository,
+        GroupMemberBalanceService groupMemberBalanceService,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper
+    ) {
+        this.expenseRepository = expenseRepository;
+        this.userProfileRepository = userProfileRepository;
+        this.groupRepository = groupRepository;
+        this.groupMemberBalanceService = groupMemberBalanceService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    }
+
+    /**
+     * A line of the input.
+     */
+    record Line(long number, String text) {}
+
+    /**
+     * A valid row of the input.
+     */
+    record Row(long line, BigDecimal amount, Long userId, Long groupId) {}
+
+    /**
+     * The valid rows and the errors of a chunk of the input.
+     */
+    record ParsedChunk(List<Row> rows, List<ExpenseImportErrorDTO> errors) {}
+
+    /**
+     * Import expenses. Valid rows are saved even when other rows are rejected.
+     *
+     * @param format the format of the input: NDJSON objects with {@code amount}, {@code userId} and {@code groupId}
+     * fields, or CSV with a header naming the {@code amount}, {@code user_id} and {@code group_id} columns.
+     * @param in the input, read until its end but not closed.
+     * @return the report of the import.
+     * @throws IOException if the input cannot be read.
+     * @throws IllegalArgumentException if the CSV header does not name an {@code amount} column.
+     */
+    public ExpenseImportReportDTO importExpenses(ExpenseFileFormat format, InputStream in) throws IOException {
+        log.debug("Request to import Expenses as {}", format);
+        long start = System.nanoTime();
+        ExpenseImportReportDTO report = new ExpenseImportReportDTO();
+        References references = new References();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        long[] lineNumber = { 0 };
+
+        Function<Line, Row> parser;
+        if (format == ExpenseFileFormat.CSV) {
+            String header = reader.readLine();
+            lineNumber[0]++;
+            if (header == null) {
+                return finish(report, start);
+            }
+            parser = csvParser(header);
+        } else {
+            parser = this::parseJson;
+        }
+
+        Deque<CompletableFuture<ParsedChunk>> pending = new ArrayDeque<>();
+        List<Line> lines;
+        while (!(lines = readChunk(reader, lineNumber)).isEmpty()) {
+            List<Line> chunk = lines;
+            pending.add(CompletableFuture.supplyAsync(() -> parseChunk(chunk, parser)));
+            if (pending.size() >= maxPendingChunks) {
+                write(pending.poll().join(), references, report);
+            }
+        }
+        while (!pending.isEmpty()) {
+            write(pending.poll().join(), references, report);
+        }
+        return finish(report, start);
+    }
+
+    private ExpenseImportReportDTO finish(ExpenseImportReportDTO report, long start) {
+        long elapsedNanos = System.nanoTime() - start;
+        report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        report.setRowsPerSecond(elapsedNanos == 0 ? 0 : report.getRows() * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        log.info(
+            "Imported {} of {} expenses in {} ms ({} rows/s)",
+            report.getImported(),
+            report.getRows(),
+            report.getElapsedMillis(),
+            report.getRowsPerSecond()
+        );
+        return report;
+    }
+
+    private static List<Line> readChunk(BufferedReader reader, long[] lineNumber) throws IOException {
+        List<Line> lines = new ArrayList<>(CHUNK_SIZE);
+        String text;
+        while (lines.size() < CHUNK_SIZE && (text = reader.readLine()) != null) {
+            lineNumber[0]++;
+            if (!text.isBlank()) {
+                lines.add(new Line(lineNumber[0], text));
+            }
+        }
+        return lines;
+    }
+
+    static ParsedChunk parseChunk(List<Line> lines, Function<Line, Row> parser) {
+        List<Row> rows = new ArrayList<>(lines.size());
+        List<ExpenseImportErrorDTO> errors = new ArrayList<>();
+        for (Line line : lines) {
+            try {
+                rows.add(parser.apply(line));
+            } catch (IllegalArgumentException e) {
+                errors.add(new ExpenseImportErrorDTO(line.number(), e.getMessage()));
+            }
+        }
+        return new ParsedChunk(rows, errors);
+    }
+
+    private void write(ParsedChunk chunk, References references, ExpenseImportReportDTO report) {
+        report.setRows(report.getRows() + chunk.rows().size() + chunk.errors().size());
+        chunk.errors().forEach(report::addError);
+        if (chunk.rows().isEmpty()) {
+            return;
+        }
+        List<ExpenseImportErrorDTO> rejected = new ArrayList<>();
+        List<Row> accepted = new ArrayList<>(chunk.rows().size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rejected.clear();
+                accepted.clear();
+                references.resolve(chunk.rows());
+                List<Expense> expenses = new ArrayList<>(chunk.rows().size());
+                List<Contribution> contributions = new ArrayList<>();
+                for (Row row : chunk.rows()) {
+                    String problem = references.check(row);
+                    if (problem != null) {
+                        rejected.add(new ExpenseImportErrorDTO(row.line(), problem));
+                        continue;
+                    }
+                    accepted.add(row);
+                    expenses.add(toExpense(row));
+                    if (row.userId() != null && row.groupId() != null) {
+                        contributions.add(new Contribution(row.groupId(), row.userId(), row.amount()));
+                    }
+                }
+                if (!expenses.isEmpty()) {
+                    expenseRepository.insertAll(expenses);
+                    groupMemberBalanceService.recordCreations(contributions);
+                }
+            });
+            report.setImported(report.getImported() + accepted.size());
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Could not save expenses from line {}: {}", chunk.rows().get(0).line(), e.getMessage());
+            String message = "could not be saved: " + e.getMostSpecificCause().getMessage();
+            accepted.forEach(row -> rejected.add(new ExpenseImportErrorDTO(row.line(), message)));
+        }
+        rejected.forEach(report::addError);
+    }
+
+    private static Expense toExpense(Row row) {
+        Expense expense = new Expense().amount(row.amount());
+        if (row.userId() != null) {
+            UserProfile user = new UserProfile();
+            user.setId(row.userId());
+            expense.setUser(user);
+        }
+        if (row.groupId() != null) {
+            Group group = new Group();
+            group.setId(row.groupId());
+            expense.setGroup(group);
+        }
+        return expense;
+    }
+
+    /**
+     * The user profiles and groups already known to exist, or not, so that each id is looked up once per import.
+     */
+    private final class References {
+
+        private final Set<Long> users = new HashSet<>();
+
+        private final Set<Long> unknownUsers = new HashSet<>();
+
+        private final Set<Long> groups = new HashSet<>();
+
+        private final Set<Long> unknownGroups = new HashSet<>();
+
+        void resolve(List<Row> rows) {
+            Set<Long> userIds = new HashSet<>();
+            Set<Long> groupIds = new HashSet<>();
+            for (Row row : rows) {
+                if (row.userId() != null && !users.contains(row.userId()) && !unknownUsers.contains(row.userId())) {
+                    userIds.add(row.userId());
+                }
+                if (row.groupId() != null && !groups.contains(row.groupId()) && !unknownGroups.contains(row.groupId())) {
+                    groupIds.add(row.groupId());
+                }
+            }
+            resolve(userIds, userProfileRepository::findExistingIds, users, unknownUsers);
+            resolve(groupIds, groupRepository::findExistingIds, groups, unknownGroups);
+        }
+
+        private static void resolve(Set<Long> ids, Function<Collection<Long>, List<Long>> finder, Set<Long> known, Set<Long> unknown) {
+            if (ids.isEmpty()) {
+                return;
+            }
+            List<Long> existing = finder.apply(ids);
+            known.addAll(existing);
+            existing.forEach(ids::remove);
+            unknown.addAll(ids);
+        }
+
+        String check(Row row) {
+            if (row.userId() != null && unknownUsers.contains(row.userId())) {
+                return "unknown userId " + row.userId();
+            }
+            if (row.groupId() != null && unknownGroups.contains(row.groupId())) {
+                return "unknown groupId " + row.groupId();
+            }
+            return null;
+        }
+    }
+
+    Row parseJson(Line line) {
+        JsonNode node;
+        try {
+            node = jsonReader.readTree(line.text());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("invalid JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        JsonNode amount = node.get("amount");
+        return new Row(
+            line.number(),
+            parseAmount(amount == null || amount.isNull() ? null : amount.isNumber() ? amount.decimalValue() : amount.asText()),
+            parseId("userId", node.get("userId")),
+            parseId("groupId", node.get("groupId"))
+        );
+    }
+
+    static Function<Line, Row> csvParser(String header) {
+        List<String> columns = Arrays.stream(header.split(",", -1)).map(column -> unquote(column).toLowerCase(Locale.ROOT)).toList();
+        int amountIndex = columns.indexOf(CSV_COLUMNS.get(0));
+        int userIndex = columns.indexOf(CSV_COLUMNS.get(1));
+        int groupIndex = columns.indexOf(CSV_COLUMNS.get(2));
+        if (amountIndex < 0) {
+            throw new IllegalArgumentException("The CSV header must name an amount column");
+        }
+        int columnCount = columns.size();
+        return line -> {
+            String[] values = line.text().split(",", -1);
+            if (values.length != columnCount) {
+                throw new IllegalArgumentException("expected " + columnCount + " columns, got " + values.length);
+            }
+            return new Row(
+                line.number(),
+                parseAmount(unquote(values[amountIndex])),
+                userIndex < 0 ? null : parseId(CSV_COLUMNS.get(1), unquote(values[userIndex])),
+                groupIndex < 0 ? null : parseId(CSV_COLUMNS.get(2), unquote(values[groupIndex]))
+            );
+        };
+    }
+
+    private static String unquote(String value) {
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1).trim();
+        }
+        return trimmed;
+    }
+
+    private static BigDecimal parseAmount(Object value) {
+        if (value == null || (value instanceof String text && text.isEmpty())) {
+            throw new IllegalArgumentException("amount is required");
+        }
+        BigDecimal amount;
+        try {
+            amount = value instanceof BigDecimal decimal ? decimal : new BigDecimal((String) value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("amount is not a number");
+        }
+        if (amount.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("amount must not have more than 2 decimals");
+        }
+        amount = amount.setScale(2);
+        if (amount.precision() > 21) {
+            throw new IllegalArgumentException("amount is too large");
+        }
+        return amount;
+    }
+
+    private static Long parseId(String name, JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        if (node.isIntegralNumber() && node.canConvertToLong()) {
+            return checkId(name, node.longValue());
+        }
+        if (node.isTextual()) {
+            return parseId(name, node.asText());
+        }
+        throw new IllegalArgumentException(name + " is not an id");
+    }
+
+    private static Long parseId(String name, String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return checkId(name, Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not an id");
+        }
+    }
+
+    private static Long checkId(String name, long id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException(name + " is not an id");
+        }
+        return id;
+    }
+}
@@ -0,0 +1,183 @@
+package com.lavanya.service;
+
+import com.lavanya.domain.*; // for static metamodels
+import com.lavanya.domain.Expense;
+import com.lavanya.repository.ExpenseRepository;
+import com.lavanya.repository.KeysetIdRepository;
+import com.lavanya.security.SecurityUtils;
+import com.lavanya.service.criteria.ExpenseCriteria;
+import com.lavanya.service.dto.ExpenseDTO;
+import com.lavanya.service.mapper.ExpenseMapper;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Expense} entities in the database.
+ * The main input is a {@link ExpenseCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Window} of {@link ExpenseDTO} which fulfills the criteria, ordered by id so that it can be
+ * scrolled with a keyset ({@code id > :after}) whatever its depth.
+ * <p>
+ * The ids of the page are selected first, then only the returned columns are read for them, so that no entity is
+ * loaded into the persistence context.
+ * <p>
+ * Users who are not admins only read the expenses of the groups they are a member of: the filter is part of every
+ * query, see {@link com.lavanya.repository.GroupRepository#MEMBER_GROUP_IDS}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExpenseQueryService extends QueryService<Expense> {
+
+    private final Logger log = LoggerFactory.getLogger(ExpenseQueryService.class);
+
+    private final ExpenseRepository expenseRepository;
+
+    private final KeysetIdRepository keysetIdRepository;
+
+    private final ExpenseMapper expenseMapper;
+
+    public ExpenseQueryService(ExpenseRepository expenseRepository, KeysetIdRepository keysetIdRepository, ExpenseMapper expenseMapper) {
+        this.expenseRepository = expenseRepository;
+        this.keysetIdRepository = keysetIdRepository;
+        this.expenseMapper = expenseMapper;
+    }
+
+    /**
+     * Return a {@link Window} of {@link ExpenseDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after the id to start after, or {@code null} for the first page.
+     * @param size the maximum number of entities to return.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<ExpenseDTO> findByCriteria(ExpenseCriteria criteria, Long after, int size) {
+        log.debug("find by criteria : {}, after: {}, size: {}", criteria, after, size);
+        Optional<String> login = SecurityUtils.getCurrentUserMemberLogin();
+        Specification<Expense> specification = createSpecification(criteria);
+        if (login.isPresent()) {
+            specification = specification.and((root, query, builder) ->
+                root.get(Expense_.group).get(Group_.id).in(GroupQueryService.memberGroupIds(query, builder, login.orElseThrow()))
+            );
+        }
+        List<Long> ids = keysetIdRepository.findIds(Expense.class, Expense_.id, specification, after, size + 1);
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+        List<ExpenseDTO> content = ids.isEmpty() ? List.of() : expenseMapper.toDto(expenseRepository.findRowsByIdIn(ids));
+        return Window.from(content, index -> ScrollPosition.forward(Map.of(Expense_.ID, content.get(index).getId())), hasNext);
+    }
+
+    /**
+     * Get one expense by id.
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ExpenseDTO> findOne(Long id) {
+        log.debug("find by id : {}", id);
+        return SecurityUtils.getCurrentUserMemberLogin()
+            .map(login -> expenseRepository.findVisibleRowById(id, login))
+            .orElseGet(() -> expenseRepository.findRowById(id))
+            .map(expenseMapper::toDto);
+    }
+
+    /**
+     * Get the version of one expense by id.
+     * @param id the id of the entity.
+     * @return the version, or empty if the expense does not exist or the current user cannot read it.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        return SecurityUtils.getCurrentUserMemberLogin()
+            .map(login -> expenseRepository.findVisibleVersionById(id, login))
+            .orElseGet(() -> expenseRepository.findVersionById(id));
+    }
+
+    /**
+     * Check that an expense exists and the current user can read it, and so change it.
+     * @param id the id of the entity.
+     * @return whether the current user can read the expense.
+     */
+    @Transactional(readOnly = true)
+    public boolean isVisible(Long id) {
+        return SecurityUtils.getCurrentUserMemberLogin()
+            .map(login -> expenseRepository.existsVisibleById(id, login))
+            .orElseGet(() -> expenseRepository.existsById(id));
+    }
+
+    /**
+     * Get the expenses of the given ids which exist and the current user can read.
+     * @param ids the ids of the entities.
+     * @return the entities, ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public List<ExpenseDTO> findAllByIdIn(Collection<Long> ids) {
+        log.debug("find by ids : {}", ids);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return expenseMapper.toDto(
+            SecurityUtils.getCurrentUserMemberLogin()
+                .map(login -> expenseRepository.findVisibleRowsByIdIn(ids, login))
+                .orElseGet(() -> expenseRepository.findRowsByIdIn(ids))
+        );
+    }
+
+    /**
+     * Get the ids of the expenses of the given groups, whether or not the current user can read them.
+     * @param groupIds the ids of the groups.
+     * @return the ids of the entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findIdsByGroupIdIn(Collection<Long> groupIds) {
+        log.debug("find ids by group ids : {}", groupIds);
+        if (groupIds.isEmpty()) {
+            return List.of();
+        }
+        return expenseRepository.findIdsByGroupIdIn(groupIds);
+    }
+
+    /**
+     * Function to convert {@link ExpenseCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Expense> createSpecification(ExpenseCriteria criteria) {
+        Specification<Expense> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Expense_.id));
+            }
+            if (criteria.getAmount() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getAmount(), Expense_.amount));
+            }
+            if (criteria.getUserId() != null) {
+                // Compares the foreign key column, no join needed
+                specification = specification.and(
+                    buildSpecification(criteria.getUserId(), root -> root.get(Expense_.user).get(UserProfile_.id))
+                );
+            }
+            if (criteria.getGroupId() != null) {
+                specification = specification.and(
+                    buildSpecification(criteria.getGroupId(), root -> root.get(Expense_.group).get(Group_.id))
+                );
+            }
+        }
+        return specification;
+    }
+}
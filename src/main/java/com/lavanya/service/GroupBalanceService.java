@@ -0,0 +1,147 @@
+package com.lavanya.service;
+
+import com.lavanya.repository.ExpenseRepository;
+import com.lavanya.repository.GroupMemberBalanceRepository;
+import com.lavanya.repository.GroupRepository;
+import com.lavanya.security.SecurityUtils;
+import com.lavanya.service.dto.GroupBalanceDTO;
+import com.lavanya.service.dto.MemberBalanceDTO;
+import com.lavanya.service.dto.SettlementPlanDTO;
+import com.lavanya.service.dto.TransferDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service computing who owes what inside a {@link com.lavanya.domain.Group}.
+ * <p>
+ * Every expense of a group is split equally between its members. The amount paid by each member is read from the
+ * {@link com.lavanya.domain.GroupMemberBalance} materialized totals, so the cost of a read grows with the number of
+ * members, not with the number of expenses. Expenses paid by someone who is not a member of the group are not part of
+ * the balances.
+ * <p>
+ * The same balances can be computed from the expenses themselves, with a single aggregate over the members of the group
+ * and their expenses, to check the materialized totals.
+ */
+@Service
+@Transactional(readOnly = true)
+public class GroupBalanceService {
+
+    private static final int SCALE = 2;
+
+    private final Logger log = LoggerFactory.getLogger(GroupBalanceService.class);
+
+    private final GroupRepository groupRepository;
+
+    private final GroupMemberBalanceRepository groupMemberBalanceRepository;
+
+    private final ExpenseRepository expenseRepository;
+
+    public GroupBalanceService(
+        GroupRepository groupRepository,
+        GroupMemberBalanceRepository groupMemberBalanceRepository,
+        ExpenseRepository expenseRepository
+    ) {
+        this.groupRepository = groupRepository;
+        this.groupMemberBalanceRepository = groupMemberBalanceRepository;
+        this.expenseRepository = expenseRepository;
+    }
+
+    /**
+     * Get the net position of every member of a group.
+     *
+     * @param groupId the id of the group.
+     * @return the balances, or an empty {@link Optional} if the group does not exist or the current user cannot read it.
+     */
+    public Optional<GroupBalanceDTO> getBalances(Long groupId) {
+        log.debug("Request to get balances of Group : {}", groupId);
+        boolean visible = SecurityUtils.getCurrentUserMemberLogin()
+            .map(login -> groupRepository.existsVisibleById(groupId, login))
+            .orElseGet(() -> groupRepository.existsById(groupId));
+        if (!visible) {
+            return Optional.empty();
+        }
+        List<GroupMemberBalanceRepository.MemberTotal> paidByMember = groupMemberBalanceRepository.findPaidByMemberForGroupId(groupId);
+        return Optional.of(toGroupBalance(groupId, paidByMember));
+    }
+
+    /**
+     * Compute the net position of every member of a group from its expenses, with
+     * {@link ExpenseRepository#sumAmountPaidByMemberForGroupId}, instead of the materialized totals.
+     *
+     * @param groupId the id of the group.
+     * @return the balances, or an empty {@link Optional} if the group does not exist.
+     */
+    public Optional<GroupBalanceDTO> computeBalancesFromExpenses(Long groupId) {
+        log.debug("Request to compute balances of Group from its expenses : {}", groupId);
+        if (!groupRepository.existsById(groupId)) {
+            return Optional.empty();
+        }
+        List<GroupMemberBalanceRepository.MemberTotal> paidByMember = expenseRepository.sumAmountPaidByMemberForGroupId(groupId);
+        return Optional.of(toGroupBalance(groupId, paidByMember));
+    }
+
+    /**
+     * Get the transfers that settle every balance of a group, see {@link SettlementPlanner}.
+     *
+     * @param groupId the id of the group.
+     * @return the plan, or an empty {@link Optional} if the group does not exist or the current user cannot read it.
+     */
+    public Optional<SettlementPlanDTO> getSettlementPlan(Long groupId) {
+        log.debug("Request to get settlement plan of Group : {}", groupId);
+        return getBalances(groupId).map(this::toSettlementPlan);
+    }
+
+    private SettlementPlanDTO toSettlementPlan(GroupBalanceDTO groupBalance) {
+        List<MemberBalanceDTO> members = groupBalance.getMembers();
+        long[] memberIds = new long[members.size()];
+        long[] balances = new long[members.size()];
+        for (int i = 0; i < members.size(); i++) {
+            memberIds[i] = members.get(i).getUserProfileId();
+            balances[i] = members.get(i).getBalance().movePointRight(SCALE).longValueExact();
+        }
+        SettlementPlanner.Plan plan = SettlementPlanner.plan(memberIds, balances);
+        List<TransferDTO> transfers = new ArrayList<>(plan.size());
+        for (int i = 0; i < plan.size(); i++) {
+            transfers.add(new TransferDTO(plan.from(i), plan.to(i), BigDecimal.valueOf(plan.amount(i), SCALE)));
+        }
+        return new SettlementPlanDTO(groupBalance.getGroupId(), transfers);
+    }
+
+    private GroupBalanceDTO toGroupBalance(Long groupId, List<GroupMemberBalanceRepository.MemberTotal> paidByMember) {
+        BigDecimal total = BigDecimal.ZERO.setScale(SCALE);
+        for (GroupMemberBalanceRepository.MemberTotal memberTotal : paidByMember) {
+            total = total.add(memberTotal.getTotal());
+        }
+        total = total.setScale(SCALE, RoundingMode.HALF_EVEN);
+        List<MemberBalanceDTO> members = new ArrayList<>(paidByMember.size());
+        if (paidByMember.isEmpty()) {
+            return new GroupBalanceDTO(groupId, total, members);
+        }
+
+        // Split in cents, the leftover cents go to the first members so that the balances always sum to zero
+        BigDecimal[] split = total.movePointRight(SCALE).divideAndRemainder(BigDecimal.valueOf(paidByMember.size()));
+        BigDecimal baseShare = split[0].movePointLeft(SCALE);
+        long leftoverCents = split[1].longValueExact();
+        BigDecimal cent = BigDecimal.ONE.movePointLeft(SCALE).multiply(BigDecimal.valueOf(Long.signum(leftoverCents)));
+        for (int i = 0; i < paidByMember.size(); i++) {
+            GroupMemberBalanceRepository.MemberTotal memberTotal = paidByMember.get(i);
+            BigDecimal share = i < Math.abs(leftoverCents) ? baseShare.add(cent) : baseShare;
+            members.add(
+                new MemberBalanceDTO(
+                    memberTotal.getId(),
+                    memberTotal.getEmail(),
+                    memberTotal.getTotal().setScale(SCALE, RoundingMode.HALF_EVEN),
+                    share.setScale(SCALE, RoundingMode.HALF_EVEN)
+                )
+            );
+        }
+        return new GroupBalanceDTO(groupId, total, members);
+    }
+}
@@ -0,0 +1,126 @@
+package com.lavanya.service;
+
+import com.lavanya.domain.Expense;
+import com.lavanya.domain.GroupMemberBalanceId;
+import com.lavanya.repository.GroupMemberBalanceRepository;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service maintaining the {@link com.lavanya.domain.GroupMemberBalance} materialized totals.
+ * <p>
+ * {@link #recordChange(Contribution, Contribution)} must be called in the transaction that writes the expense, which
+ * is enforced with {@link Propagation#MANDATORY}: the totals and the expenses are always committed together.
+ */
+@Service
+@Transactional
+public class GroupMemberBalanceService {
+
+    private final Logger log = LoggerFactory.getLogger(GroupMemberBalanceService.class);
+
+    private final GroupMemberBalanceRepository groupMemberBalanceRepository;
+
+    public GroupMemberBalanceService(GroupMemberBalanceRepository groupMemberBalanceRepository) {
+        this.groupMemberBalanceRepository = groupMemberBalanceRepository;
+    }
+
+    /**
+     * The part of an expense that is materialized: who paid how much in which group.
+     */
+    public record Contribution(Long groupId, Long userProfileId, BigDecimal amount) {
+        /**
+         * @param expense the expense, may be {@code null}.
+         * @return its contribution, or {@code null} if the expense is not attached to both a group and a member.
+         */
+        public static Contribution of(Expense expense) {
+            if (expense == null || expense.getGroup() == null || expense.getUser() == null) {
+                return null;
+            }
+            if (expense.getGroup().getId() == null || expense.getUser().getId() == null) {
+                return null;
+            }
+            BigDecimal amount = expense.getAmount() == null ? BigDecimal.ZERO : expense.getAmount();
+            return new Contribution(expense.getGroup().getId(), expense.getUser().getId(), amount);
+        }
+
+        boolean sameMember(Contribution other) {
+            return other != null && Objects.equals(groupId, other.groupId) && Objects.equals(userProfileId, other.userProfileId);
+        }
+    }
+
+    /**
+     * Apply the change of one expense to the materialized totals.
+     *
+     * @param before the contribution of the expense before the write, {@code null} for a creation.
+     * @param after the contribution of the expense after the write, {@code null} for a deletion.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(Contribution before, Contribution after) {
+        log.debug("Request to record balance change : {} -> {}", before, after);
+        if (before != null && before.sameMember(after)) {
+            BigDecimal delta = after.amount().subtract(before.amount());
+            if (delta.signum() != 0) {
+                groupMemberBalanceRepository.add(after.groupId(), after.userProfileId(), delta, 0);
+            }
+            return;
+        }
+        if (before != null) {
+            groupMemberBalanceRepository.add(before.groupId(), before.userProfileId(), before.amount().negate(), -1);
+            groupMemberBalanceRepository.deleteIfEmpty(before.groupId(), before.userProfileId());
+        }
+        if (after != null) {
+            groupMemberBalanceRepository.add(after.groupId(), after.userProfileId(), after.amount(), 1);
+        }
+    }
+
+    /**
+     * Apply the creation of many expenses to the materialized totals, with one write per (group, member) pair.
+     *
+     * @param contributions the contributions of the created expenses.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreations(Collection<Contribution> contributions) {
+        log.debug("Request to record {} balance creations", contributions.size());
+        Map<GroupMemberBalanceId, BigDecimal> paid = new HashMap<>();
+        Map<GroupMemberBalanceId, Long> counts = new HashMap<>();
+        for (Contribution contribution : contributions) {
+            GroupMemberBalanceId id = new GroupMemberBalanceId(contribution.groupId(), contribution.userProfileId());
+            paid.merge(id, contribution.amount(), BigDecimal::add);
+            counts.merge(id, 1L, Long::sum);
+        }
+        paid.forEach((id, amount) -> groupMemberBalanceRepository.add(id.getGroupId(), id.getUserProfileId(), amount, counts.get(id)));
+    }
+
+    /**
+     * Recompute every materialized total from the expense table.
+     *
+     * @return the number of materialized rows.
+     */
+    public int rebuild() {
+        log.debug("Request to rebuild all group member balances");
+        groupMemberBalanceRepository.deleteAllBalances();
+        int rows = groupMemberBalanceRepository.insertAllFromExpenses();
+        log.info("Rebuilt {} group member balances", rows);
+        return rows;
+    }
+
+    /**
+     * Check that every materialized total equals the raw sum of the matching expenses.
+     *
+     * @return the (group, member) pairs that differ, empty when the invariant holds.
+     */
+    @Transactional(readOnly = true)
+    public List<GroupMemberBalanceRepository.Mismatch> findMismatches() {
+        log.debug("Request to check group member balances");
+        return groupMemberBalanceRepository.findMismatches();
+    }
+}
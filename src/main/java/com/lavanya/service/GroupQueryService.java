@@ -0,0 +1,209 @@
+package com.lavanya.service;
+
+import com.lavanya.domain.*; // for static metamodels
+import com.lavanya.domain.Group;
+import com.lavanya.repository.GroupRepository;
+import com.lavanya.repository.GroupRepository.MemberRow;
+import com.lavanya.repository.KeysetIdRepository;
+import com.lavanya.security.SecurityUtils;
+import com.lavanya.service.criteria.GroupCriteria;
+import com.lavanya.service.dto.GroupDTO;
+import com.lavanya.service.mapper.GroupMapper;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Group} entities in the database.
+ * The main input is a {@link GroupCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Window} of {@link GroupDTO} which fulfills the criteria, ordered by id so that it can be
+ * scrolled with a keyset ({@code id > :after}) whatever its depth.
+ * <p>
+ * The ids of the page are selected first, then only the returned columns are read for them, so that no entity is
+ * loaded into the persistence context.
+ * <p>
+ * Users who are not admins only read the groups they are a member of: the filter is part of every query, see
+ * {@link GroupRepository#MEMBER_GROUP_IDS}.
+ */
+@Service
+@Transactional(readOnly = true)
+public class GroupQueryService extends QueryService<Group> {
+
+    private final Logger log = LoggerFactory.getLogger(GroupQueryService.class);
+
+    private final GroupRepository groupRepository;
+
+    private final KeysetIdRepository keysetIdRepository;
+
+    private final GroupMapper groupMapper;
+
+    public GroupQueryService(GroupRepository groupRepository, KeysetIdRepository keysetIdRepository, GroupMapper groupMapper) {
+        this.groupRepository = groupRepository;
+        this.keysetIdRepository = keysetIdRepository;
+        this.groupMapper = groupMapper;
+    }
+
+    /**
+     * Return a {@link Window} of {@link GroupDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after the id to start after, or {@code null} for the first page.
+     * @param size the maximum number of entities to return.
+     * @param withMembers whether to load the members of the groups, in one query for the whole page.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<GroupDTO> findByCriteria(GroupCriteria criteria, Long after, int size, boolean withMembers) {
+        log.debug("find by criteria : {}, after: {}, size: {}", criteria, after, size);
+        Optional<String> login = SecurityUtils.getCurrentUserMemberLogin();
+        Specification<Group> specification = createSpecification(criteria);
+        if (login.isPresent()) {
+            specification = specification.and((root, query, builder) ->
+                root.get(Group_.id).in(memberGroupIds(query, builder, login.orElseThrow()))
+            );
+        }
+        List<Long> ids = keysetIdRepository.findIds(Group.class, Group_.id, specification, after, size + 1);
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+        List<GroupDTO> content = ids.isEmpty() ? List.of() : groupMapper.toDto(groupRepository.findRowsByIdIn(ids));
+        if (withMembers) {
+            addMembers(content);
+        }
+        return Window.from(content, index -> ScrollPosition.forward(Map.of(Group_.ID, content.get(index).getId())), hasNext);
+    }
+
+    /**
+     * Get one group by id, with its members.
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<GroupDTO> findOne(Long id) {
+        log.debug("find by id : {}", id);
+        Optional<GroupDTO> group = SecurityUtils.getCurrentUserMemberLogin()
+            .map(login -> groupRepository.findVisibleRowById(id, login))
+            .orElseGet(() -> groupRepository.findRowById(id))
+            .map(groupMapper::toDto);
+        group.ifPresent(groupDTO -> addMembers(List.of(groupDTO)));
+        return group;
+    }
+
+    /**
+     * Get the groups of the given ids which exist and the current user can read, with their members.
+     * @param ids the ids of the entities.
+     * @return the entities, ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public List<GroupDTO> findAllByIdIn(Collection<Long> ids) {
+        log.debug("find by ids : {}", ids);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<GroupDTO> groups = groupMapper.toDto(
+            SecurityUtils.getCurrentUserMemberLogin()
+                .map(login -> groupRepository.findVisibleRowsByIdIn(ids, login))
+                .orElseGet(() -> groupRepository.findRowsByIdIn(ids))
+        );
+        addMembers(groups);
+        return groups;
+    }
+
+    /**
+     * Get the version of a group and of its members, see {@link GroupRepository.VersionRow}.
+     * @param id the id of the entity.
+     * @return the version, or empty if the group does not exist or the current user cannot read it.
+     */
+    @Transactional(readOnly = true)
+    public Optional<GroupRepository.VersionRow> findVersion(Long id) {
+        return SecurityUtils.getCurrentUserMemberLogin()
+            .map(login -> groupRepository.findVisibleVersionRowById(id, login))
+            .orElseGet(() -> groupRepository.findVersionRowById(id));
+    }
+
+    /**
+     * Check that a group exists and the current user can read it, and so change it and its expenses.
+     * @param id the id of the entity.
+     * @return whether the current user can read the group.
+     */
+    @Transactional(readOnly = true)
+    public boolean isVisible(Long id) {
+        return SecurityUtils.getCurrentUserMemberLogin()
+            .map(login -> groupRepository.existsVisibleById(id, login))
+            .orElseGet(() -> groupRepository.existsById(id));
+    }
+
+    /**
+     * Build the subquery of the ids of the groups a user is a member of, see {@link GroupRepository#MEMBER_GROUP_IDS}.
+     * @param query the query the subquery is part of.
+     * @param builder the criteria builder.
+     * @param login the login of the user.
+     * @return the subquery.
+     */
+    static Subquery<Long> memberGroupIds(CommonAbstractCriteria query, CriteriaBuilder builder, String login) {
+        Subquery<Long> groupIds = query.subquery(Long.class);
+        Root<User> member = groupIds.from(User.class);
+        Root<UserProfile> profile = groupIds.from(UserProfile.class);
+        Join<UserProfile, Group> membership = profile.join(UserProfile_.groups);
+        return groupIds
+            .select(membership.get(Group_.id))
+            .where(builder.equal(member.get(User_.login), login), builder.equal(profile.get(UserProfile_.email), member.get(User_.email)));
+    }
+
+    private void addMembers(List<GroupDTO> groups) {
+        if (groups.isEmpty()) {
+            return;
+        }
+        Map<Long, GroupDTO> groupsById = groups.stream().collect(Collectors.toMap(GroupDTO::getId, Function.identity()));
+        for (MemberRow member : groupRepository.findMemberRowsByGroupIdIn(groupsById.keySet())) {
+            groupsById.get(member.groupId()).getMembers().add(groupMapper.toDto(member));
+        }
+    }
+
+    /**
+     * Function to convert {@link GroupCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Group> createSpecification(GroupCriteria criteria) {
+        Specification<Group> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Group_.id));
+            }
+            if (criteria.getName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getName(), Group_.name));
+            }
+            if (criteria.getAdminId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getAdminId(), Group_.adminId));
+            }
+            if (criteria.getMembersId() != null) {
+                specification = specification.and(
+                    buildReferringEntitySpecification(criteria.getMembersId(), Group_.members, UserProfile_.id)
+                );
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,65 @@
+package com.lavanya.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link CacheInvalidationBroadcaster} delivering invalidations to the other application contexts of the same JVM.
+ * <p>
+ * Used when the application runs on a single node, where nothing needs to be delivered, and by tests running several
+ * application contexts side by side.
+ */
+@Service
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "broadcaster", havingValue = "in-jvm", matchIfMissing = true)
+public class InJvmCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster, DisposableBean {
+
+    private static final Set<InJvmCacheInvalidationBroadcaster> NODES = new CopyOnWriteArraySet<>();
+
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    public InJvmCacheInvalidationBroadcaster() {
+        NODES.add(this);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        deliver(invalidation);
+                    }
+                }
+            );
+        } else {
+            deliver(invalidation);
+        }
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        for (InJvmCacheInvalidationBroadcaster node : NODES) {
+            if (node != this) {
+                node.subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void destroy() {
+        NODES.remove(this);
+    }
+}
@@ -0,0 +1,135 @@
+package com.lavanya.service;
+
+import com.lavanya.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Coalesces concurrent identical reads: while a read is in flight, the same read by other threads waits for its result
+ * instead of querying the database again.
+ * <p>
+ * Reads are identical when they have the same operation, the same normalized request and are made with the same
+ * authorities, so the result of a read must not depend on anything else. The result is shared between the threads and
+ * must not be modified.
+ * <p>
+ * Once a transaction changing the data of an operation commits, it must {@link #forget(String) forget} the operation,
+ * so that the reads made afterwards do not wait for a result computed before the change.
+ */
+@Service
+public class RequestCoalescer {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Flight, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run a read, or wait for the same read already in flight.
+     *
+     * @param operation the name of the read.
+     * @param request the normalized request, with {@code equals} and {@code hashCode}.
+     * @param read the read.
+     * @return the result of the read.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object request, Supplier<T> read) {
+        Flight flight = new Flight(operation, request, SecurityUtils.getCurrentUserAuthorities());
+        Meters operationMeters = meters.computeIfAbsent(operation, Meters::new);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(flight, result);
+        if (inFlight != null) {
+            operationMeters.shared.increment();
+            try {
+                return (T) inFlight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+        operationMeters.executed.increment();
+        try {
+            T value = read.get();
+            result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flight, result);
+        }
+    }
+
+    /**
+     * Stop sharing the reads of an operation in flight, once the current transaction commits.
+     *
+     * @param operation the name of the read.
+     */
+    public void forget(String operation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        flights.keySet().removeIf(flight -> flight.operation().equals(operation));
+                    }
+                }
+            );
+        } else {
+            flights.keySet().removeIf(flight -> flight.operation().equals(operation));
+        }
+    }
+
+    private record Flight(String operation, Object request, Set<String> authorities) {}
+
+    /**
+     * Meters of an operation: reads executed, and reads which shared the result of another, each saving its queries.
+     */
+    private final class Meters {
+
+        private final Counter executed;
+
+        private final Counter shared;
+
+        private Meters(String operation) {
+            this.executed = Counter.builder("request.coalescing")
+                .description("Reads executed or which shared the result of the same read in flight")
+                .tag("operation", operation)
+                .tag("result", "executed")
+                .register(meterRegistry);
+            this.shared = Counter.builder("request.coalescing")
+                .description("Reads executed or which shared the result of the same read in flight")
+                .tag("operation", operation)
+                .tag("result", "shared")
+                .register(meterRegistry);
+            Gauge.builder("request.coalescing.ratio", this, Meters::ratio)
+                .description("Share of the reads which did not query the database")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        }
+
+        private double ratio() {
+            double reads = executed.count() + shared.count();
+            return reads == 0 ? 0 : shared.count() / reads;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.lavanya.service;
+
+/**
+ * Debt simplification: turns the net balances of the members of a group into a short list of peer-to-peer transfers.
+ * <p>
+ * The largest debtor repeatedly pays the largest creditor as much as possible, both being taken from binary max-heaps
+ * of member indices. Everything works on primitive arrays, so planning a group of {@code n} members costs
+ * {@code O(n log n)} time without boxing, and produces at most {@code n - 1} transfers.
+ * <p>
+ * Ties between equal amounts are broken on the smallest member id, so the same balances always produce the same
+ * transfers in the same order.
+ */
+public final class SettlementPlanner {
+
+    private SettlementPlanner() {}
+
+    /**
+     * The transfers settling a group, in the order they were planned.
+     */
+    public static final class Plan {
+
+        private final long[] from;
+        private final long[] to;
+        private final long[] amounts;
+        private int size;
+
+        private Plan(int capacity) {
+            this.from = new long[capacity];
+            this.to = new long[capacity];
+            this.amounts = new long[capacity];
+        }
+
+        private void add(long fromId, long toId, long amount) {
+            from[size] = fromId;
+            to[size] = toId;
+            amounts[size] = amount;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param index the index of the transfer.
+         * @return the id of the member who pays.
+         */
+        public long from(int index) {
+            return from[index];
+        }
+
+        /**
+         * @param index the index of the transfer.
+         * @return the id of the member who is paid.
+         */
+        public long to(int index) {
+            return to[index];
+        }
+
+        /**
+         * @param index the index of the transfer.
+         * @return the amount of the transfer, in minor units.
+         */
+        public long amount(int index) {
+            return amounts[index];
+        }
+    }
+
+    /**
+     * Plan the transfers settling a group.
+     *
+     * @param memberIds the ids of the members.
+     * @param balances the net balance of each member in minor units, positive when the member is owed money; must sum to zero.
+     * @return the transfers.
+     * @throws IllegalArgumentException if the arrays have different lengths or the balances do not sum to zero.
+     */
+    public static Plan plan(long[] memberIds, long[] balances) {
+        if (memberIds.length != balances.length) {
+            throw new IllegalArgumentException("Expected one balance per member");
+        }
+        int n = balances.length;
+        long[] remaining = new long[n];
+        int[] creditors = new int[n];
+        int[] debtors = new int[n];
+        int creditorCount = 0;
+        int debtorCount = 0;
+        long sum = 0;
+        for (int i = 0; i < n; i++) {
+            long balance = balances[i];
+            sum = Math.addExact(sum, balance);
+            if (balance > 0) {
+                remaining[i] = balance;
+                creditors[creditorCount++] = i;
+            } else if (balance < 0) {
+                remaining[i] = Math.negateExact(balance);
+                debtors[debtorCount++] = i;
+            }
+        }
+        if (sum != 0) {
+            throw new IllegalArgumentException("Balances must sum to zero, got " + sum);
+        }
+
+        heapify(creditors, creditorCount, remaining, memberIds);
+        heapify(debtors, debtorCount, remaining, memberIds);
+        Plan plan = new Plan(Math.max(0, n - 1));
+        while (creditorCount > 0 && debtorCount > 0) {
+            int creditor = creditors[0];
+            int debtor = debtors[0];
+            long amount = Math.min(remaining[creditor], remaining[debtor]);
+            plan.add(memberIds[debtor], memberIds[creditor], amount);
+            remaining[creditor] -= amount;
+            remaining[debtor] -= amount;
+            creditorCount = settleRoot(creditors, creditorCount, remaining, memberIds);
+            debtorCount = settleRoot(debtors, debtorCount, remaining, memberIds);
+        }
+        return plan;
+    }
+
+    /**
+     * Remove the root of the heap if it has been fully settled, otherwise restore the heap order after it decreased.
+     */
+    private static int settleRoot(int[] heap, int size, long[] remaining, long[] memberIds) {
+        if (remaining[heap[0]] == 0) {
+            heap[0] = heap[--size];
+        }
+        siftDown(heap, size, 0, remaining, memberIds);
+        return size;
+    }
+
+    private static void heapify(int[] heap, int size, long[] remaining, long[] memberIds) {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(heap, size, i, remaining, memberIds);
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, int position, long[] remaining, long[] memberIds) {
+        int node = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = (position << 1) + 1;
+            int right = child + 1;
+            if (right < size && before(heap[right], heap[child], remaining, memberIds)) {
+                child = right;
+            }
+            if (!before(heap[child], node, remaining, memberIds)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = node;
+    }
+
+    private static boolean before(int a, int b, long[] remaining, long[] memberIds) {
+        return remaining[a] > remaining[b] || (remaining[a] == remaining[b] && memberIds[a] < memberIds[b]);
+    }
+}
@@ -0,0 +1,185 @@
+package com.lavanya.service;
+
+import com.lavanya.config.ApplicationProperties;
+import com.lavanya.repository.ChangeLogRepository;
+import com.lavanya.repository.ChangeLogRepository.ChangeRow;
+import com.lavanya.repository.ChangeLogRepository.EntityType;
+import com.lavanya.repository.ChangeLogRepository.Operation;
+import com.lavanya.security.SecurityUtils;
+import com.lavanya.service.dto.ExpenseDTO;
+import com.lavanya.service.dto.GroupDTO;
+import com.lavanya.service.dto.SyncDTO;
+import com.lavanya.service.dto.UserProfileDTO;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service computing the changes made to expenses, groups and userProfiles since a sync token, from the change log.
+ * <p>
+ * A token is the sequence of the last change synced. Sequences are allocated when a transaction writes its changes,
+ * just before it commits, so a transaction may commit a sequence after higher ones were already synced: a gap in the
+ * sequences is waited on for the {@link ApplicationProperties.Sync#getLookback() lookback}, then taken for a rolled back
+ * transaction and skipped.
+ * <p>
+ * The changes of an entity are collapsed into the last one, and the entities created or updated are read in their
+ * current state, so the response grows with the number of entities changed, not with the number of changes.
+ * <p>
+ * Users who are not admins only sync the changes of the groups they are a member of, and of their expenses; the
+ * entities they can no longer read, such as an expense moved to another group, are synced as deleted. A member who
+ * joined or left a group syncs the group and all its expenses again, read or deleted according to their current
+ * membership.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SyncService implements SchedulingConfigurer {
+
+    private final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    private final ChangeLogRepository changeLogRepository;
+
+    private final ExpenseQueryService expenseQueryService;
+
+    private final GroupQueryService groupQueryService;
+
+    private final UserProfileQueryService userProfileQueryService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Sync properties;
+
+    public SyncService(
+        ChangeLogRepository changeLogRepository,
+        ExpenseQueryService expenseQueryService,
+        GroupQueryService groupQueryService,
+        UserProfileQueryService userProfileQueryService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.changeLogRepository = changeLogRepository;
+        this.expenseQueryService = expenseQueryService;
+        this.groupQueryService = groupQueryService;
+        this.userProfileQueryService = userProfileQueryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getSync();
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        Duration interval = properties.getPurgeInterval();
+        taskRegistrar.addFixedDelayTask(new FixedDelayTask(this::purge, interval, interval));
+    }
+
+    /**
+     * Get the changes since a sync token.
+     *
+     * @param since the token of the last sync, or {@code null} to get the token to start syncing from, with no change.
+     * @param size the maximum number of changes to read.
+     * @return the changes, with the token to sync from next time.
+     * @throws SyncTokenExpiredException if the changes since the token were purged.
+     */
+    public SyncDTO findChangesSince(Long since, int size) {
+        log.debug("find changes since : {}, size: {}", since, size);
+        Timestamp settled = minus(changeLogRepository.now(), properties.getLookback());
+        SyncDTO sync = new SyncDTO();
+        if (since == null) {
+            // Whatever committed before the lookback is in the data the client is about to read
+            sync.setToken(Long.toString(changeLogRepository.findLastSequenceCreatedBefore(settled)));
+            return sync;
+        }
+        Long first = changeLogRepository.findFirstSequence();
+        if (first != null && since + 1 < first) {
+            throw new SyncTokenExpiredException(since);
+        }
+
+        List<ChangeRow> rows = SecurityUtils.getCurrentUserMemberLogin()
+            .map(login -> changeLogRepository.findAfterForMember(since, size + 1, login))
+            .orElseGet(() -> changeLogRepository.findAfter(since, size + 1));
+        Map<EntityType, Map<Long, Operation>> changes = new EnumMap<>(EntityType.class);
+        long token = since;
+        int read = 0;
+        for (ChangeRow row : rows) {
+            if (read == size || (row.sequence() != token + 1 && row.createdDate().after(settled))) {
+                break;
+            }
+            if (row.visible()) {
+                changes.computeIfAbsent(row.entityType(), type -> new LinkedHashMap<>()).put(row.entityId(), row.operation());
+            }
+            token = row.sequence();
+            read++;
+        }
+        sync.setToken(Long.toString(token));
+        sync.setMore(rows.size() > size && read == size);
+
+        Set<Long> memberships = changes.getOrDefault(EntityType.MEMBERSHIP, Map.of()).keySet();
+        if (!memberships.isEmpty()) {
+            Map<Long, Operation> groups = changes.computeIfAbsent(EntityType.GROUP, type -> new LinkedHashMap<>());
+            memberships.forEach(groupId -> groups.putIfAbsent(groupId, Operation.UPDATE));
+            Map<Long, Operation> expenses = changes.computeIfAbsent(EntityType.EXPENSE, type -> new LinkedHashMap<>());
+            expenseQueryService.findIdsByGroupIdIn(memberships).forEach(expenseId -> expenses.putIfAbsent(expenseId, Operation.UPDATE));
+        }
+
+        Map<Long, Operation> expenses = changes.getOrDefault(EntityType.EXPENSE, Map.of());
+        sync.setExpenses(expenseQueryService.findAllByIdIn(changed(expenses)));
+        sync.setDeletedExpenseIds(deleted(expenses, sync.getExpenses(), ExpenseDTO::getId));
+        Map<Long, Operation> groups = changes.getOrDefault(EntityType.GROUP, Map.of());
+        sync.setGroups(groupQueryService.findAllByIdIn(changed(groups)));
+        sync.setDeletedGroupIds(deleted(groups, sync.getGroups(), GroupDTO::getId));
+        Map<Long, Operation> userProfiles = changes.getOrDefault(EntityType.USER_PROFILE, Map.of());
+        sync.setUserProfiles(userProfileQueryService.findAllByIdIn(changed(userProfiles)));
+        sync.setDeletedUserProfileIds(deleted(userProfiles, sync.getUserProfiles(), UserProfileDTO::getId));
+        return sync;
+    }
+
+    private static List<Long> changed(Map<Long, Operation> changes) {
+        return changes.entrySet().stream().filter(change -> change.getValue() != Operation.DELETE).map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * The ids of the entities deleted, including the ones changed but deleted since by a later transaction.
+     */
+    private static <T> List<Long> deleted(Map<Long, Operation> changes, List<T> found, Function<T, Long> id) {
+        Set<Long> foundIds = found.stream().map(id).collect(Collectors.toSet());
+        List<Long> deleted = new ArrayList<>();
+        for (Long changed : changes.keySet()) {
+            if (!foundIds.contains(changed)) {
+                deleted.add(changed);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Delete the changes older than the retention, in a transaction of its own as it runs from the scheduler.
+     */
+    private void purge() {
+        try {
+            Integer count = transactionTemplate.execute(status ->
+                changeLogRepository.deleteCreatedBefore(minus(changeLogRepository.now(), properties.getRetention()))
+            );
+            log.debug("Purged {} changes", count);
+        } catch (RuntimeException e) {
+            log.warn("Could not purge changes: {}", e.getMessage());
+        }
+    }
+
+    private static Timestamp minus(Timestamp timestamp, Duration duration) {
+        return Timestamp.from(timestamp.toInstant().minus(duration));
+    }
+}
@@ -0,0 +1,13 @@
+package com.lavanya.service;
+
+/**
+ * Thrown when the changes since a sync token are no longer logged, so that the client must sync from scratch.
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SyncTokenExpiredException(long token) {
+        super("Changes since sync token " + token + " are no longer available");
+    }
+}
@@ -0,0 +1,123 @@
+package com.lavanya.service;
+
+import com.lavanya.domain.*; // for static metamodels
+import com.lavanya.domain.UserProfile;
+import com.lavanya.repository.KeysetIdRepository;
+import com.lavanya.repository.UserProfileRepository;
+import com.lavanya.service.criteria.UserProfileCriteria;
+import com.lavanya.service.dto.UserProfileDTO;
+import com.lavanya.service.mapper.UserProfileMapper;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link UserProfile} entities in the database.
+ * The main input is a {@link UserProfileCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link Window} of {@link UserProfileDTO} which fulfills the criteria, ordered by id so that it can be
+ * scrolled with a keyset ({@code id > :after}) whatever its depth.
+ * <p>
+ * The ids of the page are selected first, then only the returned columns are read for them, so that no entity is
+ * loaded into the persistence context.
+ */
+@Service
+@Transactional(readOnly = true)
+public class UserProfileQueryService extends QueryService<UserProfile> {
+
+    private final Logger log = LoggerFactory.getLogger(UserProfileQueryService.class);
+
+    private final UserProfileRepository userProfileRepository;
+
+    private final KeysetIdRepository keysetIdRepository;
+
+    private final UserProfileMapper userProfileMapper;
+
+    public UserProfileQueryService(
+        UserProfileRepository userProfileRepository,
+        KeysetIdRepository keysetIdRepository,
+        UserProfileMapper userProfileMapper
+    ) {
+        this.userProfileRepository = userProfileRepository;
+        this.keysetIdRepository = keysetIdRepository;
+        this.userProfileMapper = userProfileMapper;
+    }
+
+    /**
+     * Return a {@link Window} of {@link UserProfileDTO} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after the id to start after, or {@code null} for the first page.
+     * @param size the maximum number of entities to return.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<UserProfileDTO> findByCriteria(UserProfileCriteria criteria, Long after, int size) {
+        log.debug("find by criteria : {}, after: {}, size: {}", criteria, after, size);
+        final Specification<UserProfile> specification = createSpecification(criteria);
+        List<Long> ids = keysetIdRepository.findIds(UserProfile.class, UserProfile_.id, specification, after, size + 1);
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+        List<UserProfileDTO> content = ids.isEmpty() ? List.of() : userProfileMapper.toDto(userProfileRepository.findRowsByIdIn(ids));
+        return Window.from(content, index -> ScrollPosition.forward(Map.of(UserProfile_.ID, content.get(index).getId())), hasNext);
+    }
+
+    /**
+     * Get one userProfile by id.
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserProfileDTO> findOne(Long id) {
+        log.debug("find by id : {}", id);
+        return userProfileRepository.findRowById(id).map(userProfileMapper::toDto);
+    }
+
+    /**
+     * Get the userProfiles of the given ids which exist.
+     * @param ids the ids of the entities.
+     * @return the entities, ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public List<UserProfileDTO> findAllByIdIn(Collection<Long> ids) {
+        log.debug("find by ids : {}", ids);
+        return ids.isEmpty() ? List.of() : userProfileMapper.toDto(userProfileRepository.findRowsByIdIn(ids));
+    }
+
+    /**
+     * Function to convert {@link UserProfileCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<UserProfile> createSpecification(UserProfileCriteria criteria) {
+        Specification<UserProfile> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), UserProfile_.id));
+            }
+            if (criteria.getEmail() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getEmail(), UserProfile_.email));
+            }
+            if (criteria.getGroupsId() != null) {
+                specification = specification.and(
+                    buildReferringEntitySpecification(criteria.getGroupsId(), UserProfile_.groups, Group_.id)
+                );
+            }
+        }
+        return specification;
+    }
+}
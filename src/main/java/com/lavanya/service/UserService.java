@@ -6,6 +6,7 @@ import com.lavanya.domain.User;
 import com.lavanya.repository.AuthorityRepository;
 import com.lavanya.repository.UserRepository;
 import com.lavanya.security.AuthoritiesConstants;
+import com.lavanya.security.KnownLogins;
 import com.lavanya.security.SecurityUtils;
 import com.lavanya.service.dto.AdminUserDTO;
 import com.lavanya.service.dto.UserDTO;
@@ -19,9 +20,13 @@ import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -29,7 +34,7 @@ import tech.jhipster.security.RandomUtil;
  */
 @Service
 @Transactional
-public class UserService {
+public class UserService implements UserDetailsPasswordService {
 
     private final Logger log = LoggerFactory.getLogger(UserService.class);
 
@@ -41,16 +46,24 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+
+    private final KnownLogins knownLogins;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        CacheInvalidationBroadcaster cacheInvalidationBroadcaster,
+        KnownLogins knownLogins
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.cacheInvalidationBroadcaster = cacheInvalidationBroadcaster;
+        this.knownLogins = knownLogins;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -142,6 +155,7 @@ public class UserService {
         userRepository.delete(existingUser);
         userRepository.flush();
         this.clearUserCaches(existingUser);
+        this.forgetLogins(existingUser);
         return true;
     }
 
@@ -224,6 +238,7 @@ public class UserService {
             .ifPresent(user -> {
                 userRepository.delete(user);
                 this.clearUserCaches(user);
+                this.forgetLogins(user);
                 log.debug("Deleted User: {}", user);
             });
     }
@@ -270,6 +285,25 @@ public class UserService {
             });
     }
 
+    /**
+     * Store the new hash of the password of a user who just authenticated, when the stored one is outdated.
+     *
+     * @param userDetails the authenticated user.
+     * @param newPassword the new hash of the password.
+     * @return the user with the new hash.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository
+            .findOneByLogin(userDetails.getUsername())
+            .ifPresent(user -> {
+                user.setPassword(newPassword);
+                this.clearUserCaches(user);
+                log.debug("Upgraded password hash for User: {}", user.getLogin());
+            });
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails).password(newPassword).build();
+    }
+
     @Transactional(readOnly = true)
     public Page<AdminUserDTO> getAllManagedUsers(Pageable pageable) {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
@@ -303,6 +337,7 @@ public class UserService {
                 log.debug("Deleting not activated user {}", user.getLogin());
                 userRepository.delete(user);
                 this.clearUserCaches(user);
+                this.forgetLogins(user);
             });
     }
 
@@ -316,9 +351,43 @@ public class UserService {
     }
 
     private void clearUserCaches(User user) {
-        Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        evict(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
+        if (user.getEmail() != null) {
+            evict(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail());
+        }
+    }
+
+    /**
+     * Once the deletion of a user commits, reject its login and email without querying the database. The users
+     * registered are added to the {@link KnownLogins} as they are persisted.
+     */
+    private void forgetLogins(User user) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        markUnknown(user);
+                    }
+                }
+            );
+        } else {
+            markUnknown(user);
+        }
+    }
+
+    private void markUnknown(User user) {
+        knownLogins.markUnknown(user.getLogin());
         if (user.getEmail() != null) {
-            Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
+            knownLogins.markUnknown(user.getEmail());
         }
     }
+
+    /**
+     * Evict an entry from the local cache, and from the caches of the other nodes once the transaction commits.
+     */
+    private void evict(String cacheName, String key) {
+        Objects.requireNonNull(cacheManager.getCache(cacheName)).evict(key);
+        cacheInvalidationBroadcaster.publish(CacheInvalidation.cache(cacheName, key));
+    }
 }
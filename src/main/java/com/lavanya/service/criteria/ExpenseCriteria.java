@@ -0,0 +1,179 @@
+package com.lavanya.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.lavanya.domain.Expense} entity. This class is used
+ * in {@link com.lavanya.web.rest.ExpenseResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /expenses?groupId.equals=5&userId.in=1,2&amount.greaterThan=10}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ExpenseCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private BigDecimalFilter amount;
+
+    private LongFilter userId;
+
+    private LongFilter groupId;
+
+    private Boolean distinct;
+
+    public ExpenseCriteria() {}
+
+    public ExpenseCriteria(ExpenseCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.amount = other.optionalAmount().map(BigDecimalFilter::copy).orElse(null);
+        this.userId = other.optionalUserId().map(LongFilter::copy).orElse(null);
+        this.groupId = other.optionalGroupId().map(LongFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public ExpenseCriteria copy() {
+        return new ExpenseCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public BigDecimalFilter getAmount() {
+        return amount;
+    }
+
+    public Optional<BigDecimalFilter> optionalAmount() {
+        return Optional.ofNullable(amount);
+    }
+
+    public BigDecimalFilter amount() {
+        if (amount == null) {
+            setAmount(new BigDecimalFilter());
+        }
+        return amount;
+    }
+
+    public void setAmount(BigDecimalFilter amount) {
+        this.amount = amount;
+    }
+
+    public LongFilter getUserId() {
+        return userId;
+    }
+
+    public Optional<LongFilter> optionalUserId() {
+        return Optional.ofNullable(userId);
+    }
+
+    public LongFilter userId() {
+        if (userId == null) {
+            setUserId(new LongFilter());
+        }
+        return userId;
+    }
+
+    public void setUserId(LongFilter userId) {
+        this.userId = userId;
+    }
+
+    public LongFilter getGroupId() {
+        return groupId;
+    }
+
+    public Optional<LongFilter> optionalGroupId() {
+        return Optional.ofNullable(groupId);
+    }
+
+    public LongFilter groupId() {
+        if (groupId == null) {
+            setGroupId(new LongFilter());
+        }
+        return groupId;
+    }
+
+    public void setGroupId(LongFilter groupId) {
+        this.groupId = groupId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ExpenseCriteria that = (ExpenseCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(amount, that.amount) &&
+            Objects.equals(userId, that.userId) &&
+            Objects.equals(groupId, that.groupId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, amount, userId, groupId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ExpenseCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalAmount().map(f -> "amount=" + f + ", ").orElse("") +
+            optionalUserId().map(f -> "userId=" + f + ", ").orElse("") +
+            optionalGroupId().map(f -> "groupId=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,179 @@
+package com.lavanya.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.lavanya.domain.Group} entity. This class is used
+ * in {@link com.lavanya.web.rest.GroupResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /groups?membersId.equals=5&name.contains=trip}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class GroupCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter name;
+
+    private IntegerFilter adminId;
+
+    private LongFilter membersId;
+
+    private Boolean distinct;
+
+    public GroupCriteria() {}
+
+    public GroupCriteria(GroupCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.name = other.optionalName().map(StringFilter::copy).orElse(null);
+        this.adminId = other.optionalAdminId().map(IntegerFilter::copy).orElse(null);
+        this.membersId = other.optionalMembersId().map(LongFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public GroupCriteria copy() {
+        return new GroupCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getName() {
+        return name;
+    }
+
+    public Optional<StringFilter> optionalName() {
+        return Optional.ofNullable(name);
+    }
+
+    public StringFilter name() {
+        if (name == null) {
+            setName(new StringFilter());
+        }
+        return name;
+    }
+
+    public void setName(StringFilter name) {
+        this.name = name;
+    }
+
+    public IntegerFilter getAdminId() {
+        return adminId;
+    }
+
+    public Optional<IntegerFilter> optionalAdminId() {
+        return Optional.ofNullable(adminId);
+    }
+
+    public IntegerFilter adminId() {
+        if (adminId == null) {
+            setAdminId(new IntegerFilter());
+        }
+        return adminId;
+    }
+
+    public void setAdminId(IntegerFilter adminId) {
+        this.adminId = adminId;
+    }
+
+    public LongFilter getMembersId() {
+        return membersId;
+    }
+
+    public Optional<LongFilter> optionalMembersId() {
+        return Optional.ofNullable(membersId);
+    }
+
+    public LongFilter membersId() {
+        if (membersId == null) {
+            setMembersId(new LongFilter());
+        }
+        return membersId;
+    }
+
+    public void setMembersId(LongFilter membersId) {
+        this.membersId = membersId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final GroupCriteria that = (GroupCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(adminId, that.adminId) &&
+            Objects.equals(membersId, that.membersId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, adminId, membersId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GroupCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalName().map(f -> "name=" + f + ", ").orElse("") +
+            optionalAdminId().map(f -> "adminId=" + f + ", ").orElse("") +
+            optionalMembersId().map(f -> "membersId=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
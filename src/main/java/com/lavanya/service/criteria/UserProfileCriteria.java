@@ -0,0 +1,155 @@
+package com.lavanya.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.Optional;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link com.lavanya.domain.UserProfile} entity. This class is used
+ * in {@link com.lavanya.web.rest.UserProfileResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /user-profiles?groupsId.equals=5&email.contains=example}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class UserProfileCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter email;
+
+    private LongFilter groupsId;
+
+    private Boolean distinct;
+
+    public UserProfileCriteria() {}
+
+    public UserProfileCriteria(UserProfileCriteria other) {
+        this.id = other.optionalId().map(LongFilter::copy).orElse(null);
+        this.email = other.optionalEmail().map(StringFilter::copy).orElse(null);
+        this.groupsId = other.optionalGroupsId().map(LongFilter::copy).orElse(null);
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public UserProfileCriteria copy() {
+        return new UserProfileCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public Optional<LongFilter> optionalId() {
+        return Optional.ofNullable(id);
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            setId(new LongFilter());
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getEmail() {
+        return email;
+    }
+
+    public Optional<StringFilter> optionalEmail() {
+        return Optional.ofNullable(email);
+    }
+
+    public StringFilter email() {
+        if (email == null) {
+            setEmail(new StringFilter());
+        }
+        return email;
+    }
+
+    public void setEmail(StringFilter email) {
+        this.email = email;
+    }
+
+    public LongFilter getGroupsId() {
+        return groupsId;
+    }
+
+    public Optional<LongFilter> optionalGroupsId() {
+        return Optional.ofNullable(groupsId);
+    }
+
+    public LongFilter groupsId() {
+        if (groupsId == null) {
+            setGroupsId(new LongFilter());
+        }
+        return groupsId;
+    }
+
+    public void setGroupsId(LongFilter groupsId) {
+        this.groupsId = groupsId;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public Optional<Boolean> optionalDistinct() {
+        return Optional.ofNullable(distinct);
+    }
+
+    public Boolean distinct() {
+        if (distinct == null) {
+            setDistinct(true);
+        }
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final UserProfileCriteria that = (UserProfileCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(email, that.email) &&
+            Objects.equals(groupsId, that.groupsId) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, email, groupsId, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserProfileCriteria{" +
+            optionalId().map(f -> "id=" + f + ", ").orElse("") +
+            optionalEmail().map(f -> "email=" + f + ", ").orElse("") +
+            optionalGroupsId().map(f -> "groupsId=" + f + ", ").orElse("") +
+            optionalDistinct().map(f -> "distinct=" + f + ", ").orElse("") +
+        "}";
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Criteria classes used to filter the entity lists.
+ */
+package com.lavanya.service.criteria;
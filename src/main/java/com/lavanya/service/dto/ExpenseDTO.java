@@ -0,0 +1,91 @@
+package com.lavanya.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIncludeProperties;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.lavanya.domain.Expense} entity.
+ * <p>
+ * The user and the group are only identified by their id.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ExpenseDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private BigDecimal amount;
+
+    @JsonIncludeProperties("id")
+    private UserProfileDTO user;
+
+    @JsonIncludeProperties("id")
+    private GroupDTO group;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public UserProfileDTO getUser() {
+        return user;
+    }
+
+    public void setUser(UserProfileDTO user) {
+        this.user = user;
+    }
+
+    public GroupDTO getGroup() {
+        return group;
+    }
+
+    public void setGroup(GroupDTO group) {
+        this.group = group;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ExpenseDTO)) {
+            return false;
+        }
+
+        ExpenseDTO expenseDTO = (ExpenseDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, expenseDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ExpenseDTO{" +
+            "id=" + getId() +
+            ", amount=" + getAmount() +
+            ", user=" + getUser() +
+            ", group=" + getGroup() +
+            "}";
+    }
+}
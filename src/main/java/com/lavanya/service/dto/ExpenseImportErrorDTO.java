@@ -0,0 +1,49 @@
+package com.lavanya.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing a row of an expense import that was rejected.
+ */
+public class ExpenseImportErrorDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long line;
+
+    private String message;
+
+    public ExpenseImportErrorDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public ExpenseImportErrorDTO(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ExpenseImportErrorDTO{" +
+            "line=" + line +
+            ", message='" + message + "'" +
+            "}";
+    }
+}
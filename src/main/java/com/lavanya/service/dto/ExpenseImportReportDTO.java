@@ -0,0 +1,105 @@
+package com.lavanya.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of an expense import.
+ * <p>
+ * At most {@link #MAX_ERRORS} errors are listed; {@link #getFailed()} counts all of them.
+ */
+public class ExpenseImportReportDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAX_ERRORS = 1000;
+
+    private long rows;
+
+    private long imported;
+
+    private long failed;
+
+    private long elapsedMillis;
+
+    private long rowsPerSecond;
+
+    private List<ExpenseImportErrorDTO> errors = new ArrayList<>();
+
+    public ExpenseImportReportDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    /**
+     * Count a rejected row, and list it while fewer than {@link #MAX_ERRORS} are listed.
+     *
+     * @param error the error.
+     */
+    public void addError(ExpenseImportErrorDTO error) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(error);
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<ExpenseImportErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ExpenseImportErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ExpenseImportReportDTO{" +
+            "rows=" + rows +
+            ", imported=" + imported +
+            ", failed=" + failed +
+            ", elapsedMillis=" + elapsedMillis +
+            ", rowsPerSecond=" + rowsPerSecond +
+            "}";
+    }
+}
@@ -0,0 +1,64 @@
+package com.lavanya.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the balances of every member of a {@link com.lavanya.domain.Group}.
+ */
+public class GroupBalanceDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long groupId;
+
+    private BigDecimal total;
+
+    private List<MemberBalanceDTO> members = new ArrayList<>();
+
+    public GroupBalanceDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public GroupBalanceDTO(Long groupId, BigDecimal total, List<MemberBalanceDTO> members) {
+        this.groupId = groupId;
+        this.total = total;
+        this.members = members;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public List<MemberBalanceDTO> getMembers() {
+        return members;
+    }
+
+    public void setMembers(List<MemberBalanceDTO> members) {
+        this.members = members;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GroupBalanceDTO{" +
+            "groupId=" + groupId +
+            ", total=" + total +
+            ", members=" + members +
+            "}";
+    }
+}
@@ -0,0 +1,87 @@
+package com.lavanya.service.dto;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A DTO for the {@link com.lavanya.domain.Group} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class GroupDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String name;
+
+    private Integer adminId;
+
+    private Set<UserProfileDTO> members = new HashSet<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getAdminId() {
+        return adminId;
+    }
+
+    public void setAdminId(Integer adminId) {
+        this.adminId = adminId;
+    }
+
+    public Set<UserProfileDTO> getMembers() {
+        return members;
+    }
+
+    public void setMembers(Set<UserProfileDTO> members) {
+        this.members = members;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GroupDTO)) {
+            return false;
+        }
+
+        GroupDTO groupDTO = (GroupDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, groupDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GroupDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            ", adminId=" + getAdminId() +
+            ", members=" + getMembers() +
+            "}";
+    }
+}
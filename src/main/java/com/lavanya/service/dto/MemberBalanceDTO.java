@@ -0,0 +1,88 @@
+package com.lavanya.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A DTO representing the net position of one {@link com.lavanya.domain.UserProfile} inside a group.
+ * <p>
+ * A positive {@code balance} means the member is owed money, a negative one that the member owes money.
+ */
+public class MemberBalanceDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long userProfileId;
+
+    private String email;
+
+    private BigDecimal paid;
+
+    private BigDecimal share;
+
+    private BigDecimal balance;
+
+    public MemberBalanceDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public MemberBalanceDTO(Long userProfileId, String email, BigDecimal paid, BigDecimal share) {
+        this.userProfileId = userProfileId;
+        this.email = email;
+        this.paid = paid;
+        this.share = share;
+        this.balance = paid.subtract(share);
+    }
+
+    public Long getUserProfileId() {
+        return userProfileId;
+    }
+
+    public void setUserProfileId(Long userProfileId) {
+        this.userProfileId = userProfileId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public BigDecimal getPaid() {
+        return paid;
+    }
+
+    public void setPaid(BigDecimal paid) {
+        this.paid = paid;
+    }
+
+    public BigDecimal getShare() {
+        return share;
+    }
+
+    public void setShare(BigDecimal share) {
+        this.share = share;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MemberBalanceDTO{" +
+            "userProfileId=" + userProfileId +
+            ", email='" + email + '\'' +
+            ", paid=" + paid +
+            ", share=" + share +
+            ", balance=" + balance +
+            "}";
+    }
+}
@@ -0,0 +1,51 @@
+package com.lavanya.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the transfers that settle every balance of a {@link com.lavanya.domain.Group}.
+ */
+public class SettlementPlanDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long groupId;
+
+    private List<TransferDTO> transfers = new ArrayList<>();
+
+    public SettlementPlanDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public SettlementPlanDTO(Long groupId, List<TransferDTO> transfers) {
+        this.groupId = groupId;
+        this.transfers = transfers;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(Long groupId) {
+        this.groupId = groupId;
+    }
+
+    public List<TransferDTO> getTransfers() {
+        return transfers;
+    }
+
+    public void setTransfers(List<TransferDTO> transfers) {
+        this.transfers = transfers;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SettlementPlanDTO{" +
+            "groupId=" + groupId +
+            ", transfers=" + transfers +
+            "}";
+    }
+}
@@ -0,0 +1,115 @@
+package com.lavanya.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the changes made to expenses, groups and userProfiles since a sync token: the entities created or
+ * updated, in their current state, and the ids of the entities deleted.
+ */
+public class SyncDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String token;
+
+    private boolean more;
+
+    private List<ExpenseDTO> expenses = new ArrayList<>();
+
+    private List<GroupDTO> groups = new ArrayList<>();
+
+    private List<UserProfileDTO> userProfiles = new ArrayList<>();
+
+    private List<Long> deletedExpenseIds = new ArrayList<>();
+
+    private List<Long> deletedGroupIds = new ArrayList<>();
+
+    private List<Long> deletedUserProfileIds = new ArrayList<>();
+
+    /**
+     * The token to sync from next time.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Whether more changes can be synced right away from the token.
+     */
+    public boolean isMore() {
+        return more;
+    }
+
+    public void setMore(boolean more) {
+        this.more = more;
+    }
+
+    public List<ExpenseDTO> getExpenses() {
+        return expenses;
+    }
+
+    public void setExpenses(List<ExpenseDTO> expenses) {
+        this.expenses = expenses;
+    }
+
+    public List<GroupDTO> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<GroupDTO> groups) {
+        this.groups = groups;
+    }
+
+    public List<UserProfileDTO> getUserProfiles() {
+        return userProfiles;
+    }
+
+    public void setUserProfiles(List<UserProfileDTO> userProfiles) {
+        this.userProfiles = userProfiles;
+    }
+
+    public List<Long> getDeletedExpenseIds() {
+        return deletedExpenseIds;
+    }
+
+    public void setDeletedExpenseIds(List<Long> deletedExpenseIds) {
+        this.deletedExpenseIds = deletedExpenseIds;
+    }
+
+    public List<Long> getDeletedGroupIds() {
+        return deletedGroupIds;
+    }
+
+    public void setDeletedGroupIds(List<Long> deletedGroupIds) {
+        this.deletedGroupIds = deletedGroupIds;
+    }
+
+    public List<Long> getDeletedUserProfileIds() {
+        return deletedUserProfileIds;
+    }
+
+    public void setDeletedUserProfileIds(List<Long> deletedUserProfileIds) {
+        this.deletedUserProfileIds = deletedUserProfileIds;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SyncDTO{" +
+            "token='" + token + "'" +
+            ", more=" + more +
+            ", expenses=" + expenses.size() +
+            ", groups=" + groups.size() +
+            ", userProfiles=" + userProfiles.size() +
+            ", deletedExpenseIds=" + deletedExpenseIds +
+            ", deletedGroupIds=" + deletedGroupIds +
+            ", deletedUserProfileIds=" + deletedUserProfileIds +
+            "}";
+    }
+}
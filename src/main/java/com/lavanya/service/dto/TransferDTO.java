@@ -0,0 +1,62 @@
+package com.lavanya.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A DTO representing one payment of a settlement plan.
+ */
+public class TransferDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long fromUserProfileId;
+
+    private Long toUserProfileId;
+
+    private BigDecimal amount;
+
+    public TransferDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public TransferDTO(Long fromUserProfileId, Long toUserProfileId, BigDecimal amount) {
+        this.fromUserProfileId = fromUserProfileId;
+        this.toUserProfileId = toUserProfileId;
+        this.amount = amount;
+    }
+
+    public Long getFromUserProfileId() {
+        return fromUserProfileId;
+    }
+
+    public void setFromUserProfileId(Long fromUserProfileId) {
+        this.fromUserProfileId = fromUserProfileId;
+    }
+
+    public Long getToUserProfileId() {
+        return toUserProfileId;
+    }
+
+    public void setToUserProfileId(Long toUserProfileId) {
+        this.toUserProfileId = toUserProfileId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TransferDTO{" +
+            "fromUserProfileId=" + fromUserProfileId +
+            ", toUserProfileId=" + toUserProfileId +
+            ", amount=" + amount +
+            "}";
+    }
+}
@@ -0,0 +1,63 @@
+package com.lavanya.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link com.lavanya.domain.UserProfile} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class UserProfileDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String email;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UserProfileDTO)) {
+            return false;
+        }
+
+        UserProfileDTO userProfileDTO = (UserProfileDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, userProfileDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserProfileDTO{" +
+            "id=" + getId() +
+            ", email='" + getEmail() + "'" +
+            "}";
+    }
+}
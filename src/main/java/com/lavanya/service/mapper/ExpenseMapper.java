@@ -0,0 +1,42 @@
+package com.lavanya.service.mapper;
+
+import com.lavanya.repository.ExpenseRepository.ExpenseRow;
+import com.lavanya.service.dto.ExpenseDTO;
+import com.lavanya.service.dto.GroupDTO;
+import com.lavanya.service.dto.UserProfileDTO;
+import java.util.List;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+/**
+ * Mapper for the projection {@link ExpenseRow} of the entity {@link com.lavanya.domain.Expense} and its DTO {@link ExpenseDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface ExpenseMapper {
+    @Mapping(target = "user", source = "userId", qualifiedByName = "userProfileId")
+    @Mapping(target = "group", source = "groupId", qualifiedByName = "groupId")
+    ExpenseDTO toDto(ExpenseRow row);
+
+    List<ExpenseDTO> toDto(List<ExpenseRow> rows);
+
+    @Named("userProfileId")
+    default UserProfileDTO toDtoUserProfileId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        UserProfileDTO userProfileDTO = new UserProfileDTO();
+        userProfileDTO.setId(id);
+        return userProfileDTO;
+    }
+
+    @Named("groupId")
+    default GroupDTO toDtoGroupId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        GroupDTO groupDTO = new GroupDTO();
+        groupDTO.setId(id);
+        return groupDTO;
+    }
+}
@@ -0,0 +1,24 @@
+package com.lavanya.service.mapper;
+
+import com.lavanya.repository.GroupRepository.GroupRow;
+import com.lavanya.repository.GroupRepository.MemberRow;
+import com.lavanya.service.dto.GroupDTO;
+import com.lavanya.service.dto.UserProfileDTO;
+import java.util.List;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Mapper for the projection {@link GroupRow} of the entity {@link com.lavanya.domain.Group} and its DTO {@link GroupDTO}.
+ * <p>
+ * Members are not part of the projection, they are read by their own query when requested.
+ */
+@Mapper(componentModel = "spring")
+public interface GroupMapper {
+    @Mapping(target = "members", ignore = true)
+    GroupDTO toDto(GroupRow row);
+
+    List<GroupDTO> toDto(List<GroupRow> rows);
+
+    UserProfileDTO toDto(MemberRow row);
+}
@@ -0,0 +1,16 @@
+package com.lavanya.service.mapper;
+
+import com.lavanya.repository.UserProfileRepository.UserProfileRow;
+import com.lavanya.service.dto.UserProfileDTO;
+import java.util.List;
+import org.mapstruct.Mapper;
+
+/**
+ * Mapper for the projection {@link UserProfileRow} of the entity {@link com.lavanya.domain.UserProfile} and its DTO {@link UserProfileDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface UserProfileMapper {
+    UserProfileDTO toDto(UserProfileRow row);
+
+    List<UserProfileDTO> toDto(List<UserProfileRow> rows);
+}
@@ -2,6 +2,8 @@ package com.lavanya.web.rest;
 
 import com.lavanya.domain.User;
 import com.lavanya.repository.UserRepository;
+import com.lavanya.security.AuthenticationRateLimiter;
+import com.lavanya.security.RateLimitExceededException;
 import com.lavanya.security.SecurityUtils;
 import com.lavanya.service.MailService;
 import com.lavanya.service.UserService;
@@ -10,6 +12,7 @@ import com.lavanya.service.dto.PasswordChangeDTO;
 import com.lavanya.web.rest.errors.*;
 import com.lavanya.web.rest.vm.KeyAndPasswordVM;
 import com.lavanya.web.rest.vm.ManagedUserVM;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import java.util.*;
 import org.apache.commons.lang3.StringUtils;
@@ -40,23 +43,36 @@ public class AccountResource {
 
     private final MailService mailService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    private final AuthenticationRateLimiter rateLimiter;
+
+    public AccountResource(
+        UserRepository userRepository,
+        UserService userService,
+        MailService mailService,
+        AuthenticationRateLimiter rateLimiter
+    ) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.mailService = mailService;
+        this.rateLimiter = rateLimiter;
     }
 
     /**
      * {@code POST  /register} : register the user.
      *
      * @param managedUserVM the managed user View Model.
+     * @param request the HTTP request.
      * @throws InvalidPasswordException {@code 400 (Bad Request)} if the password is incorrect.
      * @throws EmailAlreadyUsedException {@code 400 (Bad Request)} if the email is already used.
      * @throws LoginAlreadyUsedException {@code 400 (Bad Request)} if the login is already used.
+     * @throws RateLimitExceededException {@code 429 (Too Many Requests)} if too many registrations were requested.
      */
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
-    public void registerAccount(@Valid @RequestBody ManagedUserVM managedUserVM) {
+    public void registerAccount(@Valid @RequestBody ManagedUserVM managedUserVM, HttpServletRequest request) {
+        rateLimiter.acquireAddress(request.getRemoteAddr());
+        rateLimiter.acquireLogin(managedUserVM.getLogin());
+        rateLimiter.acquireEmail(managedUserVM.getEmail());
         if (isPasswordLengthInvalid(managedUserVM.getPassword())) {
             throw new InvalidPasswordException();
         }
@@ -138,9 +154,13 @@ public class AccountResource {
      * {@code POST   /account/reset-password/init} : Send an email to reset the password of the user.
      *
      * @param mail the mail of the user.
+     * @param request the HTTP request.
+     * @throws RateLimitExceededException {@code 429 (Too Many Requests)} if too many resets were requested.
      */
     @PostMapping(path = "/account/reset-password/init")
-    public void requestPasswordReset(@RequestBody String mail) {
+    public void requestPasswordReset(@RequestBody String mail, HttpServletRequest request) {
+        rateLimiter.acquireAddress(request.getRemoteAddr());
+        rateLimiter.acquireEmail(mail);
         Optional<User> user = userService.requestPasswordReset(mail);
         if (user.isPresent()) {
             mailService.sendPasswordResetMail(user.orElseThrow());
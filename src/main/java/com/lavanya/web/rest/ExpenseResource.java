@@ -2,18 +2,48 @@ package com.lavanya.web.rest;
 
 import com.lavanya.domain.Expense;
 import com.lavanya.repository.ExpenseRepository;
+import com.lavanya.repository.GroupRepository;
+import com.lavanya.repository.UserProfileRepository;
+import com.lavanya.security.AuthoritiesConstants;
+import com.lavanya.service.ExpenseExportService;
+import com.lavanya.service.ExpenseFileFormat;
+import com.lavanya.service.ExpenseImportService;
+import com.lavanya.service.ExpenseQueryService;
+import com.lavanya.service.GroupQueryService;
+import com.lavanya.service.GroupMemberBalanceService;
+import com.lavanya.service.GroupMemberBalanceService.Contribution;
+import com.lavanya.service.criteria.ExpenseCriteria;
+import com.lavanya.service.dto.ExpenseDTO;
+import com.lavanya.service.dto.ExpenseImportReportDTO;
 import com.lavanya.web.rest.errors.BadRequestAlertException;
+import com.lavanya.web.rest.util.KeysetPaginationUtil;
+import com.lavanya.web.rest.util.ResponseBytesCache;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -29,13 +59,51 @@ public class ExpenseResource {
 
     private static final String ENTITY_NAME = "expense";
 
+    private static final String GZIP_CONTENT_TYPE = "application/gzip";
+
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final ExpenseRepository expenseRepository;
 
-    public ExpenseResource(ExpenseRepository expenseRepository) {
+    private final GroupMemberBalanceService groupMemberBalanceService;
+
+    private final ExpenseQueryService expenseQueryService;
+
+    private final ExpenseExportService expenseExportService;
+
+    private final ExpenseImportService expenseImportService;
+
+    private final ResponseBytesCache responseBytesCache;
+
+    private final UserProfileRepository userProfileRepository;
+
+    private final GroupRepository groupRepository;
+
+    private final GroupQueryService groupQueryService;
+
+    public ExpenseResource(
+        ExpenseRepository expenseRepository,
+        GroupMemberBalanceService groupMemberBalanceService,
+        ExpenseQueryService expenseQueryService,
+        ExpenseExportService expenseExportService,
+        ExpenseImportService expenseImportService,
+        ResponseBytesCache responseBytesCache,
+        UserProfileRepository userProfileRepository,
+        GroupRepository groupRepository,
+        GroupQueryService groupQueryService
+    ) {
         this.expenseRepository = expenseRepository;
+        this.groupMemberBalanceService = groupMemberBalanceService;
+        this.expenseQueryService = expenseQueryService;
+        this.expenseExportService = expenseExportService;
+        this.expenseImportService = expenseImportService;
+        this.responseBytesCache = responseBytesCache;
+        this.userProfileRepository = userProfileRepository;
+        this.groupRepository = groupRepository;
+        this.groupQueryService = groupQueryService;
     }
 
     /**
@@ -51,7 +119,9 @@ public class ExpenseResource {
         if (expense.getId() != null) {
             throw new BadRequestAlertException("A new expense cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        resolveReferences(expense);
         expense = expenseRepository.save(expense);
+        groupMemberBalanceService.recordChange(null, Contribution.of(expense));
         return ResponseEntity.created(new URI("/api/expenses/" + expense.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, expense.getId().toString()))
             .body(expense);
@@ -64,6 +134,7 @@ public class ExpenseResource {
      * @param expense the expense to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated expense,
      * or with status {@code 400 (Bad Request)} if the expense is not valid,
+     * or with status {@code 404 (Not Found)} if the expense is not found or the current user cannot read it,
      * or with status {@code 500 (Internal Server Error)} if the expense couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -77,17 +148,51 @@ public class ExpenseResource {
         if (!Objects.equals(id, expense.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        if (!expenseQueryService.isVisible(id)) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
 
-        if (!expenseRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Expense existingExpense = expenseRepository
+            .findById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        Contribution before = Contribution.of(existingExpense);
+        // Without a version, the update overwrites the expense whatever its version
+        if (expense.getVersion() == null) {
+            expense.setVersion(existingExpense.getVersion());
         }
+        resolveReferences(expense);
 
         expense = expenseRepository.save(expense);
+        groupMemberBalanceService.recordChange(before, Contribution.of(expense));
+        responseBytesCache.evict(ResponseBytesCache.EXPENSE_RESPONSES_CACHE, id);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, expense.getId().toString()))
             .body(expense);
     }
 
+    /**
+     * Replace the user and group sent by references: they have no version, so Hibernate could not tell whether they exist.
+     *
+     * @throws BadRequestAlertException if a reference has no id, or the id of no entity, or of a group the current user
+     * cannot read.
+     */
+    private void resolveReferences(Expense expense) {
+        if (expense.getUser() != null) {
+            Long userId = expense.getUser().getId();
+            if (userId == null || !userProfileRepository.existsById(userId)) {
+                throw new BadRequestAlertException("User profile not found", ENTITY_NAME, "userprofilenotfound");
+            }
+            expense.setUser(userProfileRepository.getReferenceById(userId));
+        }
+        if (expense.getGroup() != null) {
+            Long groupId = expense.getGroup().getId();
+            if (groupId == null || !groupQueryService.isVisible(groupId)) {
+                throw new BadRequestAlertException("Group not found", ENTITY_NAME, "groupnotfound");
+            }
+            expense.setGroup(groupRepository.getReferenceById(groupId));
+        }
+    }
+
     /**
      * {@code PATCH  /expenses/:id} : Partial updates given fields of an existing expense, field will ignore if it is null
      *
@@ -95,7 +200,7 @@ public class ExpenseResource {
      * @param expense the expense to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated expense,
      * or with status {@code 400 (Bad Request)} if the expense is not valid,
-     * or with status {@code 404 (Not Found)} if the expense is not found,
+     * or with status {@code 404 (Not Found)} if the expense is not found or the current user cannot read it,
      * or with status {@code 500 (Internal Server Error)} if the expense couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -112,20 +217,23 @@ public class ExpenseResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!expenseRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (!expenseQueryService.isVisible(id)) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
         }
 
         Optional<Expense> result = expenseRepository
             .findById(expense.getId())
             .map(existingExpense -> {
+                Contribution before = Contribution.of(existingExpense);
                 if (expense.getAmount() != null) {
                     existingExpense.setAmount(expense.getAmount());
                 }
 
+                groupMemberBalanceService.recordChange(before, Contribution.of(existingExpense));
                 return existingExpense;
             })
             .map(expenseRepository::save);
+        responseBytesCache.evict(ResponseBytesCache.EXPENSE_RESPONSES_CACHE, id);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -134,39 +242,140 @@ public class ExpenseResource {
     }
 
     /**
-     * {@code GET  /expenses} : get all the expenses.
+     * {@code GET  /expenses} : get a page of expenses, ordered by id.
      *
+     * @param criteria the criteria which the requested entities should match.
+     * @param after the id of the last expense of the previous page.
+     * @param size the maximum number of expenses to return.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of expenses in body.
      */
     @GetMapping("")
-    public List<Expense> getAllExpenses() {
-        log.debug("REST request to get all Expenses");
-        return expenseRepository.findAll();
+    public ResponseEntity<List<ExpenseDTO>> getAllExpenses(
+        ExpenseCriteria criteria,
+        @RequestParam(name = "after", required = false) Long after,
+        @RequestParam(name = "size", required = false, defaultValue = KeysetPaginationUtil.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get Expenses by criteria: {}, after: {}", criteria, after);
+        Window<ExpenseDTO> window = expenseQueryService.findByCriteria(criteria, after, KeysetPaginationUtil.limit(size));
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            window
+        );
+        return new ResponseEntity<>(window.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * {@code POST  /expenses/batch} : Create many expenses from an NDJSON or CSV body, for administrators only as group
+     * memberships are not checked.
+     *
+     * @param contentType the content type of the body, {@code application/x-ndjson} or {@code text/csv}.
+     * @param body the expenses, one per line.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the report of the import, or with status {@code 400 (Bad Request)} if the CSV header is invalid.
+     * @throws IOException if the body cannot be read.
+     */
+    @PostMapping(value = "/batch", consumes = { "application/x-ndjson", "text/csv" })
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<ExpenseImportReportDTO> importExpenses(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+        InputStream body
+    ) throws IOException {
+        log.debug("REST request to import Expenses as {}", contentType);
+        ExpenseFileFormat format = ExpenseFileFormat.fromContentType(contentType).orElseThrow(() ->
+            new BadRequestAlertException("Unsupported import format", ENTITY_NAME, "formatinvalid")
+        );
+        try {
+            return ResponseEntity.ok(expenseImportService.importExpenses(format, body));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /expenses/export} : export all the expenses, streamed as they are read from the database.
+     *
+     * @param format the format of the export, {@code ndjson} or {@code csv}.
+     * @param gzip whether to gzip the export.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the expenses in body, or with status {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+        @RequestParam(name = "format", required = false, defaultValue = "ndjson") String format,
+        @RequestParam(name = "gzip", required = false, defaultValue = "false") boolean gzip
+    ) {
+        log.debug("REST request to export Expenses as {}, gzip: {}", format, gzip);
+        ExpenseFileFormat exportFormat = ExpenseFileFormat.fromValue(format).orElseThrow(() ->
+            new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid")
+        );
+        String filename = "expenses." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE);
+                expenseExportService.export(exportFormat, gzipOut);
+                gzipOut.finish();
+            } else {
+                expenseExportService.export(exportFormat, new BufferedOutputStream(out, EXPORT_BUFFER_SIZE));
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(gzip ? GZIP_CONTENT_TYPE : exportFormat.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
     }
 
     /**
      * {@code GET  /expenses/:id} : get the "id" expense.
+     * <p>
+     * The ETag of the expense is its version, checked against {@code If-None-Match} before the expense is read.
      *
      * @param id the id of the expense to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the expense, or with status {@code 404 (Not Found)}.
+     * @param request the request, whose {@code If-None-Match} header is checked.
+     * @param response the response the expense is written to when the response cache is enabled.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the expense, or with status {@code 304 (Not Modified)},
+     * or with status {@code 404 (Not Found)}.
+     * @throws IOException if the response cannot be written.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Expense> getExpense(@PathVariable("id") Long id) {
+    public ResponseEntity<ExpenseDTO> getExpense(@PathVariable("id") Long id, WebRequest request, HttpServletResponse response)
+        throws IOException {
         log.debug("REST request to get Expense : {}", id);
-        Optional<Expense> expense = expenseRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(expense);
+        Optional<String> etag = expenseQueryService.findVersion(id).map(String::valueOf);
+        if (etag.isEmpty()) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        if (request.checkNotModified(etag.orElseThrow())) {
+            return null;
+        }
+        return responseBytesCache.write(
+            ResponseBytesCache.EXPENSE_RESPONSES_CACHE,
+            id,
+            etag.orElseThrow(),
+            () -> expenseQueryService.findOne(id),
+            response
+        );
     }
 
     /**
      * {@code DELETE  /expenses/:id} : delete the "id" expense.
      *
      * @param id the id of the expense to delete.
-     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 404 (Not Found)} if the expense is not found or the current user cannot read it.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteExpense(@PathVariable("id") Long id) {
         log.debug("REST request to delete Expense : {}", id);
-        expenseRepository.deleteById(id);
+        if (!expenseQueryService.isVisible(id)) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        expenseRepository
+            .findById(id)
+            .ifPresent(existingExpense -> {
+                groupMemberBalanceService.recordChange(Contribution.of(existingExpense), null);
+                expenseRepository.delete(existingExpense);
+            });
+        responseBytesCache.evict(ResponseBytesCache.EXPENSE_RESPONSES_CACHE, id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
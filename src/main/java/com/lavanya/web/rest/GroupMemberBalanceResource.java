@@ -0,0 +1,71 @@
+package com.lavanya.web.rest;
+
+import com.lavanya.repository.GroupMemberBalanceRepository;
+import com.lavanya.security.AuthoritiesConstants;
+import com.lavanya.service.GroupBalanceService;
+import com.lavanya.service.GroupMemberBalanceService;
+import com.lavanya.service.dto.GroupBalanceDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller to administer the {@link com.lavanya.domain.GroupMemberBalance} materialized totals.
+ */
+@RestController
+@RequestMapping("/api/admin/group-member-balances")
+public class GroupMemberBalanceResource {
+
+    private final Logger log = LoggerFactory.getLogger(GroupMemberBalanceResource.class);
+
+    private final GroupMemberBalanceService groupMemberBalanceService;
+
+    private final GroupBalanceService groupBalanceService;
+
+    public GroupMemberBalanceResource(GroupMemberBalanceService groupMemberBalanceService, GroupBalanceService groupBalanceService) {
+        this.groupMemberBalanceService = groupMemberBalanceService;
+        this.groupBalanceService = groupBalanceService;
+    }
+
+    /**
+     * {@code POST  /admin/group-member-balances/rebuild} : recompute every materialized total from the expenses.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of materialized rows.
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Integer> rebuildGroupMemberBalances() {
+        log.debug("REST request to rebuild GroupMemberBalances");
+        return ResponseEntity.ok(groupMemberBalanceService.rebuild());
+    }
+
+    /**
+     * {@code GET  /admin/group-member-balances/mismatches} : check the materialized totals against the raw sums of the expenses.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the totals that differ, empty when they are consistent.
+     */
+    @GetMapping("/mismatches")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public List<GroupMemberBalanceRepository.Mismatch> getGroupMemberBalanceMismatches() {
+        log.debug("REST request to check GroupMemberBalances");
+        return groupMemberBalanceService.findMismatches();
+    }
+
+    /**
+     * {@code GET  /admin/group-member-balances/groups/:groupId} : compute the balances of the "groupId" group from its expenses,
+     * to check the ones served from the materialized totals by {@code GET /api/groups/:id/balances}.
+     *
+     * @param groupId the id of the group whose balances to compute.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the balances, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/groups/{groupId}")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<GroupBalanceDTO> getGroupBalancesFromExpenses(@PathVariable("groupId") Long groupId) {
+        log.debug("REST request to compute balances of Group from its expenses : {}", groupId);
+        return ResponseUtil.wrapOrNotFound(groupBalanceService.computeBalancesFromExpenses(groupId));
+    }
+}
@@ -1,19 +1,41 @@
 package com.lavanya.web.rest;
 
 import com.lavanya.domain.Group;
+import com.lavanya.domain.UserProfile;
 import com.lavanya.repository.GroupRepository;
+import com.lavanya.repository.UserProfileRepository;
+import com.lavanya.security.SecurityUtils;
+import com.lavanya.service.GroupBalanceService;
+import com.lavanya.service.GroupQueryService;
+import com.lavanya.service.RequestCoalescer;
+import com.lavanya.service.criteria.GroupCriteria;
+import com.lavanya.service.dto.GroupBalanceDTO;
+import com.lavanya.service.dto.GroupDTO;
+import com.lavanya.service.dto.SettlementPlanDTO;
 import com.lavanya.web.rest.errors.BadRequestAlertException;
+import com.lavanya.web.rest.util.KeysetPaginationUtil;
+import com.lavanya.web.rest.util.ResponseBytesCache;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -29,13 +51,40 @@ public class GroupResource {
 
     private static final String ENTITY_NAME = "group";
 
+    /**
+     * Name of the reads of pages of groups in the {@link RequestCoalescer}.
+     */
+    static final String GROUPS_READ = "groups";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final GroupRepository groupRepository;
 
-    public GroupResource(GroupRepository groupRepository) {
+    private final GroupBalanceService groupBalanceService;
+
+    private final GroupQueryService groupQueryService;
+
+    private final ResponseBytesCache responseBytesCache;
+
+    private final RequestCoalescer requestCoalescer;
+
+    private final UserProfileRepository userProfileRepository;
+
+    public GroupResource(
+        GroupRepository groupRepository,
+        GroupBalanceService groupBalanceService,
+        GroupQueryService groupQueryService,
+        ResponseBytesCache responseBytesCache,
+        RequestCoalescer requestCoalescer,
+        UserProfileRepository userProfileRepository
+    ) {
         this.groupRepository = groupRepository;
+        this.groupBalanceService = groupBalanceService;
+        this.groupQueryService = groupQueryService;
+        this.responseBytesCache = responseBytesCache;
+        this.requestCoalescer = requestCoalescer;
+        this.userProfileRepository = userProfileRepository;
     }
 
     /**
@@ -51,7 +100,9 @@ public class GroupResource {
         if (group.getId() != null) {
             throw new BadRequestAlertException("A new group cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        resolveMembers(group);
         group = groupRepository.save(group);
+        requestCoalescer.forget(GROUPS_READ);
         return ResponseEntity.created(new URI("/api/groups/" + group.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, group.getId().toString()))
             .body(group);
@@ -64,6 +115,7 @@ public class GroupResource {
      * @param group the group to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated group,
      * or with status {@code 400 (Bad Request)} if the group is not valid,
+     * or with status {@code 404 (Not Found)} if the group is not found or the current user cannot read it,
      * or with status {@code 500 (Internal Server Error)} if the group couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -77,17 +129,42 @@ public class GroupResource {
         if (!Objects.equals(id, group.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        if (!groupQueryService.isVisible(id)) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
 
-        if (!groupRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Group existingGroup = groupRepository
+            .findById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        // Without a version, the update overwrites the group whatever its version
+        if (group.getVersion() == null) {
+            group.setVersion(existingGroup.getVersion());
         }
+        resolveMembers(group);
 
         group = groupRepository.save(group);
+        evictGroup(id);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, group.getId().toString()))
             .body(group);
     }
 
+    /**
+     * Replace the members sent by references: they have no version, so Hibernate could not tell whether they exist.
+     *
+     * @throws BadRequestAlertException if a reference has no id, or the id of no user profile.
+     */
+    private void resolveMembers(Group group) {
+        Set<Long> memberIds = group.getMembers().stream().map(UserProfile::getId).collect(Collectors.toSet());
+        if (
+            memberIds.contains(null) ||
+            (!memberIds.isEmpty() && userProfileRepository.findExistingIds(memberIds).size() < memberIds.size())
+        ) {
+            throw new BadRequestAlertException("Member not found", ENTITY_NAME, "membernotfound");
+        }
+        group.setMembers(memberIds.stream().map(userProfileRepository::getReferenceById).collect(Collectors.toSet()));
+    }
+
     /**
      * {@code PATCH  /groups/:id} : Partial updates given fields of an existing group, field will ignore if it is null
      *
@@ -95,7 +172,7 @@ public class GroupResource {
      * @param group the group to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated group,
      * or with status {@code 400 (Bad Request)} if the group is not valid,
-     * or with status {@code 404 (Not Found)} if the group is not found,
+     * or with status {@code 404 (Not Found)} if the group is not found or the current user cannot read it,
      * or with status {@code 500 (Internal Server Error)} if the group couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -110,8 +187,8 @@ public class GroupResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!groupRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (!groupQueryService.isVisible(id)) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
         }
 
         Optional<Group> result = groupRepository
@@ -127,6 +204,7 @@ public class GroupResource {
                 return existingGroup;
             })
             .map(groupRepository::save);
+        evictGroup(id);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -135,46 +213,117 @@ public class GroupResource {
     }
 
     /**
-     * {@code GET  /groups} : get all the groups.
+     * {@code GET  /groups} : get a page of groups, ordered by id.
      *
+     * @param criteria the criteria which the requested entities should match.
+     * @param after the id of the last group of the previous page.
+     * @param size the maximum number of groups to return.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of groups in body.
      */
     @GetMapping("")
-    public List<Group> getAllGroups(@RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload) {
-        log.debug("REST request to get all Groups");
-        if (eagerload) {
-            return groupRepository.findAllWithEagerRelationships();
-        } else {
-            return groupRepository.findAll();
-        }
+    public ResponseEntity<List<GroupDTO>> getAllGroups(
+        GroupCriteria criteria,
+        @RequestParam(name = "after", required = false) Long after,
+        @RequestParam(name = "size", required = false, defaultValue = KeysetPaginationUtil.DEFAULT_SIZE) int size,
+        @RequestParam(name = "eagerload", required = false, defaultValue = "true") boolean eagerload
+    ) {
+        log.debug("REST request to get Groups by criteria: {}, after: {}", criteria, after);
+        int limit = KeysetPaginationUtil.limit(size);
+        // Members only read their own groups, so they only share the reads of the same member
+        List<Object> key = Arrays.asList(SecurityUtils.getCurrentUserMemberLogin(), criteria, after, limit, eagerload);
+        Window<GroupDTO> window = requestCoalescer.execute(GROUPS_READ, key, () ->
+            groupQueryService.findByCriteria(criteria, after, limit, eagerload)
+        );
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            window
+        );
+        return new ResponseEntity<>(window.getContent(), headers, HttpStatus.OK);
     }
 
     /**
      * {@code GET  /groups/:id} : get the "id" group.
+     * <p>
+     * The ETag of the group is the version of the group and of its members, checked against {@code If-None-Match}
+     * before the group is read.
      *
      * @param id the id of the group to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the group, or with status {@code 404 (Not Found)}.
+     * @param request the request, whose {@code If-None-Match} header is checked.
+     * @param response the response the group is written to when the response cache is enabled.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the group, or with status {@code 304 (Not Modified)},
+     * or with status {@code 404 (Not Found)}.
+     * @throws IOException if the response cannot be written.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Group> getGroup(@PathVariable("id") Long id) {
+    public ResponseEntity<GroupDTO> getGroup(@PathVariable("id") Long id, WebRequest request, HttpServletResponse response)
+        throws IOException {
         log.debug("REST request to get Group : {}", id);
-        Optional<Group> group = groupRepository.findOneWithEagerRelationships(id);
-        return ResponseUtil.wrapOrNotFound(group);
+        Optional<String> etag = groupQueryService.findVersion(id).map(row -> row.version() + "." + row.membersVersion());
+        if (etag.isEmpty()) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
+        if (request.checkNotModified(etag.orElseThrow())) {
+            return null;
+        }
+        return responseBytesCache.write(
+            ResponseBytesCache.GROUP_RESPONSES_CACHE,
+            id,
+            etag.orElseThrow(),
+            () -> groupQueryService.findOne(id),
+            response
+        );
+    }
+
+    /**
+     * {@code GET  /groups/:id/balances} : get the net position of every member of the "id" group.
+     *
+     * @param id the id of the group whose balances to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the balances, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/balances")
+    public ResponseEntity<GroupBalanceDTO> getGroupBalances(@PathVariable("id") Long id) {
+        log.debug("REST request to get balances of Group : {}", id);
+        return ResponseUtil.wrapOrNotFound(groupBalanceService.getBalances(id));
+    }
+
+    /**
+     * {@code GET  /groups/:id/settlement-plan} : get the transfers that settle every balance of the "id" group.
+     *
+     * @param id the id of the group to settle.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the plan, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/settlement-plan")
+    public ResponseEntity<SettlementPlanDTO> getGroupSettlementPlan(@PathVariable("id") Long id) {
+        log.debug("REST request to get settlement plan of Group : {}", id);
+        return ResponseUtil.wrapOrNotFound(groupBalanceService.getSettlementPlan(id));
     }
 
     /**
      * {@code DELETE  /groups/:id} : delete the "id" group.
      *
      * @param id the id of the group to delete.
-     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 404 (Not Found)} if the group is not found or the current user cannot read it.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteGroup(@PathVariable("id") Long id) {
         log.debug("REST request to delete Group : {}", id);
+        if (!groupQueryService.isVisible(id)) {
+            return ResponseUtil.wrapOrNotFound(Optional.empty());
+        }
         groupRepository.deleteById(id);
+        evictGroup(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Stop serving the previous state of a group once the current transaction commits.
+     */
+    private void evictGroup(Long id) {
+        responseBytesCache.evict(ResponseBytesCache.GROUP_RESPONSES_CACHE, id);
+        requestCoalescer.forget(GROUPS_READ);
+    }
 }
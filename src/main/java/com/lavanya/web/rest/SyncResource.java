@@ -0,0 +1,52 @@
+package com.lavanya.web.rest;
+
+import com.lavanya.service.SyncService;
+import com.lavanya.service.SyncTokenExpiredException;
+import com.lavanya.service.dto.SyncDTO;
+import com.lavanya.web.rest.util.KeysetPaginationUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller syncing clients with the changes made to expenses, groups and userProfiles.
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SyncResource {
+
+    private final Logger log = LoggerFactory.getLogger(SyncResource.class);
+
+    private final SyncService syncService;
+
+    public SyncResource(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * {@code GET  /sync} : get the changes since a sync token.
+     * <p>
+     * Without a token, only the token to start syncing from is returned: the client reads the entities, then syncs
+     * from it. While {@code more} is true, the client syncs again right away from the returned token.
+     *
+     * @param since the token returned by the previous sync.
+     * @param size the maximum number of changes to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the changes in body, or with status
+     * {@code 410 (Gone)} if the changes since the token were purged, in which case the client must read the entities again.
+     */
+    @GetMapping("")
+    public ResponseEntity<SyncDTO> getChanges(
+        @RequestParam(name = "since", required = false) Long since,
+        @RequestParam(name = "size", required = false, defaultValue = KeysetPaginationUtil.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get changes since: {}", since);
+        try {
+            return ResponseEntity.ok(syncService.findChangesSince(since, KeysetPaginationUtil.limit(size)));
+        } catch (SyncTokenExpiredException e) {
+            throw new ResponseStatusException(HttpStatus.GONE, e.getMessage(), e);
+        }
+    }
+}
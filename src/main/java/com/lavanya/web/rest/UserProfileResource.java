@@ -1,8 +1,16 @@
 package com.lavanya.web.rest;
 
 import com.lavanya.domain.UserProfile;
+import com.lavanya.repository.GroupRepository;
 import com.lavanya.repository.UserProfileRepository;
+import com.lavanya.security.SecurityUtils;
+import com.lavanya.service.RequestCoalescer;
+import com.lavanya.service.UserProfileQueryService;
+import com.lavanya.service.criteria.UserProfileCriteria;
+import com.lavanya.service.dto.UserProfileDTO;
 import com.lavanya.web.rest.errors.BadRequestAlertException;
+import com.lavanya.web.rest.util.KeysetPaginationUtil;
+import com.lavanya.web.rest.util.ResponseBytesCache;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -11,9 +19,14 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -34,15 +47,33 @@ public class UserProfileResource {
 
     private final UserProfileRepository userProfileRepository;
 
-    public UserProfileResource(UserProfileRepository userProfileRepository) {
+    private final UserProfileQueryService userProfileQueryService;
+
+    private final GroupRepository groupRepository;
+
+    private final ResponseBytesCache responseBytesCache;
+
+    private final RequestCoalescer requestCoalescer;
+
+    public UserProfileResource(
+        UserProfileRepository userProfileRepository,
+        UserProfileQueryService userProfileQueryService,
+        GroupRepository groupRepository,
+        ResponseBytesCache responseBytesCache,
+        RequestCoalescer requestCoalescer
+    ) {
         this.userProfileRepository = userProfileRepository;
+        this.userProfileQueryService = userProfileQueryService;
+        this.groupRepository = groupRepository;
+        this.responseBytesCache = responseBytesCache;
+        this.requestCoalescer = requestCoalescer;
     }
 
     /**
      * {@code POST  /user-profiles} : Create a new userProfile.
      *
      * @param userProfile the userProfile to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new userProfile, or with status {@code 400 (Bad Request)} if the userProfile has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new userProfile, or with status {@code 400 (Bad Request)} if the userProfile has already an ID or its email is already used.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
@@ -51,6 +82,9 @@ public class UserProfileResource {
         if (userProfile.getId() != null) {
             throw new BadRequestAlertException("A new userProfile cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        if (userProfile.getEmail() != null && userProfileRepository.existsByEmail(userProfile.getEmail())) {
+            throw new BadRequestAlertException("Email is already used", ENTITY_NAME, "emailexists");
+        }
         userProfile = userProfileRepository.save(userProfile);
         return ResponseEntity.created(new URI("/api/user-profiles/" + userProfile.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, userProfile.getId().toString()))
@@ -63,7 +97,8 @@ public class UserProfileResource {
      * @param id the id of the userProfile to save.
      * @param userProfile the userProfile to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated userProfile,
-     * or with status {@code 400 (Bad Request)} if the userProfile is not valid,
+     * or with status {@code 400 (Bad Request)} if the userProfile is not valid or its email is already used,
+     * or with status {@code 403 (Forbidden)} if the userProfile is not the profile of the current user,
      * or with status {@code 500 (Internal Server Error)} if the userProfile couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -79,12 +114,19 @@ public class UserProfileResource {
         if (!Objects.equals(id, userProfile.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        checkOwner(id);
+        checkEmailUnused(userProfile);
 
-        if (!userProfileRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        UserProfile existingUserProfile = userProfileRepository
+            .findById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        // Without a version, the update overwrites the userProfile whatever its version
+        if (userProfile.getVersion() == null) {
+            userProfile.setVersion(existingUserProfile.getVersion());
         }
 
         userProfile = userProfileRepository.save(userProfile);
+        evictGroupResponses(id);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, userProfile.getId().toString()))
             .body(userProfile);
@@ -96,7 +138,8 @@ public class UserProfileResource {
      * @param id the id of the userProfile to save.
      * @param userProfile the userProfile to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated userProfile,
-     * or with status {@code 400 (Bad Request)} if the userProfile is not valid,
+     * or with status {@code 400 (Bad Request)} if the userProfile is not valid or its email is already used,
+     * or with status {@code 403 (Forbidden)} if the userProfile is not the profile of the current user,
      * or with status {@code 404 (Not Found)} if the userProfile is not found,
      * or with status {@code 500 (Internal Server Error)} if the userProfile couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -114,9 +157,11 @@ public class UserProfileResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
+        checkOwner(id);
         if (!userProfileRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        checkEmailUnused(userProfile);
 
         Optional<UserProfile> result = userProfileRepository
             .findById(userProfile.getId())
@@ -128,6 +173,7 @@ public class UserProfileResource {
                 return existingUserProfile;
             })
             .map(userProfileRepository::save);
+        evictGroupResponses(id);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -136,14 +182,26 @@ public class UserProfileResource {
     }
 
     /**
-     * {@code GET  /user-profiles} : get all the userProfiles.
+     * {@code GET  /user-profiles} : get a page of userProfiles, ordered by id.
      *
+     * @param criteria the criteria which the requested entities should match.
+     * @param after the id of the last userProfile of the previous page.
+     * @param size the maximum number of userProfiles to return.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of userProfiles in body.
      */
     @GetMapping("")
-    public List<UserProfile> getAllUserProfiles() {
-        log.debug("REST request to get all UserProfiles");
-        return userProfileRepository.findAll();
+    public ResponseEntity<List<UserProfileDTO>> getAllUserProfiles(
+        UserProfileCriteria criteria,
+        @RequestParam(name = "after", required = false) Long after,
+        @RequestParam(name = "size", required = false, defaultValue = KeysetPaginationUtil.DEFAULT_SIZE) int size
+    ) {
+        log.debug("REST request to get UserProfiles by criteria: {}, after: {}", criteria, after);
+        Window<UserProfileDTO> window = userProfileQueryService.findByCriteria(criteria, after, KeysetPaginationUtil.limit(size));
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            window
+        );
+        return new ResponseEntity<>(window.getContent(), headers, HttpStatus.OK);
     }
 
     /**
@@ -153,9 +211,9 @@ public class UserProfileResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the userProfile, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserProfile> getUserProfile(@PathVariable("id") Long id) {
+    public ResponseEntity<UserProfileDTO> getUserProfile(@PathVariable("id") Long id) {
         log.debug("REST request to get UserProfile : {}", id);
-        Optional<UserProfile> userProfile = userProfileRepository.findById(id);
+        Optional<UserProfileDTO> userProfile = userProfileQueryService.findOne(id);
         return ResponseUtil.wrapOrNotFound(userProfile);
     }
 
@@ -163,14 +221,49 @@ public class UserProfileResource {
      * {@code DELETE  /user-profiles/:id} : delete the "id" userProfile.
      *
      * @param id the id of the userProfile to delete.
-     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)},
+     * or with status {@code 403 (Forbidden)} if the userProfile is not the profile of the current user.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUserProfile(@PathVariable("id") Long id) {
         log.debug("REST request to delete UserProfile : {}", id);
+        checkOwner(id);
+        evictGroupResponses(id);
         userProfileRepository.deleteById(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Check that the current user can change a userProfile: admins can change every profile, other users only their own,
+     * as the email of a profile makes its user a member of its groups.
+     *
+     * @throws AccessDeniedException if the userProfile is not the profile of the current user.
+     */
+    private void checkOwner(Long id) {
+        Optional<String> login = SecurityUtils.getCurrentUserMemberLogin();
+        if (login.isPresent() && !userProfileRepository.existsOwnedById(id, login.orElseThrow())) {
+            throw new AccessDeniedException("Not the profile of the current user");
+        }
+    }
+
+    /**
+     * @throws BadRequestAlertException if the email of a userProfile is the email of another one.
+     */
+    private void checkEmailUnused(UserProfile userProfile) {
+        if (userProfile.getEmail() != null && userProfileRepository.existsByEmailAndIdNot(userProfile.getEmail(), userProfile.getId())) {
+            throw new BadRequestAlertException("Email is already used", ENTITY_NAME, "emailexists");
+        }
+    }
+
+    /**
+     * Evict the cached responses of the groups of a userProfile, which list the emails of their members.
+     */
+    private void evictGroupResponses(Long id) {
+        for (Long groupId : groupRepository.findIdsByMemberId(id)) {
+            responseBytesCache.evict(ResponseBytesCache.GROUP_RESPONSES_CACHE, groupId);
+        }
+        requestCoalescer.forget(GroupResource.GROUPS_READ);
+    }
 }
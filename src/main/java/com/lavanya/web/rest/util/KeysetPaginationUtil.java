@@ -0,0 +1,60 @@
+package com.lavanya.web.rest.util;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset pagination.
+ * <p>
+ * Lists are ordered by id and a page is requested with the id of the last entity of the previous page
+ * ({@code ?after=42&size=20}), so that the database seeks on the primary key instead of skipping rows: the
+ * response time does not depend on how deep the client pages. No total count is computed, for the same reason.
+ * <p>
+ * The URL of the next page is returned in a
+ * <a href="https://tools.ietf.org/html/rfc5988">{@code Link} header</a>, absent on the last page.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String DEFAULT_SIZE = "20";
+
+    public static final int MAX_SIZE = 100;
+
+    private static final String KEY = "id";
+
+    private static final String AFTER_PARAM = "after";
+
+    private static final String SIZE_PARAM = "size";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * @param size the requested page size.
+     * @return the page size, between 1 and {@link #MAX_SIZE}.
+     */
+    public static int limit(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Generate keyset pagination headers for a Spring Data {@link Window} object.
+     *
+     * @param uriBuilder The URI builder of the current request.
+     * @param window The window.
+     * @param <T> The type of object.
+     * @return http header.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, Window<T> window) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            String link = uriBuilder
+                .replaceQueryParam(AFTER_PARAM, last.getKeys().get(KEY))
+                .replaceQueryParam(SIZE_PARAM, window.size())
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
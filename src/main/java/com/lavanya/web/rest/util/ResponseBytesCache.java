@@ -0,0 +1,294 @@
+package com.lavanya.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lavanya.config.ApplicationProperties;
+import com.lavanya.service.CacheInvalidation;
+import com.lavanya.service.CacheInvalidationBroadcaster;
+import com.lavanya.service.RequestCoalescer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * Cache of the JSON responses of single resources, kept serialized and written as is to the servlet output stream, so
+ * that cached reads run neither Hibernate nor Jackson.
+ * <p>
+ * Responses are cached with the ETag of the version of their resource, looked up by the caller before the resource is
+ * read: a cached response is only written for the same ETag, and concurrent loads are only coalesced by the
+ * {@link RequestCoalescer} for the same ETag, so that a response is never served for a later version. Resources are
+ * also {@link #evict(String, Object) evicted} when the transaction changing them commits, on this node and through the
+ * {@link CacheInvalidationBroadcaster} on the others, to free their previous responses.
+ * <p>
+ * Opt-in with {@code application.response-cache.enabled}: when disabled, responses are serialized by Spring MVC as
+ * usual, and only the loads are coalesced.
+ */
+@Component
+public class ResponseBytesCache {
+
+    public static final String EXPENSE_RESPONSES_CACHE = "expenseResponses";
+
+    public static final String GROUP_RESPONSES_CACHE = "groupResponses";
+
+    private final boolean enabled;
+
+    private final CacheManager cacheManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+
+    private final MeterRegistry meterRegistry;
+
+    private final RequestCoalescer requestCoalescer;
+
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public ResponseBytesCache(
+        ApplicationProperties applicationProperties,
+        CacheManager cacheManager,
+        ObjectMapper objectMapper,
+        CacheInvalidationBroadcaster cacheInvalidationBroadcaster,
+        MeterRegistry meterRegistry,
+        RequestCoalescer requestCoalescer
+    ) {
+        this.enabled = applicationProperties.getResponseCache().isEnabled();
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.cacheInvalidationBroadcaster = cacheInvalidationBroadcaster;
+        this.meterRegistry = meterRegistry;
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (enabled) {
+            cacheInvalidationBroadcaster.subscribe(invalidation -> {
+                if (
+                    invalidation.kind() == CacheInvalidation.Kind.CACHE &&
+                    (EXPENSE_RESPONSES_CACHE.equals(invalidation.region()) || GROUP_RESPONSES_CACHE.equals(invalidation.region()))
+                ) {
+                    invalidate(invalidation.region(), invalidation.key());
+                }
+            });
+        }
+    }
+
+    /**
+     * Write the cached response of a version of a resource, or load, serialize, cache and write it.
+     *
+     * @param cacheName the cache of the responses of the resource type.
+     * @param id the id of the resource.
+     * @param etag the ETag of the version of the resource, looked up before calling this method.
+     * @param loader the loader of the resource.
+     * @param response the response to write to.
+     * @return {@code null} once the response is written, or the {@link ResponseEntity} to write if the cache is disabled.
+     * @throws IOException if the response cannot be written.
+     */
+    public <T> ResponseEntity<T> write(
+        String cacheName,
+        Object id,
+        String etag,
+        Supplier<Optional<T>> loader,
+        HttpServletResponse response
+    ) throws IOException {
+        String key = String.valueOf(id);
+        if (!enabled) {
+            return ResponseUtil.wrapOrNotFound(requestCoalescer.execute(cacheName, key + "@" + etag, loader));
+        }
+        Cache cache = cache(cacheName);
+        Meters cacheMeters = meters.computeIfAbsent(cacheName, Meters::new);
+        CachedResponse cached = cache.get(key, CachedResponse.class);
+        byte[] bytes;
+        if (cached != null && cached.etag().equals(etag)) {
+            bytes = cached.bytes();
+            cacheMeters.hit(bytes.length);
+        } else {
+            cacheMeters.miss();
+            Optional<byte[]> loaded;
+            try {
+                loaded = requestCoalescer.execute(cacheName, key + "@" + etag, () -> load(loader, cacheMeters));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (loaded.isEmpty()) {
+                return ResponseUtil.wrapOrNotFound(Optional.empty());
+            }
+            bytes = loaded.orElseThrow();
+            // The resource may have been changed since its ETag was looked up: the response is then cached with an
+            // earlier ETag, and never written again
+            cache.put(key, new CachedResponse(etag, bytes));
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+        return null;
+    }
+
+    private <T> Optional<byte[]> load(Supplier<Optional<T>> loader, Meters cacheMeters) {
+        long start = System.nanoTime();
+        Optional<T> body = loader.get();
+        if (body.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body.orElseThrow());
+            cacheMeters.loaded(System.nanoTime() - start, bytes.length);
+            return Optional.of(bytes);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Evict the response of a resource once the current transaction commits, from every node.
+     *
+     * @param cacheName the cache of the responses of the resource type.
+     * @param id the id of the resource.
+     */
+    public void evict(String cacheName, Object id) {
+        if (!enabled) {
+            return;
+        }
+        String key = String.valueOf(id);
+        cacheInvalidationBroadcaster.publish(CacheInvalidation.cache(cacheName, key));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        invalidate(cacheName, key);
+                    }
+                }
+            );
+        } else {
+            invalidate(cacheName, key);
+        }
+    }
+
+    private void invalidate(String cacheName, String key) {
+        Cache cache = cache(cacheName);
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+
+    private Cache cache(String cacheName) {
+        return Objects.requireNonNull(cacheManager.getCache(cacheName));
+    }
+
+    /**
+     * A serialized response, with the ETag of the version of its resource. Not a record, as the heap tiers of Ehcache
+     * cannot size records.
+     */
+    private static final class CachedResponse implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String etag;
+
+        private final byte[] bytes;
+
+        private CachedResponse(String etag, byte[] bytes) {
+            this.etag = etag;
+            this.bytes = bytes;
+        }
+
+        private String etag() {
+            return etag;
+        }
+
+        private byte[] bytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Meters of a cache: lookups by result, bytes written from the cache, size of the cached responses, time to load
+     * and serialize the responses not found, and the time saved by the others.
+     */
+    private final class Meters {
+
+        private final Counter hits;
+
+        private final Counter misses;
+
+        private final Counter bytesServed;
+
+        private final DistributionSummary responseSize;
+
+        private final Timer load;
+
+        private final Counter saved;
+
+        private Meters(String cacheName) {
+            this.hits = Counter.builder("response.cache").tag("cache", cacheName).tag("result", "hit").register(meterRegistry);
+            this.misses = Counter.builder("response.cache").tag("cache", cacheName).tag("result", "miss").register(meterRegistry);
+            this.bytesServed = Counter.builder("response.cache.served")
+                .description("Bytes written from the response cache")
+                .baseUnit("bytes")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+            this.responseSize = DistributionSummary.builder("response.cache.size")
+                .description("Size of the serialized responses")
+                .baseUnit("bytes")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+            this.load = Timer.builder("response.cache.load")
+                .description("Time to load and serialize the responses not found in the cache")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+            this.saved = Counter.builder("response.cache.saved")
+                .description("Estimated time saved by the response cache, as the mean load time of each hit")
+                .baseUnit("seconds")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+            Gauge.builder("response.cache.hit-ratio", this, Meters::hitRatio).tag("cache", cacheName).register(meterRegistry);
+        }
+
+        private void hit(int size) {
+            hits.increment();
+            bytesServed.increment(size);
+            saved.increment(load.mean(TimeUnit.SECONDS));
+        }
+
+        private void miss() {
+            misses.increment();
+        }
+
+        private void loaded(long loadNanos, int size) {
+            load.record(loadNanos, TimeUnit.NANOSECONDS);
+            responseSize.record(size);
+        }
+
+        private double hitRatio() {
+            double lookups = hits.count() + misses.count();
+            return lookups == 0 ? 0 : hits.count() / lookups;
+        }
+    }
+}
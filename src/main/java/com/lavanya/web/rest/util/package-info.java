@@ -0,0 +1,4 @@
+/**
+ * Utilities shared by the REST controllers.
+ */
+package com.lavanya.web.rest.util;
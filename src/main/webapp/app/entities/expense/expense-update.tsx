@@ -56,6 +56,9 @@ export const ExpenseUpdate = () => {
     if (values.id !== undefined && typeof values.id !== 'number') {
       values.id = Number(values.id);
     }
+    if (values.amount !== undefined && typeof values.amount !== 'number') {
+      values.amount = Number(values.amount);
+    }
 
     const entity = {
       ...expenseEntity,
@@ -20,6 +20,7 @@ export const Expense = () => {
 
   const expenseList = useAppSelector(state => state.expense.entities);
   const loading = useAppSelector(state => state.expense.loading);
+  const links = useAppSelector(state => state.expense.links);
 
   const getAllEntities = () => {
     dispatch(
@@ -53,6 +54,15 @@ export const Expense = () => {
     sortEntities();
   };
 
+  const handleLoadMore = () => {
+    dispatch(
+      getEntities({
+        sort: `${sortState.sort},${sortState.order}`,
+        after: links.next,
+      }),
+    );
+  };
+
   const getSortIconByFieldName = (fieldName: string) => {
     const sortFieldName = sortState.sort;
     const order = sortState.order;
@@ -134,6 +144,13 @@ export const Expense = () => {
           !loading && <div className="alert alert-warning">No Expenses found</div>
         )}
       </div>
+      {links?.next ? (
+        <div className="d-flex justify-content-center">
+          <Button color="secondary" onClick={handleLoadMore} disabled={loading} data-cy="loadMoreButton">
+            Load more expenses
+          </Button>
+        </div>
+      ) : null}
     </div>
   );
 };
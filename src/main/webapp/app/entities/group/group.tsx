@@ -20,6 +20,7 @@ export const Group = () => {
 
   const groupList = useAppSelector(state => state.group.entities);
   const loading = useAppSelector(state => state.group.loading);
+  const links = useAppSelector(state => state.group.links);
 
   const getAllEntities = () => {
     dispatch(
@@ -53,6 +54,15 @@ export const Group = () => {
     sortEntities();
   };
 
+  const handleLoadMore = () => {
+    dispatch(
+      getEntities({
+        sort: `${sortState.sort},${sortState.order}`,
+        after: links.next,
+      }),
+    );
+  };
+
   const getSortIconByFieldName = (fieldName: string) => {
     const sortFieldName = sortState.sort;
     const order = sortState.order;
@@ -143,6 +153,13 @@ export const Group = () => {
           !loading && <div className="alert alert-warning">No Groups found</div>
         )}
       </div>
+      {links?.next ? (
+        <div className="d-flex justify-content-center">
+          <Button color="secondary" onClick={handleLoadMore} disabled={loading} data-cy="loadMoreButton">
+            Load more groups
+          </Button>
+        </div>
+      ) : null}
     </div>
   );
 };
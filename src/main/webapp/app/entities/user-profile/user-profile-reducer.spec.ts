@@ -29,6 +29,7 @@ describe('Entities reducer tests', () => {
     errorMessage: null,
     entities: [],
     entity: defaultValue,
+    links: { next: null },
     updating: false,
     updateSuccess: false,
   };
@@ -116,7 +117,7 @@ describe('Entities reducer tests', () => {
 
   describe('Successes', () => {
     it('should fetch all entities', () => {
-      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }] };
+      const payload = { data: [{ 1: 'fake1' }, { 2: 'fake2' }], headers: { link: '</api?after=2&size=2>; rel="next"' } };
       expect(
         reducer(undefined, {
           type: getEntities.fulfilled.type,
@@ -125,10 +126,30 @@ describe('Entities reducer tests', () => {
       ).toEqual({
         ...initialState,
         loading: false,
+        links: { next: '2' },
         entities: payload.data,
       });
     });
 
+    it('should append the next page of entities', () => {
+      const payload = { data: [{ 3: 'fake3' }], headers: {} };
+      expect(
+        reducer(
+          { ...initialState, links: { next: '2' }, entities: [{ 1: 'fake1' }, { 2: 'fake2' }] },
+          {
+            type: getEntities.fulfilled.type,
+            payload,
+            meta: { arg: { after: '2' } },
+          },
+        ),
+      ).toEqual({
+        ...initialState,
+        loading: false,
+        links: { next: null },
+        entities: [{ 1: 'fake1' }, { 2: 'fake2' }, { 3: 'fake3' }],
+      });
+    });
+
     it('should fetch a single entity', () => {
       const payload = { data: { 1: 'fake1' } };
       expect(
@@ -1,6 +1,7 @@
 import axios from 'axios';
 import { createAsyncThunk, isFulfilled, isPending } from '@reduxjs/toolkit';
 import { ASC } from 'app/shared/util/pagination.constants';
+import { getNextPageCursor } from 'app/shared/util/keyset-pagination';
 import { cleanEntity } from 'app/shared/util/entity-utils';
 import { IQueryParams, createEntitySlice, EntityState, serializeAxiosError } from 'app/shared/reducers/reducer.utils';
 import { IUserProfile, defaultValue } from 'app/shared/model/user-profile.model';
@@ -10,6 +11,7 @@ const initialState: EntityState<IUserProfile> = {
   errorMessage: null,
   entities: [],
   entity: defaultValue,
+  links: { next: null },
   updating: false,
   updateSuccess: false,
 };
@@ -18,8 +20,8 @@ const apiUrl = 'api/user-profiles';
 
 // Actions
 
-export const getEntities = createAsyncThunk('userProfile/fetch_entity_list', async ({ sort }: IQueryParams) => {
-  const requestUrl = `${apiUrl}?${sort ? `sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
+export const getEntities = createAsyncThunk('userProfile/fetch_entity_list', async ({ sort, after }: IQueryParams) => {
+  const requestUrl = `${apiUrl}?${after ? `after=${after}&` : ''}${sort ? `sort=${sort}&` : ''}cacheBuster=${new Date().getTime()}`;
   return axios.get<IUserProfile[]>(requestUrl);
 });
 
@@ -90,12 +92,15 @@ export const UserProfileSlice = createEntitySlice({
         state.entity = {};
       })
       .addMatcher(isFulfilled(getEntities), (state, action) => {
-        const { data } = action.payload;
+        const { data, headers } = action.payload;
+        // A page requested after a cursor is appended to the pages already loaded
+        const entities = action.meta?.arg?.after ? [...state.entities, ...data] : data;
 
         return {
           ...state,
           loading: false,
-          entities: data.sort((a, b) => {
+          links: { next: getNextPageCursor(headers?.link) },
+          entities: entities.sort((a, b) => {
             if (!action.meta?.arg?.sort) {
               return 1;
             }
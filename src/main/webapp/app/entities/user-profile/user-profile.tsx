@@ -20,6 +20,7 @@ export const UserProfile = () => {
 
   const userProfileList = useAppSelector(state => state.userProfile.entities);
   const loading = useAppSelector(state => state.userProfile.loading);
+  const links = useAppSelector(state => state.userProfile.links);
 
   const getAllEntities = () => {
     dispatch(
@@ -53,6 +54,15 @@ export const UserProfile = () => {
     sortEntities();
   };
 
+  const handleLoadMore = () => {
+    dispatch(
+      getEntities({
+        sort: `${sortState.sort},${sortState.order}`,
+        after: links.next,
+      }),
+    );
+  };
+
   const getSortIconByFieldName = (fieldName: string) => {
     const sortFieldName = sortState.sort;
     const order = sortState.order;
@@ -139,6 +149,13 @@ export const UserProfile = () => {
           !loading && <div className="alert alert-warning">No User Profiles found</div>
         )}
       </div>
+      {links?.next ? (
+        <div className="d-flex justify-content-center">
+          <Button color="secondary" onClick={handleLoadMore} disabled={loading} data-cy="loadMoreButton">
+            Load more user profiles
+          </Button>
+        </div>
+      ) : null}
     </div>
   );
 };
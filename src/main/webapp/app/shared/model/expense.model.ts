@@ -3,7 +3,7 @@ import { IGroup } from 'app/shared/model/group.model';
 
 export interface IExpense {
   id?: number;
-  amount?: string | null;
+  amount?: number | null;
   user?: IUserProfile | null;
   group?: IGroup | null;
 }
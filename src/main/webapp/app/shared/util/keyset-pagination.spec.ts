@@ -0,0 +1,21 @@
+import { getNextPageCursor } from './keyset-pagination';
+
+describe('Keyset pagination utils', () => {
+  describe('getNextPageCursor', () => {
+    it('should return the after parameter of the next link', () => {
+      expect(getNextPageCursor('<http://localhost:8080/api/expenses?after=42&size=20>; rel="next"')).toEqual('42');
+    });
+
+    it('should accept relative links', () => {
+      expect(getNextPageCursor('</api/expenses?groupId.equals=3&after=42&size=20>; rel="next"')).toEqual('42');
+    });
+
+    it('should ignore links to other pages', () => {
+      expect(getNextPageCursor('<http://localhost:8080/api/expenses?after=0&size=20>; rel="first"')).toBeNull();
+    });
+
+    it('should return null without link', () => {
+      expect(getNextPageCursor(undefined)).toBeNull();
+    });
+  });
+});
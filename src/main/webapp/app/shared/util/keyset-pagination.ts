@@ -0,0 +1,11 @@
+/**
+ * Extract the cursor of the next page of a keyset paginated list, from the `Link` header of its response.
+ *
+ * @param link the `Link` header, absent on the last page
+ * @returns the `after` parameter of the `rel="next"` link, or null if there is no next page
+ */
+export const getNextPageCursor = (link?: string): string | null => {
+  const next = link?.split(',').find(part => /rel="?next"?/.test(part));
+  const url = next?.match(/<([^>]*)>/)?.[1];
+  return url ? new URL(url, 'http://localhost').searchParams.get('after') : null;
+};
@@ -0,0 +1,127 @@
+package com.lavanya.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lavanya.config.ApplicationProperties.Cache.Tiers;
+import java.nio.file.Path;
+import java.util.Map;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.util.unit.DataSize;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    private static final String EXPENSE_CACHE = com.lavanya.domain.Expense.class.getName();
+
+    private static final String GROUP_CACHE = com.lavanya.domain.Group.class.getName();
+
+    @TempDir
+    Path diskPath;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Cache.Ehcache ehcache = applicationProperties.getCache().getEhcache();
+        ehcache.setHeapSize(DataSize.ofKilobytes(64));
+        ehcache.setOffHeapSize(DataSize.ofMegabytes(1));
+        ehcache.setDiskPath(diskPath.toString());
+        Tiers expenseTiers = new Tiers();
+        expenseTiers.setHeapSize(DataSize.ofKilobytes(128));
+        expenseTiers.setOffHeapSize(DataSize.ofMegabytes(2));
+        expenseTiers.setDiskSize(DataSize.ofMegabytes(4));
+        ehcache.getRegions().put(EXPENSE_CACHE, expenseTiers);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @Test
+    void shouldConfigureTiersPerRegion() {
+        cacheManager = createCacheManager();
+
+        ResourcePools groupPools = resourcePools(GROUP_CACHE);
+        assertThat(size(groupPools, ResourceType.Core.HEAP)).isEqualTo(64 * 1024);
+        assertThat(size(groupPools, ResourceType.Core.OFFHEAP)).isEqualTo(1024 * 1024);
+        assertThat(groupPools.getResourceTypeSet()).doesNotContain(ResourceType.Core.DISK);
+
+        ResourcePools expensePools = resourcePools(EXPENSE_CACHE);
+        assertThat(size(expensePools, ResourceType.Core.HEAP)).isEqualTo(128 * 1024);
+        assertThat(size(expensePools, ResourceType.Core.OFFHEAP)).isEqualTo(2 * 1024 * 1024);
+        assertThat(size(expensePools, ResourceType.Core.DISK)).isEqualTo(4 * 1024 * 1024);
+        assertThat(expensePools.getPoolForResource(ResourceType.Core.DISK).isPersistent()).isFalse();
+    }
+
+    @Test
+    void shouldKeepEntriesEvictedFromHeapInLowerTiers() {
+        cacheManager = createCacheManager();
+        Cache<Object, Object> cache = cacheManager.getCache(GROUP_CACHE);
+
+        // 500KB of values, far more than the 64KB heap tier
+        for (int i = 0; i < 50; i++) {
+            cache.put(i, value(i));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(cache.get(i)).isEqualTo(value(i));
+        }
+    }
+
+    @Test
+    void shouldKeepPersistentDiskTierAcrossRestarts() {
+        applicationProperties.getCache().getEhcache().setPersistent(true);
+        cacheManager = createCacheManager();
+        cacheManager.getCache(EXPENSE_CACHE).put(1L, value(1));
+        cacheManager.close();
+
+        cacheManager = createCacheManager();
+
+        assertThat(cacheManager.getCache(EXPENSE_CACHE).get(1L)).isEqualTo(value(1));
+    }
+
+    private CacheManager createCacheManager() {
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(new JHipsterProperties(), applicationProperties);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(
+            Map.of("cacheManagerCustomizer", cacheConfiguration.cacheManagerCustomizer())
+        );
+        return cacheConfiguration.jCacheCacheManager(beanFactory.getBeanProvider(JCacheManagerCustomizer.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ResourcePools resourcePools(String cacheName) {
+        Eh107Configuration<Object, Object> configuration = cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class).getResourcePools();
+    }
+
+    private static long size(ResourcePools pools, ResourceType<SizedResourcePool> type) {
+        SizedResourcePool pool = pools.getPoolForResource(type);
+        return ((MemoryUnit) pool.getUnit()).toBytes(pool.getSize());
+    }
+
+    private static String value(int i) {
+        return String.valueOf(i).repeat(10 * 1024 / String.valueOf(i).length());
+    }
+}
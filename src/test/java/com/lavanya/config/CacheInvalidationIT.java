@@ -0,0 +1,122 @@
+package com.lavanya.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lavanya.IntegrationTest;
+import com.lavanya.PassionApp;
+import com.lavanya.domain.User;
+import com.lavanya.domain.UserProfile;
+import com.lavanya.repository.UserProfileRepository;
+import com.lavanya.repository.UserRepository;
+import com.lavanya.service.UserService;
+import com.lavanya.service.dto.AdminUserDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for {@link CacheInvalidationConfiguration}, running a second node in another application context
+ * of the same JVM, on the same database. The test profiles disable the second-level cache, which both nodes enable.
+ */
+@IntegrationTest
+@TestPropertySource(properties = CacheInvalidationIT.SECOND_LEVEL_CACHE)
+class CacheInvalidationIT {
+
+    static final String SECOND_LEVEL_CACHE = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true";
+
+    private static ConfigurableApplicationContext otherNode;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void startOtherNode() {
+        if (otherNode == null) {
+            otherNode = new SpringApplicationBuilder(PassionApp.class, JacksonConfiguration.class, AsyncSyncConfiguration.class)
+                .profiles(environment.getActiveProfiles())
+                .properties(
+                    "server.port=0",
+                    "spring.liquibase.enabled=false",
+                    "spring.datasource.url=" + environment.getProperty("spring.datasource.url"),
+                    "spring.datasource.username=" + environment.getProperty("spring.datasource.username"),
+                    "spring.datasource.password=" + environment.getProperty("spring.datasource.password")
+                )
+                // Command line arguments override the test profile, unlike the default properties above
+                .run("--" + SECOND_LEVEL_CACHE);
+        }
+    }
+
+    @AfterAll
+    public static void stopOtherNode() {
+        if (otherNode != null) {
+            otherNode.close();
+            otherNode = null;
+        }
+    }
+
+    @Test
+    void assertThatUserCacheEvictionReachesOtherNode() {
+        User user = new User();
+        user.setLogin("cache-" + RandomStringUtils.randomAlphanumeric(10).toLowerCase());
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        user = userRepository.saveAndFlush(user);
+
+        UserRepository otherUserRepository = otherNode.getBean(UserRepository.class);
+        CacheManager otherCacheManager = otherNode.getBean(CacheManager.class);
+        assertThat(otherUserRepository.findOneWithAuthoritiesByLogin(user.getLogin())).isPresent();
+        assertThat(otherCacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(user.getLogin())).isNotNull();
+
+        AdminUserDTO userDTO = new AdminUserDTO(user);
+        userDTO.setFirstName("updated");
+        userService.updateUser(userDTO);
+
+        assertThat(otherCacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(user.getLogin())).isNull();
+        assertThat(otherUserRepository.findOneWithAuthoritiesByLogin(user.getLogin()))
+            .get()
+            .extracting(User::getFirstName)
+            .isEqualTo("updated");
+
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void assertThatEntityUpdateEvictsOtherNodeSecondLevelCache() {
+        Long id = userProfileRepository.saveAndFlush(new UserProfile().email("before@localhost")).getId();
+
+        EntityManagerFactory otherEntityManagerFactory = otherNode.getBean(EntityManagerFactory.class);
+        assertThat(otherNode.getBean(UserProfileRepository.class).findById(id)).isPresent();
+        assertThat(otherEntityManagerFactory.getCache().contains(UserProfile.class, id)).isTrue();
+
+        transactionTemplate.executeWithoutResult(status -> userProfileRepository.findById(id).orElseThrow().setEmail("after@localhost"));
+
+        assertThat(otherEntityManagerFactory.getCache().contains(UserProfile.class, id)).isFalse();
+        assertThat(otherNode.getBean(UserProfileRepository.class).findById(id))
+            .get()
+            .extracting(UserProfile::getEmail)
+            .isEqualTo("after@localhost");
+
+        userProfileRepository.deleteById(id);
+    }
+}
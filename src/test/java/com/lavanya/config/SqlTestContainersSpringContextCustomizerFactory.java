@@ -49,7 +49,7 @@ public class SqlTestContainersSpringContextCustomizerFactory implements ContextC
                     testValues = testValues.and(
                         "spring.datasource.url=" +
                         prodTestContainer.getTestContainer().getJdbcUrl() +
-                        "?useUnicode=true&characterEncoding=utf8&useSSL=false&useLegacyDatetimeCode=false&createDatabaseIfNotExist=true"
+                        "?useUnicode=true&characterEncoding=utf8&useSSL=false&useLegacyDatetimeCode=false&createDatabaseIfNotExist=true&useCursorFetch=true&rewriteBatchedStatements=true"
                     );
                     testValues = testValues.and("spring.datasource.username=" + prodTestContainer.getTestContainer().getUsername());
                     testValues = testValues.and("spring.datasource.password=" + prodTestContainer.getTestContainer().getPassword());
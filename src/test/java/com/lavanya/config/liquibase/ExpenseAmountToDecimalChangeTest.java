@@ -0,0 +1,30 @@
+package com.lavanya.config.liquibase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class ExpenseAmountToDecimalChangeTest {
+
+    @Test
+    void shouldParseNumericAmounts() {
+        assertThat(ExpenseAmountToDecimalChange.parse("12")).isEqualTo(new BigDecimal("12.00"));
+        assertThat(ExpenseAmountToDecimalChange.parse(" 12.5 ")).isEqualTo(new BigDecimal("12.50"));
+        assertThat(ExpenseAmountToDecimalChange.parse("-3.456")).isEqualTo(new BigDecimal("-3.46"));
+    }
+
+    @Test
+    void shouldRejectUnparseableAmounts() {
+        assertThat(ExpenseAmountToDecimalChange.parse(null)).isNull();
+        assertThat(ExpenseAmountToDecimalChange.parse("  ")).isNull();
+        assertThat(ExpenseAmountToDecimalChange.parse("over or hastily")).isNull();
+        assertThat(ExpenseAmountToDecimalChange.parse("12,50")).isNull();
+    }
+
+    @Test
+    void shouldRejectAmountsThatDoNotFitTheColumn() {
+        assertThat(ExpenseAmountToDecimalChange.parse("1234567890123456789")).isNotNull();
+        assertThat(ExpenseAmountToDecimalChange.parse("12345678901234567890")).isNull();
+    }
+}
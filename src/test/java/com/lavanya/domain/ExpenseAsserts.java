@@ -1,5 +1,6 @@
 package com.lavanya.domain;
 
+import static com.lavanya.domain.AssertUtils.bigDecimalCompareTo;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ExpenseAsserts {
@@ -47,7 +48,7 @@ public class ExpenseAsserts {
     public static void assertExpenseUpdatableFieldsEquals(Expense expected, Expense actual) {
         assertThat(expected)
             .as("Verify Expense relevant properties")
-            .satisfies(e -> assertThat(e.getAmount()).as("check amount").isEqualTo(actual.getAmount()));
+            .satisfies(e -> assertThat(e.getAmount()).as("check amount").usingComparator(bigDecimalCompareTo).isEqualTo(actual.getAmount()));
     }
 
     /**
@@ -1,7 +1,7 @@
 package com.lavanya.domain;
 
+import java.math.BigDecimal;
 import java.util.Random;
-import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class ExpenseTestSamples {
@@ -10,14 +10,14 @@ public class ExpenseTestSamples {
     private static final AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
 
     public static Expense getExpenseSample1() {
-        return new Expense().id(1L).amount("amount1");
+        return new Expense().id(1L).amount(new BigDecimal("10.50"));
     }
 
     public static Expense getExpenseSample2() {
-        return new Expense().id(2L).amount("amount2");
+        return new Expense().id(2L).amount(new BigDecimal("20.75"));
     }
 
     public static Expense getExpenseRandomSampleGenerator() {
-        return new Expense().id(longCount.incrementAndGet()).amount(UUID.randomUUID().toString());
+        return new Expense().id(longCount.incrementAndGet()).amount(BigDecimal.valueOf(random.nextInt(100000), 2));
     }
 }
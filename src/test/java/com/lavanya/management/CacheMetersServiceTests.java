@@ -0,0 +1,126 @@
+package com.lavanya.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheMetersServiceTests {
+
+    private static final String CHEAP_CACHE = "cheap";
+
+    private static final String EXPENSIVE_CACHE = "expensive";
+
+    private MeterRegistry meterRegistry;
+
+    private CacheManager cacheManager;
+
+    private CacheMetersService cacheMetersService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        cacheManager = cachingProvider.getCacheManager(
+            URI.create("urn:" + CacheMetersServiceTests.class.getName()),
+            new DefaultConfiguration(cachingProvider.getDefaultClassLoader())
+        );
+        for (String name : List.of(CHEAP_CACHE, EXPENSIVE_CACHE)) {
+            cacheManager.createCache(
+                name,
+                Eh107Configuration.fromEhcacheCacheConfiguration(
+                    CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        Object.class,
+                        Object.class,
+                        ResourcePoolsBuilder.newResourcePoolsBuilder().heap(64, MemoryUnit.KB).offheap(1, MemoryUnit.MB)
+                    )
+                )
+            );
+        }
+
+        cacheMetersService = new CacheMetersService(cacheManager, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testMetersAreCreatedPerCache() {
+        for (String name : List.of(CHEAP_CACHE, EXPENSIVE_CACHE)) {
+            meterRegistry.get("cache.gets.latency").tag("cache", name).tag("result", "hit").timer();
+            meterRegistry.get("cache.gets.latency").tag("cache", name).tag("result", "miss").timer();
+            meterRegistry.get("cache.misses.load").tag("cache", name).timer();
+            meterRegistry.get("cache.tier.size").tag("cache", name).tag("tier", "OnHeap").gauge();
+            meterRegistry.get("cache.tier.size").tag("cache", name).tag("tier", "OffHeap").gauge();
+        }
+    }
+
+    @Test
+    void testGetsAreTimedByResult() {
+        Cache<Object, Object> cache = cacheManager.getCache(CHEAP_CACHE);
+        cache.get(1L);
+        cache.put(1L, "one");
+        cache.get(1L);
+        cache.get(1L);
+
+        assertThat(meterRegistry.get("cache.gets.latency").tag("cache", CHEAP_CACHE).tag("result", "miss").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets.latency").tag("cache", CHEAP_CACHE).tag("result", "hit").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.tier.size").tag("cache", CHEAP_CACHE).tag("tier", "OnHeap").gauge().value()).isPositive();
+    }
+
+    @Test
+    void testMissLoadIsTimedFromMissToPut() throws InterruptedException {
+        Cache<Object, Object> cache = cacheManager.getCache(EXPENSIVE_CACHE);
+        cache.get(1L);
+        Thread.sleep(20);
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+
+        assertThat(meterRegistry.get("cache.misses.load").tag("cache", EXPENSIVE_CACHE).timer().count()).isEqualTo(1);
+        assertThat(
+            meterRegistry.get("cache.misses.load").tag("cache", EXPENSIVE_CACHE).timer().totalTime(TimeUnit.MILLISECONDS)
+        ).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void testCacheStatsAreRankedByMissCost() throws InterruptedException {
+        Cache<Object, Object> cheap = cacheManager.getCache(CHEAP_CACHE);
+        cheap.get(1L);
+        cheap.put(1L, "one");
+        cheap.get(1L);
+        Cache<Object, Object> expensive = cacheManager.getCache(EXPENSIVE_CACHE);
+        expensive.get(1L);
+        Thread.sleep(20);
+        expensive.put(1L, "one");
+
+        List<CacheMetersService.CacheStats> stats = cacheMetersService.getCacheStats();
+
+        assertThat(stats).extracting(CacheMetersService.CacheStats::name).containsExactly(EXPENSIVE_CACHE, CHEAP_CACHE);
+        CacheMetersService.CacheStats cheapStats = stats.get(1);
+        assertThat(cheapStats.hits()).isEqualTo(1);
+        assertThat(cheapStats.misses()).isEqualTo(1);
+        assertThat(cheapStats.hitRatio()).isEqualTo(0.5);
+        assertThat(cheapStats.puts()).isEqualTo(1);
+        assertThat(cheapStats.tierSizes()).containsKeys("OnHeap", "OffHeap");
+        assertThat(stats.get(0).missCostMillis()).isGreaterThanOrEqualTo(20);
+    }
+}
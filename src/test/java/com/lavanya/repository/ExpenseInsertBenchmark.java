@@ -0,0 +1,140 @@
+package com.lavanya.repository;
+
+import com.lavanya.domain.Expense;
+import com.lavanya.domain.Group;
+import com.lavanya.domain.UserProfile;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * JMH benchmark of {@link ExpenseRepositoryWithBulkInsertImpl#insertAll}, creating {@link #ROWS} expenses in chunks of
+ * {@code chunkSize}, each in its own transaction as the expense import does.
+ * <p>
+ * With {@code pooled} ids, the mapping of {@link Expense}, one {@code id_generator} update reserves 50 ids and the
+ * inserts of a chunk are sent as one JDBC batch. With {@code identity} ids, mapped by {@value #IDENTITY_MAPPING},
+ * Hibernate executes each insert as it is persisted to read the generated key back. The scores are rows per second
+ * against an in-memory H2 database: they include the work of Hibernate, but none of the network round trips that
+ * batching saves on a database server.
+ * <p>
+ * Run it from the IDE, or with the test classpath of the dev profile: {@code java -cp <test classpath> com.lavanya.repository.ExpenseInsertBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ExpenseInsertBenchmark.ROWS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpenseInsertBenchmark {
+
+    static final int ROWS = 1000;
+
+    private static final String IDENTITY_MAPPING = "com/lavanya/repository/expense-identity-orm.xml";
+
+    @Param({ "pooled", "identity" })
+    private String ids;
+
+    /**
+     * Number of expenses per transaction: {@code hibernate.jdbc.batch_size}, and the chunk size of the expense import.
+     */
+    @Param({ "25", "500" })
+    private int chunkSize;
+
+    private LocalContainerEntityManagerFactoryBean entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ExpenseRepositoryWithBulkInsertImpl repository;
+
+    private Long userId;
+
+    private Long groupId;
+
+    @Setup
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:expense-insert-benchmark;DB_CLOSE_DELAY=-1;MODE=MYSQL");
+        entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactory.setDataSource(dataSource);
+        entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactory.setManagedTypes(
+            PersistenceManagedTypes.of(Expense.class.getName(), Group.class.getName(), UserProfile.class.getName())
+        );
+        if ("identity".equals(ids)) {
+            entityManagerFactory.setMappingResources(IDENTITY_MAPPING);
+        }
+        entityManagerFactory.setJpaPropertyMap(
+            Map.of(
+                AvailableSettings.HBM2DDL_AUTO,
+                "create",
+                AvailableSettings.STATEMENT_BATCH_SIZE,
+                "25",
+                AvailableSettings.ORDER_INSERTS,
+                "true",
+                AvailableSettings.USE_SECOND_LEVEL_CACHE,
+                "false"
+            )
+        );
+        entityManagerFactory.afterPropertiesSet();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject());
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory.getObject()));
+        repository = new ExpenseRepositoryWithBulkInsertImpl();
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            UserProfile user = new UserProfile().email("benchmark@localhost");
+            entityManager.persist(user);
+            Group group = new Group().name("benchmark").addMembers(user);
+            entityManager.persist(group);
+            userId = user.getId();
+            groupId = group.getId();
+        });
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        transactionTemplate.executeWithoutResult(status -> entityManager.createQuery("delete from Expense").executeUpdate());
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.destroy();
+    }
+
+    @Benchmark
+    public int insertAll() {
+        int inserted = 0;
+        for (int first = 0; first < ROWS; first += chunkSize) {
+            List<Expense> chunk = new ArrayList<>(chunkSize);
+            for (int row = first; row < Math.min(first + chunkSize, ROWS); row++) {
+                Expense expense = new Expense().amount(BigDecimal.valueOf(row % 10_000, 2));
+                chunk.add(expense.user(new UserProfile().id(userId)).group(new Group().id(groupId)));
+            }
+            inserted += transactionTemplate.execute(status -> repository.insertAll(chunk));
+        }
+        return inserted;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExpenseInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
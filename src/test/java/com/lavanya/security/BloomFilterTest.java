@@ -0,0 +1,37 @@
+package com.lavanya.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link BloomFilter}.
+ */
+class BloomFilterTest {
+
+    @Test
+    void shouldContainEveryValuePut() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user-" + i));
+
+        assertThat(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("user-" + i))).isTrue();
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateWhenSizedForValuesPut() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user-" + i + "@localhost"));
+
+        long falsePositives = IntStream.range(0, 100_000).filter(i -> filter.mightContain("unknown-" + i)).count();
+        assertThat(falsePositives).isLessThan(1_500);
+    }
+
+    @Test
+    void shouldContainNothingWhenEmpty() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        assertThat(filter.mightContain("admin")).isFalse();
+        assertThat(filter.mightContain("")).isFalse();
+    }
+}
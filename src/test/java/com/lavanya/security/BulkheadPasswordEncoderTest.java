@@ -0,0 +1,117 @@
+package com.lavanya.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.lavanya.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test class for the {@link BulkheadPasswordEncoder}.
+ */
+class BulkheadPasswordEncoderTest {
+
+    private MeterRegistry meterRegistry;
+
+    private SecurityMetersService metersService;
+
+    private CountDownLatch started;
+
+    private CountDownLatch release;
+
+    private BulkheadPasswordEncoder encoder;
+
+    /**
+     * Encodes passwords by reversing them, blocking until released.
+     */
+    private final PasswordEncoder delegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new StringBuilder(rawPassword).reverse().toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (rawPassword.isEmpty()) {
+                throw new IllegalArgumentException("Empty password");
+            }
+            return new StringBuilder(rawPassword).reverse().toString().equals(encodedPassword);
+        }
+    };
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        metersService = new SecurityMetersService(meterRegistry);
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void cleanup() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    void shouldHashOnPool() {
+        release.countDown();
+        encoder = new BulkheadPasswordEncoder(delegate, 1, 1, metersService);
+
+        assertThat(encoder.encode("secret")).isEqualTo("terces");
+        assertThat(encoder.matches("secret", "terces")).isTrue();
+        assertThat(encoder.matches("secret", "secret")).isFalse();
+
+        assertThat(
+            meterRegistry.get(SecurityMetersService.PASSWORD_HASHING_METER_NAME).tag("operation", "encode").timer().count()
+        ).isEqualTo(1);
+        assertThat(
+            meterRegistry.get(SecurityMetersService.PASSWORD_HASHING_WAIT_METER_NAME).tag("operation", "matches").timer().count()
+        ).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRethrowFailure() {
+        encoder = new BulkheadPasswordEncoder(delegate, 1, 1, metersService);
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> encoder.matches("", "")).withMessage("Empty password");
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        encoder = new BulkheadPasswordEncoder(delegate, 1, 1, metersService);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (encoder.queueSize() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(meterRegistry.get(SecurityMetersService.PASSWORD_HASHING_QUEUE_METER_NAME).gauge().value()).isEqualTo(1);
+
+        assertThatExceptionOfType(PasswordHashingRejectedException.class).isThrownBy(() -> encoder.encode("third"));
+        assertThat(
+            meterRegistry.get(SecurityMetersService.PASSWORD_HASHING_REJECTED_METER_NAME).tag("operation", "encode").counter().count()
+        ).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("tsrif");
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("dnoces");
+    }
+}
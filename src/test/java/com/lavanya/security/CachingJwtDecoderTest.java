@@ -0,0 +1,139 @@
+package com.lavanya.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.lavanya.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Test class for the {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T10:00:00Z");
+
+    private MeterRegistry meterRegistry;
+
+    private SecurityMetersService metersService;
+
+    private AtomicInteger decodes;
+
+    private JwtDecoder delegate;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        metersService = new SecurityMetersService(meterRegistry);
+        decodes = new AtomicInteger();
+        delegate = token -> {
+            decodes.incrementAndGet();
+            if (token.startsWith("invalid")) {
+                throw new BadJwtException("Invalid signature");
+            }
+            return Jwt.withTokenValue(token)
+                .header("alg", "HS512")
+                .subject(token)
+                .issuedAt(NOW.minusSeconds(60))
+                .expiresAt(NOW.plusSeconds(60))
+                .build();
+        };
+    }
+
+    @Test
+    void shouldDecodeEachTokenOnce() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, Clock.fixed(NOW, ZoneOffset.UTC), metersService);
+
+        Jwt first = decoder.decode("token-1");
+        Jwt second = decoder.decode("token-1");
+        decoder.decode("token-2");
+
+        assertThat(second).isSameAs(first);
+        assertThat(decodes.get()).isEqualTo(2);
+        assertThat(meterRegistry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME).tag("result", "miss").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(SecurityMetersService.TOKEN_CACHE_HIT_RATIO_METER_NAME).gauge().value()).isEqualTo(1.0 / 3);
+    }
+
+    @Test
+    void shouldDecodeTokenAgainOnceExpired() {
+        MutableClock clock = new MutableClock(NOW);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, clock, metersService);
+
+        decoder.decode("token-1");
+        clock.instant = NOW.plus(Duration.ofSeconds(60));
+        decoder.decode("token-1");
+
+        assertThat(decodes.get()).isEqualTo(2);
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheInvalidTokens() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, Clock.fixed(NOW, ZoneOffset.UTC), metersService);
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("invalid-token"));
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode("invalid-token"));
+
+        assertThat(decodes.get()).isEqualTo(2);
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void shouldStayWithinMaximumSize() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100, Clock.fixed(NOW, ZoneOffset.UTC), metersService);
+
+        for (int i = 0; i < 1_000; i++) {
+            decoder.decode("token-" + i);
+        }
+
+        assertThat(decoder.size()).isBetween(1, 100);
+        decoder.decode("token-999");
+        assertThat(decodes.get()).isEqualTo(1_000);
+    }
+
+    @Test
+    void shouldNotCacheWhenMaximumSizeIsZero() {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 0, Clock.fixed(NOW, ZoneOffset.UTC), metersService);
+
+        decoder.decode("token-1");
+        decoder.decode("token-1");
+
+        assertThat(decodes.get()).isEqualTo(2);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
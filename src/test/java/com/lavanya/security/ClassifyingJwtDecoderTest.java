@@ -0,0 +1,137 @@
+package com.lavanya.security;
+
+import static com.lavanya.security.SecurityUtils.AUTHORITIES_KEY;
+import static com.lavanya.security.SecurityUtils.JWT_ALGORITHM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.lavanya.management.SecurityMetersService;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+/**
+ * Test class for the {@link ClassifyingJwtDecoder}.
+ */
+class ClassifyingJwtDecoderTest {
+
+    private static final SecretKey KEY = key("a-secret-key-long-enough-to-sign-tokens-with-the-hmac-sha-512-algorithm");
+
+    private MeterRegistry meterRegistry;
+
+    private ClassifyingJwtDecoder decoder;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        NimbusJwtDecoder delegate = NimbusJwtDecoder.withSecretKey(KEY).macAlgorithm(JWT_ALGORITHM).build();
+        delegate.setJwtValidator(jwt -> OAuth2TokenValidatorResult.success());
+        decoder = new ClassifyingJwtDecoder(delegate, new JwtTimestampValidator(), new SecurityMetersService(meterRegistry));
+    }
+
+    private static SecretKey key(String secret) {
+        return new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), JWT_ALGORITHM.getName());
+    }
+
+    private static String token(SecretKey key, Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+            .subject("user")
+            .issuedAt(expiresAt.minusSeconds(3600))
+            .expiresAt(expiresAt)
+            .claim(AUTHORITIES_KEY, "ROLE_USER")
+            .build();
+        return new NimbusJwtEncoder(new ImmutableSecret<>(key))
+            .encode(JwtEncoderParameters.from(JwsHeader.with(JWT_ALGORITHM).build(), claims))
+            .getTokenValue();
+    }
+
+    private double invalidTokens(String cause) {
+        return meterRegistry.get(SecurityMetersService.INVALID_TOKENS_METER_NAME).tag("cause", cause).counter().count();
+    }
+
+    private long decodes(String outcome) {
+        return meterRegistry.get(SecurityMetersService.TOKEN_DECODE_METER_NAME).tag("outcome", outcome).timer().count();
+    }
+
+    @Test
+    void shouldDecodeValidToken() {
+        Jwt jwt = decoder.decode(token(KEY, Instant.now().plusSeconds(600)));
+
+        assertThat(jwt.getSubject()).isEqualTo("user");
+        assertThat(decodes(SecurityMetersService.TOKEN_VALID)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectMalformedTokenBeforeParsing() {
+        String token = token(KEY, Instant.now().plusSeconds(600));
+
+        for (String malformed : List.of("", "a.b", "a.b.c.d", ".b.c", "a..c", "a.b.", token.substring(1), token + "=", "{}.e30.c")) {
+            assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode(malformed)).withMessage("Malformed token");
+        }
+        assertThat(ClassifyingJwtDecoder.isWellFormed("x".repeat(ClassifyingJwtDecoder.MAX_TOKEN_LENGTH) + ".b.c")).isFalse();
+
+        assertThat(invalidTokens(SecurityMetersService.TOKEN_MALFORMED)).isEqualTo(9);
+        assertThat(decodes(SecurityMetersService.TOKEN_MALFORMED)).isEqualTo(9);
+    }
+
+    @Test
+    void shouldClassifyUnparsableTokenAsMalformed() {
+        String header = Base64.getUrlEncoder().withoutPadding().encodeToString("{\"alg\":".getBytes(StandardCharsets.UTF_8));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode(header + ".e30.c2ln"));
+
+        assertThat(invalidTokens(SecurityMetersService.TOKEN_MALFORMED)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldClassifyInvalidSignature() {
+        SecretKey otherKey = key("another-secret-key-long-enough-to-sign-tokens-with-the-hmac-sha-512-algorithm");
+        String token = token(otherKey, Instant.now().plusSeconds(600));
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode(token));
+
+        assertThat(invalidTokens(SecurityMetersService.TOKEN_INVALID_SIGNATURE)).isEqualTo(1);
+        assertThat(decodes(SecurityMetersService.TOKEN_INVALID_SIGNATURE)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldClassifyOtherAlgorithmAsUnsupported() {
+        JwtClaimsSet claims = JwtClaimsSet.builder().subject("user").expiresAt(Instant.now().plusSeconds(600)).build();
+        String token = new NimbusJwtEncoder(new ImmutableSecret<>(KEY))
+            .encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+            .getTokenValue();
+
+        assertThatExceptionOfType(BadJwtException.class).isThrownBy(() -> decoder.decode(token));
+
+        assertThat(invalidTokens(SecurityMetersService.TOKEN_UNSUPPORTED)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldClassifyExpiredToken() {
+        String token = token(KEY, Instant.now().minusSeconds(600));
+
+        assertThatExceptionOfType(JwtValidationException.class).isThrownBy(() -> decoder.decode(token));
+
+        assertThat(invalidTokens(SecurityMetersService.TOKEN_EXPIRED)).isEqualTo(1);
+        assertThat(decodes(SecurityMetersService.TOKEN_EXPIRED)).isEqualTo(1);
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -37,6 +38,9 @@ class DomainUserDetailsServiceIT {
     @Qualifier("userDetailsService")
     private UserDetailsService domainUserDetailsService;
 
+    @Autowired
+    private KnownLogins knownLogins;
+
     @BeforeEach
     public void init() {
         User userOne = new User();
@@ -111,4 +115,27 @@ class DomainUserDetailsServiceIT {
             () -> domainUserDetailsService.loadUserByUsername(USER_THREE_LOGIN)
         );
     }
+
+    @Test
+    void assertThatUnknownUserIsRejectedWithoutQuery() {
+        assertThat(knownLogins.mightExist("test-user-unknown")).isFalse();
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(
+            () -> domainUserDetailsService.loadUserByUsername("test-user-unknown")
+        );
+    }
+
+    @Test
+    void assertThatUnknownUserCanBeFoundOnceCreated() {
+        String login = "test-user-" + RandomStringUtils.randomAlphanumeric(10).toLowerCase(Locale.ENGLISH);
+        knownLogins.markUnknown(login);
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() -> domainUserDetailsService.loadUserByUsername(login));
+
+        User user = new User();
+        user.setLogin(login);
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        userRepository.save(user);
+
+        assertThat(domainUserDetailsService.loadUserByUsername(login).getUsername()).isEqualTo(login);
+    }
 }
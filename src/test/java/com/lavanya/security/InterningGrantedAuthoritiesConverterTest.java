@@ -0,0 +1,48 @@
+package com.lavanya.security;
+
+import static com.lavanya.security.SecurityUtils.AUTHORITIES_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Test class for the {@link InterningGrantedAuthoritiesConverter}.
+ */
+class InterningGrantedAuthoritiesConverterTest {
+
+    private final InterningGrantedAuthoritiesConverter converter = new InterningGrantedAuthoritiesConverter();
+
+    private static Jwt jwt(Object authorities) {
+        Jwt.Builder builder = Jwt.withTokenValue("token").header("alg", "HS512").subject("user");
+        return authorities == null ? builder.build() : builder.claim(AUTHORITIES_KEY, authorities).build();
+    }
+
+    @Test
+    void shouldShareAuthoritiesOfSameClaim() {
+        var first = converter.convert(jwt("ROLE_ADMIN ROLE_USER"));
+        var second = converter.convert(jwt(List.of("ROLE_ADMIN", "ROLE_USER")));
+
+        assertThat(first).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN", "ROLE_USER");
+        assertThat(second).isSameAs(first);
+        assertThat(converter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnNoAuthorityWithoutClaim() {
+        assertThat(converter.convert(jwt(null))).isEmpty();
+        assertThat(converter.convert(jwt(""))).isEmpty();
+    }
+
+    @Test
+    void shouldBoundInternedClaims() {
+        for (int i = 0; i <= InterningGrantedAuthoritiesConverter.MAX_INTERNED; i++) {
+            converter.convert(jwt("ROLE_" + i));
+        }
+
+        assertThat(converter.size()).isEqualTo(InterningGrantedAuthoritiesConverter.MAX_INTERNED);
+        assertThat(converter.convert(jwt("ROLE_OTHER"))).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_OTHER");
+    }
+}
@@ -0,0 +1,55 @@
+package com.lavanya.security;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * JMH benchmark of the candidate password encoders, to compare with the strength picked by
+ * {@link PasswordHashCalibration} on the same hardware: BCrypt over a range of strengths, and PBKDF2 with the
+ * parameters recommended by Spring Security. SCrypt and Argon2 would need Bouncy Castle.
+ * <p>
+ * Run it from the IDE, or with the test classpath: {@code java -cp <test classpath> com.lavanya.security.PasswordEncoderBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    @Param({ "bcrypt-10", "bcrypt-11", "bcrypt-12", "bcrypt-13", "pbkdf2" })
+    private String encoder;
+
+    private PasswordEncoder passwordEncoder;
+
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = encoder.startsWith("bcrypt-")
+            ? new BCryptPasswordEncoder(Integer.parseInt(encoder.substring("bcrypt-".length())))
+            : Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        encodedPassword = passwordEncoder.encode("benchmark-password");
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("benchmark-password");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("benchmark-password", encodedPassword);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PasswordEncoderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,34 @@
+package com.lavanya.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link PasswordHashCalibration}.
+ */
+class PasswordHashCalibrationTest {
+
+    @Test
+    void shouldDoubleLatencyPerStrength() {
+        assertThat(PasswordHashCalibration.strength(Duration.ofMillis(250), 10, Duration.ofMillis(60))).isEqualTo(12);
+        assertThat(PasswordHashCalibration.strength(Duration.ofMillis(250), 10, Duration.ofMillis(15))).isEqualTo(14);
+        assertThat(PasswordHashCalibration.strength(Duration.ofMillis(230), 10, Duration.ofMillis(60))).isEqualTo(11);
+    }
+
+    @Test
+    void shouldKeepMinimumStrengthOnSlowHardware() {
+        assertThat(PasswordHashCalibration.strength(Duration.ofMillis(250), 10, Duration.ofSeconds(1))).isEqualTo(10);
+    }
+
+    @Test
+    void shouldNotExceedMaximumStrength() {
+        assertThat(PasswordHashCalibration.strength(Duration.ofHours(1), 4, Duration.ZERO)).isEqualTo(PasswordHashCalibration.MAX_STRENGTH);
+    }
+
+    @Test
+    void shouldCalibrateOnCurrentHardware() {
+        assertThat(PasswordHashCalibration.calibrateBCrypt(Duration.ofMillis(1), 4)).isBetween(4, 6);
+    }
+}
@@ -0,0 +1,121 @@
+package com.lavanya.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.lavanya.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link TokenBucketRateLimiter}.
+ */
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private MeterRegistry meterRegistry;
+
+    private SecurityMetersService metersService;
+
+    private AtomicLong now;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        metersService = new SecurityMetersService(meterRegistry);
+        // Close to overflowing, like System.nanoTime can be
+        now = new AtomicLong(Long.MAX_VALUE - 30 * SECOND);
+    }
+
+    private TokenBucketRateLimiter rateLimiter(int maximumSize) {
+        return new TokenBucketRateLimiter("address", 3, Duration.ofSeconds(6), maximumSize, now::get, metersService);
+    }
+
+    private double rateLimitCount(String result) {
+        return meterRegistry
+            .get(SecurityMetersService.RATE_LIMIT_METER_NAME)
+            .tags(SecurityMetersService.RATE_LIMIT_KEY_CLASS_DIMENSION, "address", SecurityMetersService.RATE_LIMIT_RESULT_DIMENSION, result)
+            .counter()
+            .count();
+    }
+
+    @Test
+    void shouldAllowBurstThenRefill() {
+        TokenBucketRateLimiter rateLimiter = rateLimiter(10);
+
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isEqualTo(2 * SECOND);
+        assertThat(rateLimiter.tryAcquire("b")).isZero();
+
+        now.addAndGet(SECOND);
+        assertThat(rateLimiter.tryAcquire("a")).isEqualTo(SECOND);
+        now.addAndGet(SECOND);
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isEqualTo(2 * SECOND);
+
+        now.addAndGet(20 * SECOND);
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire("a")).isZero();
+        }
+    }
+
+    @Test
+    void shouldRejectWithRetryAfter() {
+        TokenBucketRateLimiter rateLimiter = rateLimiter(10);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire("a");
+        }
+
+        assertThatExceptionOfType(RateLimitExceededException.class)
+            .isThrownBy(() -> rateLimiter.acquire("a"))
+            .satisfies(e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(2)));
+
+        assertThat(rateLimitCount("allowed")).isEqualTo(3);
+        assertThat(rateLimitCount("rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldForgetFullBucketsFirst() {
+        TokenBucketRateLimiter rateLimiter = rateLimiter(10);
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.tryAcquire("key-" + i);
+        }
+        now.addAndGet(3 * SECOND);
+        rateLimiter.tryAcquire("key-0");
+        rateLimiter.tryAcquire("key-0");
+
+        rateLimiter.tryAcquire("other");
+
+        assertThat(rateLimiter.size()).isEqualTo(2);
+        assertThat(meterRegistry.get(SecurityMetersService.RATE_LIMIT_KEYS_METER_NAME).tag("key-class", "address").gauge().value())
+            .isEqualTo(2);
+        assertThat(rateLimiter.tryAcquire("key-0")).isZero();
+        assertThat(rateLimiter.tryAcquire("key-0")).isEqualTo(2 * SECOND);
+    }
+
+    @Test
+    void shouldRejectNewKeysUntilABucketIsFull() {
+        TokenBucketRateLimiter rateLimiter = rateLimiter(2);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("a");
+        }
+        rateLimiter.tryAcquire("b");
+
+        assertThat(rateLimiter.tryAcquire("c")).isEqualTo(2 * SECOND);
+        assertThat(rateLimiter.tryAcquire("d")).isEqualTo(2 * SECOND);
+        assertThat(rateLimiter.tryAcquire("a")).isEqualTo(2 * SECOND);
+
+        now.addAndGet(2 * SECOND);
+        assertThat(rateLimiter.tryAcquire("c")).isZero();
+        assertThat(rateLimiter.size()).isEqualTo(2);
+        assertThat(rateLimiter.tryAcquire("a")).isZero();
+        assertThat(rateLimiter.tryAcquire("a")).isEqualTo(2 * SECOND);
+    }
+}
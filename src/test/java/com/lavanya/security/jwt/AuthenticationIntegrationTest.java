@@ -1,9 +1,11 @@
 package com.lavanya.security.jwt;
 
+import com.lavanya.config.ApplicationProperties;
 import com.lavanya.config.SecurityConfiguration;
 import com.lavanya.config.SecurityJwtConfiguration;
 import com.lavanya.config.WebConfigurer;
 import com.lavanya.management.SecurityMetersService;
+import com.lavanya.security.AuthenticationRateLimiter;
 import com.lavanya.web.rest.AuthenticateController;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -21,11 +23,13 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
         SecurityMetersService.class,
         AuthenticateController.class,
+        AuthenticationRateLimiter.class,
         JwtAuthenticationTestUtils.class,
     }
 )
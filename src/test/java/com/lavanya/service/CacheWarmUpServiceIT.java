@@ -0,0 +1,89 @@
+package com.lavanya.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lavanya.IntegrationTest;
+import com.lavanya.domain.Authority;
+import com.lavanya.domain.Group;
+import com.lavanya.domain.User;
+import com.lavanya.repository.AuthorityRepository;
+import com.lavanya.repository.GroupRepository;
+import com.lavanya.repository.UserRepository;
+import com.lavanya.security.AuthoritiesConstants;
+import java.util.Set;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}.
+ */
+@IntegrationTest
+class CacheWarmUpServiceIT {
+
+    @Autowired
+    private CacheWarmUpService cacheWarmUpService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+
+    private Group group;
+
+    @BeforeEach
+    public void init() {
+        // Other tests may have deleted the default users
+        String login = "warm-up-" + RandomStringUtils.randomAlphanumeric(10).toLowerCase();
+        user = new User();
+        user.setLogin(login);
+        user.setEmail(login + "@localhost");
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        user.setAuthorities(Set.of(authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow()));
+        user = userRepository.saveAndFlush(user);
+        group = groupRepository.saveAndFlush(new Group().name("warm-up"));
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        userRepository.deleteById(user.getId());
+        groupRepository.deleteById(group.getId());
+        cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).clear();
+        cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).clear();
+    }
+
+    @Test
+    void assertThatUsersArePreloaded() {
+        assertThat(cacheWarmUpService.preloadUsers(Integer.MAX_VALUE)).isEqualTo(userRepository.count());
+        User byLogin = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get(user.getLogin(), User.class);
+        assertThat(byLogin).isNotNull();
+        assertThat(byLogin.getAuthorities()).extracting(Authority::getName).containsExactly(AuthoritiesConstants.USER);
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE).get(user.getEmail(), User.class)).isNotNull();
+    }
+
+    @Test
+    void assertThatPreloadIsLimited() {
+        assertThat(cacheWarmUpService.preloadUsers(1)).isEqualTo(1);
+    }
+
+    @Test
+    void assertThatGroupIdsAreSelected() {
+        assertThat(cacheWarmUpService.findGroupIds(Integer.MAX_VALUE)).hasSize((int) groupRepository.count()).contains(group.getId());
+        assertThat(cacheWarmUpService.findGroupIds(1)).hasSize(1);
+    }
+}
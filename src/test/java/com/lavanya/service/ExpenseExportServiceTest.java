@@ -0,0 +1,64 @@
+package com.lavanya.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lavanya.repository.ExpenseRepository;
+import com.lavanya.repository.ExpenseRepository.ExpenseRow;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ExpenseExportService}.
+ */
+class ExpenseExportServiceTest {
+
+    private ExpenseRepository expenseRepository;
+
+    private ExpenseExportService expenseExportService;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        expenseRepository = mock(ExpenseRepository.class);
+        when(expenseRepository.streamAllForExport()).thenAnswer(invocation ->
+            Stream.of(
+                new ExpenseRow(1L, new BigDecimal("10.50"), 2L, 3L),
+                new ExpenseRow(4L, new BigDecimal("1E+2"), null, null)
+            ).onClose(() -> closed.set(true))
+        );
+        expenseExportService = new ExpenseExportService(expenseRepository, new ObjectMapper());
+    }
+
+    @Test
+    void shouldExportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = expenseExportService.export(ExpenseFileFormat.NDJSON, out);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "{\"id\":1,\"amount\":10.50,\"userId\":2,\"groupId\":3}\n" + "{\"id\":4,\"amount\":100,\"userId\":null,\"groupId\":null}\n"
+        );
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void shouldExportCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = expenseExportService.export(ExpenseFileFormat.CSV, out);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("id,amount,user_id,group_id\n" + "1,10.50,2,3\n" + "4,100,,\n");
+        assertThat(closed).isTrue();
+    }
+}
@@ -0,0 +1,105 @@
+package com.lavanya.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lavanya.repository.ExpenseRepository;
+import com.lavanya.repository.GroupRepository;
+import com.lavanya.repository.UserProfileRepository;
+import com.lavanya.service.ExpenseImportService.Line;
+import com.lavanya.service.ExpenseImportService.ParsedChunk;
+import com.lavanya.service.ExpenseImportService.Row;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Unit tests for the parsing and validation of {@link ExpenseImportService}.
+ */
+class ExpenseImportServiceTest {
+
+    private ExpenseImportService expenseImportService;
+
+    @BeforeEach
+    void setUp() {
+        expenseImportService = new ExpenseImportService(
+            mock(ExpenseRepository.class),
+            mock(UserProfileRepository.class),
+            mock(GroupRepository.class),
+            mock(GroupMemberBalanceService.class),
+            mock(PlatformTransactionManager.class),
+            new ObjectMapper()
+        );
+    }
+
+    @Test
+    void shouldParseJsonRows() {
+        assertThat(expenseImportService.parseJson(new Line(1, "{\"amount\":10.5,\"userId\":2,\"groupId\":\"3\"}"))).isEqualTo(
+            new Row(1, new BigDecimal("10.50"), 2L, 3L)
+        );
+        assertThat(expenseImportService.parseJson(new Line(2, "{\"amount\":\"0.10\"}"))).isEqualTo(new Row(2, new BigDecimal("0.10"), null, null));
+    }
+
+    @Test
+    void shouldRejectInvalidJsonRows() {
+        assertThatIllegalArgumentException().isThrownBy(() -> expenseImportService.parseJson(new Line(1, "{"))).withMessage("invalid JSON");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> expenseImportService.parseJson(new Line(1, "[1]")))
+            .withMessage("expected a JSON object");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> expenseImportService.parseJson(new Line(1, "{\"userId\":1}")))
+            .withMessage("amount is required");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> expenseImportService.parseJson(new Line(1, "{\"amount\":1.001}")))
+            .withMessage("amount must not have more than 2 decimals");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> expenseImportService.parseJson(new Line(1, "{\"amount\":1e20}")))
+            .withMessage("amount is too large");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> expenseImportService.parseJson(new Line(1, "{\"amount\":1,\"groupId\":-1}")))
+            .withMessage("groupId is not an id");
+    }
+
+    @Test
+    void shouldParseCsvColumnsByName() {
+        Function<Line, Row> parser = ExpenseImportService.csvParser("group_id,\"AMOUNT\",id");
+
+        assertThat(parser.apply(new Line(2, "7, 12 ,"))).isEqualTo(new Row(2, new BigDecimal("12.00"), null, 7L));
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> parser.apply(new Line(3, "7,12")))
+            .withMessage("expected 3 columns, got 2");
+        assertThatIllegalArgumentException().isThrownBy(() -> parser.apply(new Line(4, ",x,"))).withMessage("amount is not a number");
+    }
+
+    @Test
+    void shouldRequireAmountCsvColumn() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ExpenseImportService.csvParser("id,user_id"));
+    }
+
+    @Test
+    void shouldCollectErrorsOfChunk() {
+        ParsedChunk chunk = ExpenseImportService.parseChunk(
+            List.of(new Line(1, "{\"amount\":1}"), new Line(3, "{}")),
+            expenseImportService::parseJson
+        );
+
+        assertThat(chunk.rows()).containsExactly(new Row(1, new BigDecimal("1.00"), null, null));
+        assertThat(chunk.errors()).hasSize(1);
+        assertThat(chunk.errors().get(0).getLine()).isEqualTo(3);
+        assertThat(chunk.errors().get(0).getMessage()).isEqualTo("amount is required");
+    }
+
+    @Test
+    void shouldResolveFileFormats() {
+        assertThat(ExpenseFileFormat.fromValue("CSV")).contains(ExpenseFileFormat.CSV);
+        assertThat(ExpenseFileFormat.fromValue("xml")).isEmpty();
+        assertThat(ExpenseFileFormat.fromContentType("text/csv; charset=UTF-8")).contains(ExpenseFileFormat.CSV);
+        assertThat(ExpenseFileFormat.fromContentType("application/x-ndjson")).contains(ExpenseFileFormat.NDJSON);
+        assertThat(ExpenseFileFormat.fromContentType("application/json")).isEmpty();
+    }
+}
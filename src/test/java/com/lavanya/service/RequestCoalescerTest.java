@@ -0,0 +1,171 @@
+package com.lavanya.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import com.lavanya.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Test class for the {@link RequestCoalescer}.
+ */
+class RequestCoalescerTest {
+
+    private MeterRegistry meterRegistry;
+
+    private RequestCoalescer requestCoalescer;
+
+    private AtomicInteger reads;
+
+    private CountDownLatch started;
+
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(meterRegistry);
+        reads = new AtomicInteger();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void cleanup() {
+        release.countDown();
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * A read blocking until released, returning the number of reads executed.
+     */
+    private Supplier<Integer> blockingRead() {
+        return () -> {
+            int read = reads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return read;
+        };
+    }
+
+    private CompletableFuture<Integer> executeInBackground(String operation, Object request, String... authorities) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (authorities.length > 0) {
+                SecurityContextHolder.getContext()
+                    .setAuthentication(
+                        new UsernamePasswordAuthenticationToken(
+                            "user",
+                            "user",
+                            List.of(authorities).stream().map(SimpleGrantedAuthority::new).toList()
+                        )
+                    );
+            }
+            try {
+                return requestCoalescer.execute(operation, request, blockingRead());
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        });
+    }
+
+    @Test
+    void testIdenticalReadsShareResult() throws Exception {
+        CompletableFuture<Integer> first = executeInBackground("groups", List.of(1));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> requestCoalescer.execute("groups", List.of(1), () -> -1));
+        await(() -> meterRegistry.get("request.coalescing").tag("result", "shared").counter().count() == 1);
+        release.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(meterRegistry.get("request.coalescing").tag("result", "executed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("request.coalescing.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void testDifferentReadsAreNotShared() throws Exception {
+        CompletableFuture<Integer> first = executeInBackground("groups", List.of(1), AuthoritiesConstants.USER);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(requestCoalescer.execute("groups", List.of(2), () -> -1)).isEqualTo(-1);
+        assertThat(requestCoalescer.execute("expenses", List.of(1), () -> -1)).isEqualTo(-1);
+        SecurityContextHolder.getContext()
+            .setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin", "admin", List.of(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)))
+            );
+        assertThat(requestCoalescer.execute("groups", List.of(1), () -> -1)).isEqualTo(-1);
+
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    @Test
+    void testForgottenReadIsNotShared() throws Exception {
+        CompletableFuture<Integer> first = executeInBackground("groups", List.of(1));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        requestCoalescer.forget("groups");
+
+        assertThat(requestCoalescer.execute("groups", List.of(1), () -> -1)).isEqualTo(-1);
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    @Test
+    void testFailureIsShared() throws Exception {
+        CountDownLatch failing = new CountDownLatch(1);
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() ->
+            requestCoalescer.execute("groups", List.of(1), () -> {
+                started.countDown();
+                try {
+                    failing.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException("failed");
+            })
+        );
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> requestCoalescer.execute("groups", List.of(1), () -> -1));
+        await(() -> meterRegistry.get("request.coalescing").tag("result", "shared").counter().count() == 1);
+        failing.countDown();
+
+        assertThatIllegalStateException().isThrownBy(() -> join(first)).withMessage("failed");
+        assertThatIllegalStateException().isThrownBy(() -> join(second)).withMessage("failed");
+        assertThat(requestCoalescer.execute("groups", List.of(1), () -> 2)).isEqualTo(2);
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    private static void await(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.get() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.get()).isTrue();
+    }
+}
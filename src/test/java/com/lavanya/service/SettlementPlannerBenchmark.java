@@ -0,0 +1,53 @@
+package com.lavanya.service;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of {@link SettlementPlanner} over a range of group sizes.
+ * <p>
+ * Run it from the IDE, or with the test classpath: {@code java -cp <test classpath> com.lavanya.service.SettlementPlannerBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SettlementPlannerBenchmark {
+
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    private int members;
+
+    private long[] memberIds;
+
+    private long[] balances;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(members);
+        memberIds = new long[members];
+        balances = new long[members];
+        long sum = 0;
+        for (int i = 0; i < members - 1; i++) {
+            memberIds[i] = i + 1;
+            balances[i] = random.nextInt(200_001) - 100_000;
+            sum += balances[i];
+        }
+        memberIds[members - 1] = members;
+        balances[members - 1] = -sum;
+    }
+
+    @Benchmark
+    public SettlementPlanner.Plan plan() {
+        return SettlementPlanner.plan(memberIds, balances);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SettlementPlannerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.lavanya.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SettlementPlanner}.
+ */
+class SettlementPlannerTest {
+
+    @Test
+    void shouldPlanNothingForSettledGroup() {
+        SettlementPlanner.Plan plan = SettlementPlanner.plan(new long[] { 1, 2 }, new long[] { 0, 0 });
+
+        assertThat(plan.size()).isZero();
+    }
+
+    @Test
+    void shouldMatchLargestDebtorWithLargestCreditor() {
+        long[] ids = { 1, 2, 3, 4 };
+        long[] balances = { 500, -300, 100, -300 };
+
+        SettlementPlanner.Plan plan = SettlementPlanner.plan(ids, balances);
+
+        assertThat(plan.size()).isEqualTo(3);
+        // Debtors 2 and 4 owe the same amount, the smallest id pays first
+        assertTransfer(plan, 0, 2, 1, 300);
+        assertTransfer(plan, 1, 4, 1, 200);
+        assertTransfer(plan, 2, 4, 3, 100);
+    }
+
+    @Test
+    void shouldSettleRandomGroupsDeterministically() {
+        Random random = new Random(42);
+        int n = 10_000;
+        long[] ids = new long[n];
+        long[] balances = new long[n];
+        long sum = 0;
+        for (int i = 0; i < n - 1; i++) {
+            ids[i] = i + 1;
+            balances[i] = random.nextInt(200_001) - 100_000;
+            sum += balances[i];
+        }
+        ids[n - 1] = n;
+        balances[n - 1] = -sum;
+
+        SettlementPlanner.Plan plan = SettlementPlanner.plan(ids, balances);
+        SettlementPlanner.Plan again = SettlementPlanner.plan(ids, balances);
+
+        assertThat(plan.size()).isLessThan(n);
+        long[] settled = balances.clone();
+        for (int i = 0; i < plan.size(); i++) {
+            assertThat(plan.amount(i)).isPositive();
+            settled[(int) plan.from(i) - 1] += plan.amount(i);
+            settled[(int) plan.to(i) - 1] -= plan.amount(i);
+            assertThat(again.from(i)).isEqualTo(plan.from(i));
+            assertThat(again.to(i)).isEqualTo(plan.to(i));
+            assertThat(again.amount(i)).isEqualTo(plan.amount(i));
+        }
+        assertThat(settled).containsOnly(0L);
+    }
+
+    @Test
+    void shouldRejectUnbalancedGroup() {
+        assertThatIllegalArgumentException().isThrownBy(() -> SettlementPlanner.plan(new long[] { 1, 2 }, new long[] { 100, -99 }));
+    }
+
+    private static void assertTransfer(SettlementPlanner.Plan plan, int index, long from, long to, long amount) {
+        assertThat(plan.from(index)).as("from").isEqualTo(from);
+        assertThat(plan.to(index)).as("to").isEqualTo(to);
+        assertThat(plan.amount(index)).as("amount").isEqualTo(amount);
+    }
+}
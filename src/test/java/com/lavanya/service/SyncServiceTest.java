@@ -0,0 +1,198 @@
+package com.lavanya.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.lavanya.config.ApplicationProperties;
+import com.lavanya.repository.ChangeLogRepository;
+import com.lavanya.repository.ChangeLogRepository.ChangeRow;
+import com.lavanya.repository.ChangeLogRepository.EntityType;
+import com.lavanya.repository.ChangeLogRepository.Operation;
+import com.lavanya.security.AuthoritiesConstants;
+import com.lavanya.service.dto.ExpenseDTO;
+import com.lavanya.service.dto.SyncDTO;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Unit tests for the reading of the change log by {@link SyncService}.
+ */
+class SyncServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private ChangeLogRepository changeLogRepository;
+
+    private ExpenseQueryService expenseQueryService;
+
+    private SyncService syncService;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @BeforeEach
+    void setUp() {
+        authenticate("admin", AuthoritiesConstants.ADMIN);
+        changeLogRepository = mock(ChangeLogRepository.class);
+        expenseQueryService = mock(ExpenseQueryService.class);
+        GroupQueryService groupQueryService = mock(GroupQueryService.class);
+        UserProfileQueryService userProfileQueryService = mock(UserProfileQueryService.class);
+        when(changeLogRepository.now()).thenReturn(Timestamp.from(NOW));
+        when(changeLogRepository.findFirstSequence()).thenReturn(1L);
+        when(groupQueryService.findAllByIdIn(any())).thenReturn(List.of());
+        when(userProfileQueryService.findAllByIdIn(any())).thenReturn(List.of());
+        when(expenseQueryService.findAllByIdIn(any())).thenAnswer(invocation ->
+            invocation.<Collection<Long>>getArgument(0).stream().filter(id -> id != 404L).map(SyncServiceTest::expense).toList()
+        );
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSync().setLookback(Duration.ofMinutes(1));
+        syncService = new SyncService(
+            changeLogRepository,
+            expenseQueryService,
+            groupQueryService,
+            userProfileQueryService,
+            mock(PlatformTransactionManager.class),
+            applicationProperties
+        );
+    }
+
+    private static ExpenseDTO expense(Long id) {
+        ExpenseDTO expense = new ExpenseDTO();
+        expense.setId(id);
+        return expense;
+    }
+
+    private static ChangeRow change(long sequence, long expenseId, Operation operation, Duration age) {
+        return change(sequence, expenseId, operation, age, true);
+    }
+
+    private static ChangeRow change(long sequence, long expenseId, Operation operation, Duration age, boolean visible) {
+        return new ChangeRow(sequence, EntityType.EXPENSE, expenseId, operation, Timestamp.from(NOW.minus(age)), visible);
+    }
+
+    private static void authenticate(String login, String authority) {
+        SecurityContextHolder.getContext()
+            .setAuthentication(new UsernamePasswordAuthenticationToken(login, login, List.of(new SimpleGrantedAuthority(authority))));
+    }
+
+    @Test
+    void shouldCollapseChangesOfAnEntity() {
+        when(changeLogRepository.findAfter(0L, 11)).thenReturn(
+            List.of(
+                change(1, 1, Operation.CREATE, Duration.ofHours(1)),
+                change(2, 1, Operation.UPDATE, Duration.ofHours(1)),
+                change(3, 2, Operation.UPDATE, Duration.ofHours(1)),
+                change(4, 2, Operation.DELETE, Duration.ofHours(1)),
+                change(5, 404, Operation.UPDATE, Duration.ofHours(1))
+            )
+        );
+
+        SyncDTO sync = syncService.findChangesSince(0L, 10);
+
+        assertThat(sync.getToken()).isEqualTo("5");
+        assertThat(sync.isMore()).isFalse();
+        assertThat(sync.getExpenses()).extracting(ExpenseDTO::getId).containsExactly(1L);
+        assertThat(sync.getDeletedExpenseIds()).containsExactly(2L, 404L);
+    }
+
+    @Test
+    void shouldSkipChangesNotVisibleToMember() {
+        authenticate("user", AuthoritiesConstants.USER);
+        when(changeLogRepository.findAfterForMember(0L, 11, "user")).thenReturn(
+            List.of(change(1, 1, Operation.UPDATE, Duration.ofHours(1)), change(2, 2, Operation.UPDATE, Duration.ofHours(1), false))
+        );
+
+        SyncDTO sync = syncService.findChangesSince(0L, 10);
+
+        assertThat(sync.getToken()).isEqualTo("2");
+        assertThat(sync.getExpenses()).extracting(ExpenseDTO::getId).containsExactly(1L);
+        assertThat(sync.getDeletedExpenseIds()).isEmpty();
+    }
+
+    @Test
+    void shouldSyncGroupOfMembershipAgain() {
+        authenticate("user", AuthoritiesConstants.USER);
+        when(changeLogRepository.findAfterForMember(0L, 11, "user")).thenReturn(
+            List.of(new ChangeRow(1, EntityType.MEMBERSHIP, 5, Operation.DELETE, Timestamp.from(NOW.minus(Duration.ofHours(1))), true))
+        );
+        when(expenseQueryService.findIdsByGroupIdIn(Set.of(5L))).thenReturn(List.of(404L));
+
+        SyncDTO sync = syncService.findChangesSince(0L, 10);
+
+        assertThat(sync.getToken()).isEqualTo("1");
+        assertThat(sync.getDeletedGroupIds()).containsExactly(5L);
+        assertThat(sync.getDeletedExpenseIds()).containsExactly(404L);
+    }
+
+    @Test
+    void shouldWaitOnRecentGap() {
+        when(changeLogRepository.findAfter(0L, 11)).thenReturn(
+            List.of(change(1, 1, Operation.UPDATE, Duration.ofHours(1)), change(3, 3, Operation.UPDATE, Duration.ofSeconds(10)))
+        );
+
+        SyncDTO sync = syncService.findChangesSince(0L, 10);
+
+        assertThat(sync.getToken()).isEqualTo("1");
+        assertThat(sync.getExpenses()).extracting(ExpenseDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void shouldSkipSettledGap() {
+        when(changeLogRepository.findAfter(0L, 11)).thenReturn(
+            List.of(change(1, 1, Operation.UPDATE, Duration.ofHours(1)), change(3, 3, Operation.UPDATE, Duration.ofMinutes(2)))
+        );
+
+        assertThat(syncService.findChangesSince(0L, 10).getToken()).isEqualTo("3");
+    }
+
+    @Test
+    void shouldReadPage() {
+        when(changeLogRepository.findAfter(0L, 3)).thenReturn(
+            List.of(
+                change(1, 1, Operation.UPDATE, Duration.ofHours(1)),
+                change(2, 2, Operation.UPDATE, Duration.ofHours(1)),
+                change(3, 3, Operation.UPDATE, Duration.ofHours(1))
+            )
+        );
+
+        SyncDTO sync = syncService.findChangesSince(0L, 2);
+
+        assertThat(sync.getToken()).isEqualTo("2");
+        assertThat(sync.isMore()).isTrue();
+        assertThat(sync.getExpenses()).extracting(ExpenseDTO::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldStartFromSettledChanges() {
+        when(changeLogRepository.findLastSequenceCreatedBefore(Timestamp.from(NOW.minus(Duration.ofMinutes(1))))).thenReturn(7L);
+
+        SyncDTO sync = syncService.findChangesSince(null, 10);
+
+        assertThat(sync.getToken()).isEqualTo("7");
+        assertThat(sync.getExpenses()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectPurgedToken() {
+        when(changeLogRepository.findFirstSequence()).thenReturn(10L);
+
+        assertThat(syncService.findChangesSince(9L, 10).getToken()).isEqualTo("9");
+        assertThatExceptionOfType(SyncTokenExpiredException.class).isThrownBy(() -> syncService.findChangesSince(8L, 10));
+    }
+}
@@ -0,0 +1,40 @@
+package com.lavanya.service.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lavanya.repository.ExpenseRepository.ExpenseRow;
+import com.lavanya.service.dto.ExpenseDTO;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ExpenseMapper}.
+ */
+class ExpenseMapperTest {
+
+    private ExpenseMapper expenseMapper;
+
+    @BeforeEach
+    void setUp() {
+        expenseMapper = new ExpenseMapperImpl();
+    }
+
+    @Test
+    void shouldMapRowToDto() {
+        ExpenseDTO expenseDTO = expenseMapper.toDto(new ExpenseRow(1L, new BigDecimal("10.50"), 2L, 3L));
+
+        assertThat(expenseDTO.getId()).isEqualTo(1L);
+        assertThat(expenseDTO.getAmount()).isEqualByComparingTo("10.50");
+        assertThat(expenseDTO.getUser().getId()).isEqualTo(2L);
+        assertThat(expenseDTO.getGroup().getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldMapMissingRelationshipsToNull() {
+        ExpenseDTO expenseDTO = expenseMapper.toDto(new ExpenseRow(1L, null, null, null));
+
+        assertThat(expenseDTO.getUser()).isNull();
+        assertThat(expenseDTO.getGroup()).isNull();
+    }
+}
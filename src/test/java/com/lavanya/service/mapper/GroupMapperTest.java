@@ -0,0 +1,41 @@
+package com.lavanya.service.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.lavanya.repository.GroupRepository.GroupRow;
+import com.lavanya.repository.GroupRepository.MemberRow;
+import com.lavanya.service.dto.GroupDTO;
+import com.lavanya.service.dto.UserProfileDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link GroupMapper}.
+ */
+class GroupMapperTest {
+
+    private GroupMapper groupMapper;
+
+    @BeforeEach
+    void setUp() {
+        groupMapper = new GroupMapperImpl();
+    }
+
+    @Test
+    void shouldMapRowToDtoWithoutMembers() {
+        GroupDTO groupDTO = groupMapper.toDto(new GroupRow(1L, "trip", 7));
+
+        assertThat(groupDTO.getId()).isEqualTo(1L);
+        assertThat(groupDTO.getName()).isEqualTo("trip");
+        assertThat(groupDTO.getAdminId()).isEqualTo(7);
+        assertThat(groupDTO.getMembers()).isEmpty();
+    }
+
+    @Test
+    void shouldMapMemberRowToDto() {
+        UserProfileDTO userProfileDTO = groupMapper.toDto(new MemberRow(1L, 2L, "jane@localhost"));
+
+        assertThat(userProfileDTO.getId()).isEqualTo(2L);
+        assertThat(userProfileDTO.getEmail()).isEqualTo("jane@localhost");
+    }
+}
@@ -0,0 +1,74 @@
+package com.lavanya.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lavanya.IntegrationTest;
+import com.lavanya.web.rest.vm.LoginVM;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the rate limits of the {@link AuthenticateController} and {@link AccountResource} REST
+ * controllers, enabled with tiny limits.
+ */
+@AutoConfigureMockMvc
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.security.rate-limit.enabled=true",
+        "application.security.rate-limit.login.capacity=2",
+        "application.security.rate-limit.login.period=1h",
+        "application.security.rate-limit.email.capacity=1",
+        "application.security.rate-limit.email.period=1h",
+    }
+)
+class AuthenticationRateLimitIT {
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testAuthorizeIsRateLimitedByLogin() throws Exception {
+        LoginVM login = new LoginVM();
+        login.setUsername("rate-limited");
+        login.setPassword("wrong password");
+        for (int i = 0; i < 2; i++) {
+            mockMvc
+                .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+                .andExpect(status().isUnauthorized());
+        }
+
+        login.setUsername("Rate-Limited");
+        MvcResult result = mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(login)))
+            .andExpect(status().isTooManyRequests())
+            .andReturn();
+
+        // A token is refilled every 30 minutes
+        assertThat(Long.parseLong(result.getResponse().getHeader(HttpHeaders.RETRY_AFTER))).isBetween(1L, 1800L);
+    }
+
+    @Test
+    void testRequestPasswordResetIsRateLimitedByEmail() throws Exception {
+        mockMvc.perform(post("/api/account/reset-password/init").content("rate-limited@example.com")).andExpect(status().isOk());
+
+        MvcResult result = mockMvc
+            .perform(post("/api/account/reset-password/init").content("Rate-Limited@example.com"))
+            .andExpect(status().isTooManyRequests())
+            .andReturn();
+
+        assertThat(Long.parseLong(result.getResponse().getHeader(HttpHeaders.RETRY_AFTER))).isBetween(1L, 3600L);
+    }
+}
@@ -2,25 +2,42 @@ package com.lavanya.web.rest;
 
 import static com.lavanya.domain.ExpenseAsserts.*;
 import static com.lavanya.web.rest.TestUtil.createUpdateProxyForBean;
+import static com.lavanya.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lavanya.IntegrationTest;
 import com.lavanya.domain.Expense;
+import com.lavanya.domain.Expense_;
+import com.lavanya.domain.Group;
+import com.lavanya.domain.GroupMemberBalance;
+import com.lavanya.domain.GroupMemberBalanceId;
+import com.lavanya.domain.User;
+import com.lavanya.domain.UserProfile;
 import com.lavanya.repository.ExpenseRepository;
+import com.lavanya.repository.GroupMemberBalanceRepository;
+import com.lavanya.repository.GroupRepository;
+import com.lavanya.repository.UserProfileRepository;
+import com.lavanya.security.AuthoritiesConstants;
 import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -28,11 +45,11 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @IntegrationTest
 @AutoConfigureMockMvc
-@WithMockUser
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
 class ExpenseResourceIT {
 
-    private static final String DEFAULT_AMOUNT = "AAAAAAAAAA";
-    private static final String UPDATED_AMOUNT = "BBBBBBBBBB";
+    private static final BigDecimal DEFAULT_AMOUNT = new BigDecimal(1);
+    private static final BigDecimal UPDATED_AMOUNT = new BigDecimal(2);
 
     private static final String ENTITY_API_URL = "/api/expenses";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
@@ -46,6 +63,15 @@ class ExpenseResourceIT {
     @Autowired
     private ExpenseRepository expenseRepository;
 
+    @Autowired
+    private GroupMemberBalanceRepository groupMemberBalanceRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -118,6 +144,22 @@ class ExpenseResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createExpenseWithUnknownGroup() throws Exception {
+        // Create the Expense in a group that does not exist
+        expense.group(new Group().id(Long.MAX_VALUE));
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        restExpenseMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(expense)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.groupnotfound"));
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void getAllExpenses() throws Exception {
@@ -126,11 +168,11 @@ class ExpenseResourceIT {
 
         // Get all the expenseList
         restExpenseMockMvc
-            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .perform(get(ENTITY_API_URL + "?after=" + (expense.getId() - 1)))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(expense.getId().intValue())))
-            .andExpect(jsonPath("$.[*].amount").value(hasItem(DEFAULT_AMOUNT)));
+            .andExpect(jsonPath("$.[*].amount").value(hasItem(sameNumber(DEFAULT_AMOUNT))));
     }
 
     @Test
@@ -145,7 +187,202 @@ class ExpenseResourceIT {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.id").value(expense.getId().intValue()))
-            .andExpect(jsonPath("$.amount").value(DEFAULT_AMOUNT));
+            .andExpect(jsonPath("$.amount").value(sameNumber(DEFAULT_AMOUNT)));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("member")
+    void getExpenseOfMember() throws Exception {
+        // Initialize the database, the current user being matched to the profile by email
+        User user = UserResourceIT.createEntity(em);
+        user.setLogin("member");
+        user.setEmail("member@localhost");
+        em.persist(user);
+        UserProfile member = userProfileRepository.saveAndFlush(new UserProfile().email("member@localhost"));
+        Group group = groupRepository.saveAndFlush(new Group().name("member").addMembers(member));
+        Group other = groupRepository.saveAndFlush(new Group().name("other"));
+        expenseRepository.saveAndFlush(expense.group(group));
+        Expense hidden = expenseRepository.saveAndFlush(createEntity(em).group(other));
+
+        restExpenseMockMvc.perform(get(ENTITY_API_URL_ID, expense.getId())).andExpect(status().isOk());
+        restExpenseMockMvc.perform(get(ENTITY_API_URL_ID, hidden.getId())).andExpect(status().isNotFound());
+        restExpenseMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + (expense.getId() - 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(containsInAnyOrder(expense.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getExpenseNotModified() throws Exception {
+        // Initialize the database
+        expenseRepository.saveAndFlush(expense);
+
+        String etag = restExpenseMockMvc
+            .perform(get(ENTITY_API_URL_ID, expense.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + expense.getVersion() + "\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restExpenseMockMvc
+            .perform(get(ENTITY_API_URL_ID, expense.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        expenseRepository.saveAndFlush(expense.amount(UPDATED_AMOUNT));
+        restExpenseMockMvc
+            .perform(get(ENTITY_API_URL_ID, expense.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.amount").value(sameNumber(UPDATED_AMOUNT)));
+    }
+
+    @Test
+    @Transactional
+    void getAllExpensesByGroupIdAndUserId() throws Exception {
+        // Initialize the database
+        UserProfile member = new UserProfile().email("member@localhost");
+        em.persist(member);
+        Group group = new Group().name("group").addMembers(member);
+        em.persist(group);
+        expenseRepository.saveAndFlush(expense.user(member).group(group));
+        Expense otherExpense = expenseRepository.saveAndFlush(createEntity(em));
+
+        // Get the expenses of the group paid by the member
+        restExpenseMockMvc
+            .perform(get(ENTITY_API_URL + "?groupId.equals=" + group.getId() + "&userId.equals=" + member.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(expense.getId().intValue()));
+
+        // Get the expenses of another group
+        restExpenseMockMvc
+            .perform(get(ENTITY_API_URL + "?groupId.equals=" + Long.MAX_VALUE + "&id.equals=" + otherExpense.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @Transactional
+    void getAllExpensesWithKeysetPagination() throws Exception {
+        // Initialize the database
+        Group group = new Group().name("group");
+        em.persist(group);
+        Expense first = expenseRepository.saveAndFlush(createEntity(em).group(group));
+        Expense second = expenseRepository.saveAndFlush(createEntity(em).group(group));
+        Expense third = expenseRepository.saveAndFlush(createEntity(em).group(group));
+
+        // Get the first page, which links to the next one
+        restExpenseMockMvc
+            .perform(get(ENTITY_API_URL + "?groupId.equals=" + group.getId() + "&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + second.getId())))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+
+        // Get the last page, which has no next link
+        restExpenseMockMvc
+            .perform(get(ENTITY_API_URL + "?groupId.equals=" + group.getId() + "&size=2&after=" + second.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    void importExpenses() throws Exception {
+        // Initialize the database, committed as each chunk of the import is saved in its own transaction
+        UserProfile member = userProfileRepository.saveAndFlush(new UserProfile().email("import@localhost"));
+        Group group = groupRepository.saveAndFlush(new Group().name("import").addMembers(member));
+        String body =
+            "{\"amount\":1.5,\"userId\":" +
+            member.getId() +
+            ",\"groupId\":" +
+            group.getId() +
+            "}\n" +
+            "{\"amount\":2,\"userId\":" +
+            member.getId() +
+            ",\"groupId\":" +
+            group.getId() +
+            "}\n" +
+            "{\"amount\":3,\"groupId\":" +
+            Long.MAX_VALUE +
+            "}\n" +
+            "{\"amount\":\"x\"}\n";
+
+        GroupMemberBalanceId balanceId = new GroupMemberBalanceId(group.getId(), member.getId());
+
+        try {
+            restExpenseMockMvc
+                .perform(post(ENTITY_API_URL + "/batch").contentType("application/x-ndjson").content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(4))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors.[*].line").value(containsInAnyOrder(3, 4)))
+                .andExpect(jsonPath("$.errors.[*].message").value(hasItem("unknown groupId " + Long.MAX_VALUE)));
+
+            assertThat(expenseRepository.sumAmountPaidByMemberForGroupId(group.getId()))
+                .singleElement()
+                .satisfies(total -> assertThat(total.getTotal()).isEqualByComparingTo("3.50"));
+            GroupMemberBalance balance = getPersistedBalance(balanceId);
+            assertThat(balance.getPaid()).isEqualByComparingTo("3.50");
+            assertThat(balance.getExpenseCount()).isEqualTo(2L);
+        } finally {
+            groupMemberBalanceRepository.deleteById(balanceId);
+            expenseRepository.deleteAll(expenseRepository.findAll((root, query, cb) -> cb.equal(root.get(Expense_.group), group)));
+            groupRepository.delete(group);
+            userProfileRepository.delete(member);
+        }
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void exportExpenses() throws Exception {
+        // Initialize the database, committed as the export is streamed from another thread
+        expenseRepository.saveAndFlush(expense);
+
+        try {
+            // Export the expenses as CSV
+            MvcResult result = restExpenseMockMvc
+                .perform(get(ENTITY_API_URL + "/export?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            restExpenseMockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("expenses.csv")))
+                .andExpect(content().string(startsWith("id,amount,user_id,group_id\n")))
+                .andExpect(content().string(containsString("\n" + expense.getId() + ",1.00,,\n")));
+        } finally {
+            expenseRepository.deleteById(expense.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void exportExpensesWithUnsupportedFormat() throws Exception {
+        restExpenseMockMvc.perform(get(ENTITY_API_URL + "/export?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("user")
+    void importExpensesIsForbiddenForUsers() throws Exception {
+        restExpenseMockMvc
+            .perform(post(ENTITY_API_URL + "/batch").contentType("application/x-ndjson").content("{\"amount\":1}\n"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("user")
+    void exportExpensesIsForbiddenForUsers() throws Exception {
+        restExpenseMockMvc.perform(get(ENTITY_API_URL + "/export")).andExpect(status().isForbidden());
     }
 
     @Test
@@ -188,10 +425,10 @@ class ExpenseResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         expense.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it is not found
         restExpenseMockMvc
             .perform(put(ENTITY_API_URL_ID, expense.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(expense)))
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Expense in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -293,12 +530,12 @@ class ExpenseResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         expense.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it is not found
         restExpenseMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, expense.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(expense))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Expense in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -355,6 +592,99 @@ class ExpenseResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    @WithMockUser("member")
+    void writeExpenseOfOtherGroup() throws Exception {
+        // Initialize the database, the current user being matched to the profile by email
+        User user = UserResourceIT.createEntity(em);
+        user.setLogin("member");
+        user.setEmail("member@localhost");
+        em.persist(user);
+        UserProfile member = userProfileRepository.saveAndFlush(new UserProfile().email("member@localhost"));
+        Group group = groupRepository.saveAndFlush(new Group().name("member").addMembers(member));
+        Group other = groupRepository.saveAndFlush(new Group().name("other"));
+        Expense hidden = expenseRepository.saveAndFlush(expense.group(other));
+
+        Expense updated = createUpdatedEntity(em).group(group);
+        updated.setId(hidden.getId());
+        restExpenseMockMvc
+            .perform(put(ENTITY_API_URL_ID, hidden.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(updated)))
+            .andExpect(status().isNotFound());
+        restExpenseMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, hidden.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(updated))
+            )
+            .andExpect(status().isNotFound());
+        restExpenseMockMvc.perform(delete(ENTITY_API_URL_ID, hidden.getId())).andExpect(status().isNotFound());
+        // Nor can an expense be created in, or moved to, the other group
+        restExpenseMockMvc
+            .perform(
+                post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(createEntity(em).group(other)))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.groupnotfound"));
+
+        em.clear();
+        assertThat(expenseRepository.findById(hidden.getId()))
+            .get()
+            .satisfies(persisted -> {
+                assertThat(persisted.getAmount()).isEqualByComparingTo(DEFAULT_AMOUNT);
+                assertThat(persisted.getGroup().getId()).isEqualTo(other.getId());
+            });
+    }
+
+    @Test
+    @Transactional
+    void expenseWritesMaintainGroupMemberBalance() throws Exception {
+        // Initialize the database
+        UserProfile member = new UserProfile().email("member@localhost");
+        em.persist(member);
+        Group group = new Group().name("group").addMembers(member);
+        em.persist(group);
+        em.flush();
+        GroupMemberBalanceId balanceId = new GroupMemberBalanceId(group.getId(), member.getId());
+
+        // Create an expense for the member
+        expense.user(member).group(group);
+        var returnedExpense = om.readValue(
+            restExpenseMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(expense)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Expense.class
+        );
+        assertThat(getPersistedBalance(balanceId).getPaid()).isEqualByComparingTo(DEFAULT_AMOUNT);
+        assertThat(getPersistedBalance(balanceId).getExpenseCount()).isEqualTo(1L);
+
+        // Update its amount
+        Expense partialUpdatedExpense = new Expense().amount(UPDATED_AMOUNT);
+        partialUpdatedExpense.setId(returnedExpense.getId());
+        restExpenseMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedExpense.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedExpense))
+            )
+            .andExpect(status().isOk());
+        assertThat(getPersistedBalance(balanceId).getPaid()).isEqualByComparingTo(UPDATED_AMOUNT);
+        assertThat(groupMemberBalanceRepository.findMismatches()).isEmpty();
+
+        // Delete it
+        restExpenseMockMvc.perform(delete(ENTITY_API_URL_ID, returnedExpense.getId())).andExpect(status().isNoContent());
+        em.flush();
+        em.clear();
+        assertThat(groupMemberBalanceRepository.findById(balanceId)).isEmpty();
+        assertThat(groupMemberBalanceRepository.findMismatches()).isEmpty();
+    }
+
+    protected GroupMemberBalance getPersistedBalance(GroupMemberBalanceId balanceId) {
+        em.clear();
+        return groupMemberBalanceRepository.findById(balanceId).orElseThrow();
+    }
+
     protected long getRepositoryCount() {
         return expenseRepository.count();
     }
@@ -2,17 +2,26 @@ package com.lavanya.web.rest;
 
 import static com.lavanya.domain.GroupAsserts.*;
 import static com.lavanya.web.rest.TestUtil.createUpdateProxyForBean;
+import static com.lavanya.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lavanya.IntegrationTest;
+import com.lavanya.domain.Expense;
 import com.lavanya.domain.Group;
+import com.lavanya.domain.User;
+import com.lavanya.domain.UserProfile;
 import com.lavanya.repository.GroupRepository;
+import com.lavanya.security.AuthoritiesConstants;
+import com.lavanya.service.GroupMemberBalanceService;
 import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -25,6 +34,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -36,7 +46,7 @@ import org.springframework.transaction.annotation.Transactional;
 @IntegrationTest
 @ExtendWith(MockitoExtension.class)
 @AutoConfigureMockMvc
-@WithMockUser
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
 class GroupResourceIT {
 
     private static final String DEFAULT_NAME = "AAAAAAAAAA";
@@ -47,6 +57,9 @@ class GroupResourceIT {
 
     private static final String ENTITY_API_URL = "/api/groups";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_BALANCES = ENTITY_API_URL_ID + "/balances";
+    private static final String ADMIN_API_URL_BALANCES = "/api/admin/group-member-balances/groups/{groupId}";
+    private static final String ENTITY_API_URL_SETTLEMENT_PLAN = ENTITY_API_URL_ID + "/settlement-plan";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -60,6 +73,9 @@ class GroupResourceIT {
     @Mock
     private GroupRepository groupRepositoryMock;
 
+    @Autowired
+    private GroupMemberBalanceService groupMemberBalanceService;
+
     @Autowired
     private EntityManager em;
 
@@ -132,6 +148,22 @@ class GroupResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createGroupWithUnknownMember() throws Exception {
+        // Create the Group with a member that does not exist
+        group.addMembers(new UserProfile().id(Long.MAX_VALUE));
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        restGroupMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(group)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.membernotfound"));
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void getAllGroups() throws Exception {
@@ -140,7 +172,7 @@ class GroupResourceIT {
 
         // Get all the groupList
         restGroupMockMvc
-            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .perform(get(ENTITY_API_URL + "?after=" + (group.getId() - 1)))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(group.getId().intValue())))
@@ -165,6 +197,29 @@ class GroupResourceIT {
         verify(groupRepositoryMock, times(1)).findAll(any(Pageable.class));
     }
 
+    @Test
+    @Transactional
+    @WithMockUser("member")
+    void getGroupOfMember() throws Exception {
+        // Initialize the database, the current user being matched to the profile by email
+        User user = UserResourceIT.createEntity(em);
+        user.setLogin("member");
+        user.setEmail("member@localhost");
+        em.persist(user);
+        UserProfile member = new UserProfile().email("member@localhost");
+        em.persist(member);
+        groupRepository.saveAndFlush(group.addMembers(member));
+        Group other = groupRepository.saveAndFlush(createUpdatedEntity(em));
+
+        restGroupMockMvc.perform(get(ENTITY_API_URL_ID, group.getId())).andExpect(status().isOk());
+        restGroupMockMvc.perform(get(ENTITY_API_URL_ID, other.getId())).andExpect(status().isNotFound());
+        restGroupMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + (group.getId() - 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(group.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(other.getId().intValue()))));
+    }
+
     @Test
     @Transactional
     void getGroup() throws Exception {
@@ -181,6 +236,84 @@ class GroupResourceIT {
             .andExpect(jsonPath("$.adminId").value(DEFAULT_ADMIN_ID));
     }
 
+    @Test
+    @Transactional
+    void getGroupNotModified() throws Exception {
+        // Initialize the database
+        UserProfile member = new UserProfile().email("member@localhost");
+        em.persist(member);
+        groupRepository.saveAndFlush(group.addMembers(member));
+
+        String etag = restGroupMockMvc
+            .perform(get(ENTITY_API_URL_ID, group.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restGroupMockMvc
+            .perform(get(ENTITY_API_URL_ID, group.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        // Changing a member changes the group
+        member.setEmail("changed@localhost");
+        em.flush();
+        restGroupMockMvc
+            .perform(get(ENTITY_API_URL_ID, group.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.members.[*].email").value(hasItem("changed@localhost")));
+    }
+
+    @Test
+    @Transactional
+    void getAllGroupsByMembersId() throws Exception {
+        // Initialize the database
+        UserProfile member = new UserProfile().email("member@localhost");
+        em.persist(member);
+        groupRepository.saveAndFlush(group.addMembers(member));
+        Group otherGroup = groupRepository.saveAndFlush(createEntity(em));
+
+        // Get the groups of the member
+        restGroupMockMvc
+            .perform(get(ENTITY_API_URL + "?membersId.equals=" + member.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(group.getId().intValue()))
+            .andExpect(jsonPath("$.[0].members.[0].id").value(member.getId().intValue()));
+
+        // Get another group, which the member is not part of
+        restGroupMockMvc
+            .perform(get(ENTITY_API_URL + "?membersId.equals=" + member.getId() + "&id.equals=" + otherGroup.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @Transactional
+    void getAllGroupsLoadsMembersOfPage() throws Exception {
+        // Initialize the database
+        UserProfile first = new UserProfile().email("first@localhost");
+        UserProfile second = new UserProfile().email("second@localhost");
+        em.persist(first);
+        em.persist(second);
+        groupRepository.saveAndFlush(group.addMembers(first).addMembers(second));
+        Group otherGroup = groupRepository.saveAndFlush(createEntity(em).addMembers(second));
+        em.clear();
+
+        // Get the groups one per page, in id order, each with its own members
+        restGroupMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&after=" + (group.getId() - 1)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(group.getId().intValue()))
+            .andExpect(jsonPath("$.[0].members.[*].id").value(containsInAnyOrder(first.getId().intValue(), second.getId().intValue())));
+        restGroupMockMvc
+            .perform(get(ENTITY_API_URL + "?size=1&after=" + group.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(otherGroup.getId().intValue()))
+            .andExpect(jsonPath("$.[0].members.[*].id").value(containsInAnyOrder(second.getId().intValue())));
+    }
+
     @Test
     @Transactional
     void getNonExistingGroup() throws Exception {
@@ -221,10 +354,10 @@ class GroupResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         group.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it is not found
         restGroupMockMvc
             .perform(put(ENTITY_API_URL_ID, group.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(group)))
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Group in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -326,12 +459,12 @@ class GroupResourceIT {
         long databaseSizeBeforeUpdate = getRepositoryCount();
         group.setId(longCount.incrementAndGet());
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // If the entity doesn't exist, it is not found
         restGroupMockMvc
             .perform(
                 patch(ENTITY_API_URL_ID, group.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(group))
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isNotFound());
 
         // Validate the Group in the database
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
@@ -371,6 +504,105 @@ class GroupResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void getGroupBalances() throws Exception {
+        // Initialize the database
+        UserProfile payer = new UserProfile().email("payer@localhost");
+        UserProfile debtor = new UserProfile().email("debtor@localhost");
+        em.persist(payer);
+        em.persist(debtor);
+        group.addMembers(payer).addMembers(debtor);
+        groupRepository.saveAndFlush(group);
+        em.persist(new Expense().amount(new BigDecimal("10.00")).user(payer).group(group));
+        em.persist(new Expense().amount(new BigDecimal("5.01")).user(debtor).group(group));
+        em.flush();
+        // The expenses did not go through the resource, which maintains the balances
+        groupMemberBalanceService.rebuild();
+
+        // Get the balances, the odd cent goes to the first member
+        restGroupMockMvc
+            .perform(get(ENTITY_API_URL_BALANCES, group.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.groupId").value(group.getId().intValue()))
+            .andExpect(jsonPath("$.total").value(sameNumber(new BigDecimal("15.01"))))
+            .andExpect(jsonPath("$.members[0].userProfileId").value(payer.getId().intValue()))
+            .andExpect(jsonPath("$.members[0].paid").value(sameNumber(new BigDecimal("10.00"))))
+            .andExpect(jsonPath("$.members[0].share").value(sameNumber(new BigDecimal("7.51"))))
+            .andExpect(jsonPath("$.members[0].balance").value(sameNumber(new BigDecimal("2.49"))))
+            .andExpect(jsonPath("$.members[1].userProfileId").value(debtor.getId().intValue()))
+            .andExpect(jsonPath("$.members[1].balance").value(sameNumber(new BigDecimal("-2.49"))));
+    }
+
+    @Test
+    @Transactional
+    void getGroupBalancesFromExpenses() throws Exception {
+        // Initialize the database, without the materialized totals
+        UserProfile payer = new UserProfile().email("payer@localhost");
+        UserProfile debtor = new UserProfile().email("debtor@localhost");
+        em.persist(payer);
+        em.persist(debtor);
+        group.addMembers(payer).addMembers(debtor);
+        groupRepository.saveAndFlush(group);
+        em.persist(new Expense().amount(new BigDecimal("10.00")).user(payer).group(group));
+        em.persist(new Expense().amount(new BigDecimal("2.50")).user(payer).group(group));
+        em.persist(new Expense().amount(new BigDecimal("4.00")).user(null).group(group));
+        em.flush();
+
+        // Compute the balances from the expenses, the debtor paid nothing and the expense without payer is left out
+        restGroupMockMvc
+            .perform(get(ADMIN_API_URL_BALANCES, group.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.groupId").value(group.getId().intValue()))
+            .andExpect(jsonPath("$.total").value(sameNumber(new BigDecimal("12.50"))))
+            .andExpect(jsonPath("$.members[0].userProfileId").value(payer.getId().intValue()))
+            .andExpect(jsonPath("$.members[0].paid").value(sameNumber(new BigDecimal("12.50"))))
+            .andExpect(jsonPath("$.members[0].balance").value(sameNumber(new BigDecimal("6.25"))))
+            .andExpect(jsonPath("$.members[1].userProfileId").value(debtor.getId().intValue()))
+            .andExpect(jsonPath("$.members[1].paid").value(sameNumber(BigDecimal.ZERO)))
+            .andExpect(jsonPath("$.members[1].balance").value(sameNumber(new BigDecimal("-6.25"))));
+
+        restGroupMockMvc.perform(get(ADMIN_API_URL_BALANCES, Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Transactional
+    void getGroupSettlementPlan() throws Exception {
+        // Initialize the database
+        UserProfile payer = new UserProfile().email("payer@localhost");
+        UserProfile debtor = new UserProfile().email("debtor@localhost");
+        UserProfile other = new UserProfile().email("other@localhost");
+        em.persist(payer);
+        em.persist(debtor);
+        em.persist(other);
+        group.addMembers(payer).addMembers(debtor).addMembers(other);
+        groupRepository.saveAndFlush(group);
+        em.persist(new Expense().amount(new BigDecimal("30.00")).user(payer).group(group));
+        em.flush();
+        groupMemberBalanceService.rebuild();
+
+        // Get the settlement plan
+        restGroupMockMvc
+            .perform(get(ENTITY_API_URL_SETTLEMENT_PLAN, group.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.groupId").value(group.getId().intValue()))
+            .andExpect(jsonPath("$.transfers.length()").value(2))
+            .andExpect(jsonPath("$.transfers[0].fromUserProfileId").value(debtor.getId().intValue()))
+            .andExpect(jsonPath("$.transfers[0].toUserProfileId").value(payer.getId().intValue()))
+            .andExpect(jsonPath("$.transfers[0].amount").value(sameNumber(new BigDecimal("10.00"))))
+            .andExpect(jsonPath("$.transfers[1].fromUserProfileId").value(other.getId().intValue()))
+            .andExpect(jsonPath("$.transfers[1].amount").value(sameNumber(new BigDecimal("10.00"))));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingGroupBalances() throws Exception {
+        restGroupMockMvc.perform(get(ENTITY_API_URL_BALANCES, Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void deleteGroup() throws Exception {
@@ -388,6 +620,41 @@ class GroupResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    @WithMockUser("member")
+    void writeGroupOfOtherMembers() throws Exception {
+        // Initialize the database, the current user being matched to the profile by email
+        User user = UserResourceIT.createEntity(em);
+        user.setLogin("member");
+        user.setEmail("member@localhost");
+        em.persist(user);
+        UserProfile member = new UserProfile().email("member@localhost");
+        em.persist(member);
+        Group other = groupRepository.saveAndFlush(group);
+
+        // Adding their own profile to the members does not make the group visible
+        Group updated = createUpdatedEntity(em).addMembers(member);
+        updated.setId(other.getId());
+        restGroupMockMvc
+            .perform(put(ENTITY_API_URL_ID, other.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(updated)))
+            .andExpect(status().isNotFound());
+        restGroupMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, other.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(updated))
+            )
+            .andExpect(status().isNotFound());
+        restGroupMockMvc.perform(delete(ENTITY_API_URL_ID, other.getId())).andExpect(status().isNotFound());
+
+        em.clear();
+        assertThat(groupRepository.findOneWithEagerRelationships(other.getId()))
+            .get()
+            .satisfies(persisted -> {
+                assertThat(persisted.getName()).isEqualTo(DEFAULT_NAME);
+                assertThat(persisted.getMembers()).isEmpty();
+            });
+    }
+
     protected long getRepositoryCount() {
         return groupRepository.count();
     }
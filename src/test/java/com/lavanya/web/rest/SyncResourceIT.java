@@ -0,0 +1,133 @@
+package com.lavanya.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lavanya.IntegrationTest;
+import com.lavanya.domain.Expense;
+import com.lavanya.domain.Group;
+import com.lavanya.domain.User;
+import com.lavanya.domain.UserProfile;
+import com.lavanya.repository.ChangeLogRepository;
+import com.lavanya.repository.ExpenseRepository;
+import com.lavanya.repository.GroupRepository;
+import com.lavanya.repository.UserProfileRepository;
+import com.lavanya.repository.UserRepository;
+import com.lavanya.service.dto.SyncDTO;
+import com.lavanya.web.rest.util.KeysetPaginationUtil;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link SyncResource} REST controller, with committed data as the changes are logged when
+ * transactions complete.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(SyncResourceIT.LOGIN)
+class SyncResourceIT {
+
+    static final String LOGIN = "sync-member";
+
+    private static final String ENTITY_API_URL = "/api/sync";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc restSyncMockMvc;
+
+    private long since;
+
+    private User user;
+
+    private UserProfile member;
+
+    private Group group;
+
+    private Expense expense;
+
+    @BeforeEach
+    public void initTest() {
+        // Start from the last change logged so far, without waiting for the lookback
+        Timestamp tomorrow = new Timestamp(changeLogRepository.now().getTime() + Duration.ofDays(1).toMillis());
+        since = changeLogRepository.findLastSequenceCreatedBefore(tomorrow);
+
+        // The current user and its profile, matched by email
+        user = UserResourceIT.createEntity(null);
+        user.setLogin(LOGIN);
+        user.setEmail(LOGIN + "@localhost");
+        user = userRepository.saveAndFlush(user);
+        member = userProfileRepository.saveAndFlush(new UserProfile().email(user.getEmail()));
+        group = groupRepository.saveAndFlush(new Group().name("sync").addMembers(member));
+        expense = expenseRepository.saveAndFlush(new Expense().amount(BigDecimal.TEN).user(member).group(group));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        expenseRepository.deleteById(expense.getId());
+        groupRepository.deleteById(group.getId());
+        userProfileRepository.deleteById(member.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void removedMemberSyncsDeletionOfGroupAndExpenses() throws Exception {
+        String content = getChanges(since)
+            .andExpect(jsonPath("$.groups.[*].id").value(hasItem(group.getId().intValue())))
+            .andExpect(jsonPath("$.expenses.[*].id").value(hasItem(expense.getId().intValue())))
+            .andExpect(jsonPath("$.deletedGroupIds").value(not(hasItem(group.getId().intValue()))))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        SyncDTO sync = om.readValue(content, SyncDTO.class);
+
+        // Remove the member, which leaves the group and its expenses untouched
+        transactionTemplate.executeWithoutResult(status ->
+            groupRepository.findById(group.getId()).orElseThrow().removeMembers(userProfileRepository.getReferenceById(member.getId()))
+        );
+
+        getChanges(Long.parseLong(sync.getToken()))
+            .andExpect(jsonPath("$.deletedGroupIds").value(hasItem(group.getId().intValue())))
+            .andExpect(jsonPath("$.deletedExpenseIds").value(hasItem(expense.getId().intValue())))
+            .andExpect(jsonPath("$.groups.[*].id").value(not(hasItem(group.getId().intValue()))))
+            .andExpect(jsonPath("$.expenses.[*].id").value(not(hasItem(expense.getId().intValue()))));
+    }
+
+    private ResultActions getChanges(long since) throws Exception {
+        return restSyncMockMvc
+            .perform(get(ENTITY_API_URL + "?since={since}&size={size}", since, KeysetPaginationUtil.MAX_SIZE))
+            .andExpect(status().isOk());
+    }
+}
@@ -9,8 +9,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lavanya.IntegrationTest;
+import com.lavanya.domain.User;
 import com.lavanya.domain.UserProfile;
 import com.lavanya.repository.UserProfileRepository;
+import com.lavanya.security.AuthoritiesConstants;
 import jakarta.persistence.EntityManager;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -28,11 +30,11 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @IntegrationTest
 @AutoConfigureMockMvc
-@WithMockUser
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
 class UserProfileResourceIT {
 
-    private static final String DEFAULT_EMAIL = "AAAAAAAAAA";
-    private static final String UPDATED_EMAIL = "BBBBBBBBBB";
+    private static final String DEFAULT_EMAIL = "aaaaaaaaaa";
+    private static final String UPDATED_EMAIL = "bbbbbbbbbb";
 
     private static final String ENTITY_API_URL = "/api/user-profiles";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
@@ -118,6 +120,92 @@ class UserProfileResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createUserProfileWithUpperCaseEmail() throws Exception {
+        // Create the UserProfile with an email in upper case
+        userProfile.setEmail("Member@LocalHost");
+
+        restUserProfileMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(userProfile)))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.email").value("member@localhost"));
+    }
+
+    @Test
+    @Transactional
+    void createUserProfileWithExistingEmail() throws Exception {
+        // Initialize the database
+        userProfileRepository.saveAndFlush(userProfile);
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        // An email differing only by case is the same email, so this API call must fail
+        restUserProfileMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(new UserProfile().email(DEFAULT_EMAIL.toUpperCase())))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.emailexists"));
+
+        // Validate the UserProfile in the database
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void updateUserProfileWithExistingEmail() throws Exception {
+        // Initialize the database
+        userProfileRepository.saveAndFlush(userProfile);
+        UserProfile other = userProfileRepository.saveAndFlush(createUpdatedEntity(em));
+
+        restUserProfileMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, other.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(new UserProfile().id(other.getId()).email(DEFAULT_EMAIL)))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.emailexists"));
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser("member")
+    void updateUserProfileOfOtherUser() throws Exception {
+        // Initialize the database, the current user owning the profile with their email
+        User user = UserResourceIT.createEntity(em);
+        user.setLogin("member");
+        user.setEmail("member@localhost");
+        em.persist(user);
+        UserProfile other = userProfileRepository.saveAndFlush(userProfile);
+
+        // Taking the email of the profile of another user would make the current user a member of its groups
+        UserProfile taken = new UserProfile().id(other.getId()).email("member@localhost");
+        restUserProfileMockMvc
+            .perform(put(ENTITY_API_URL_ID, other.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(taken)))
+            .andExpect(status().isForbidden());
+        restUserProfileMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, other.getId()).contentType("application/merge-patch+json").content(om.writeValueAsBytes(taken))
+            )
+            .andExpect(status().isForbidden());
+        restUserProfileMockMvc.perform(delete(ENTITY_API_URL_ID, other.getId())).andExpect(status().isForbidden());
+        assertThat(getPersistedUserProfile(other).getEmail()).isEqualTo(DEFAULT_EMAIL);
+
+        // The profile of the current user can be changed
+        UserProfile own = userProfileRepository.saveAndFlush(new UserProfile().email("member@localhost"));
+        restUserProfileMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, own.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(new UserProfile().id(own.getId()).email("renamed@localhost")))
+            )
+            .andExpect(status().isOk());
+    }
+
     @Test
     @Transactional
     void getAllUserProfiles() throws Exception {
@@ -126,7 +214,7 @@ class UserProfileResourceIT {
 
         // Get all the userProfileList
         restUserProfileMockMvc
-            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .perform(get(ENTITY_API_URL + "?after=" + (userProfile.getId() - 1)))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(userProfile.getId().intValue())))
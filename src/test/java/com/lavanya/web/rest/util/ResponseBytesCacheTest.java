@@ -0,0 +1,187 @@
+package com.lavanya.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lavanya.config.ApplicationProperties;
+import com.lavanya.service.CacheInvalidation;
+import com.lavanya.service.CacheInvalidationBroadcaster;
+import com.lavanya.service.RequestCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Test class for the {@link ResponseBytesCache}.
+ */
+class ResponseBytesCacheTest {
+
+    private ApplicationProperties applicationProperties;
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private MeterRegistry meterRegistry;
+
+    private List<CacheInvalidation> published;
+
+    private List<Consumer<CacheInvalidation>> subscribers;
+
+    private CacheInvalidationBroadcaster broadcaster;
+
+    private AtomicInteger loads;
+
+    private Map<String, Object> resource;
+
+    private Supplier<Optional<Map<String, Object>>> loader;
+
+    @BeforeEach
+    void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getResponseCache().setEnabled(true);
+        cacheManager = new ConcurrentMapCacheManager(ResponseBytesCache.GROUP_RESPONSES_CACHE, ResponseBytesCache.EXPENSE_RESPONSES_CACHE);
+        meterRegistry = new SimpleMeterRegistry();
+        published = new ArrayList<>();
+        subscribers = new ArrayList<>();
+        broadcaster = new CacheInvalidationBroadcaster() {
+            @Override
+            public void publish(CacheInvalidation invalidation) {
+                published.add(invalidation);
+            }
+
+            @Override
+            public void subscribe(Consumer<CacheInvalidation> subscriber) {
+                subscribers.add(subscriber);
+            }
+        };
+        loads = new AtomicInteger();
+        resource = Map.of("id", 1, "name", "before");
+        loader = () -> {
+            loads.incrementAndGet();
+            return Optional.of(resource);
+        };
+    }
+
+    private ResponseBytesCache responseBytesCache() {
+        ResponseBytesCache responseBytesCache = new ResponseBytesCache(
+            applicationProperties,
+            cacheManager,
+            new ObjectMapper(),
+            broadcaster,
+            meterRegistry,
+            new RequestCoalescer(meterRegistry)
+        );
+        responseBytesCache.subscribe();
+        return responseBytesCache;
+    }
+
+    @Test
+    void testWritesCachedResponse() throws Exception {
+        ResponseBytesCache responseBytesCache = responseBytesCache();
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(responseBytesCache.write(ResponseBytesCache.GROUP_RESPONSES_CACHE, 1L, "0", loader, first)).isNull();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(responseBytesCache.write(ResponseBytesCache.GROUP_RESPONSES_CACHE, 1L, "0", loader, second)).isNull();
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(second.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(second.getContentAsString()).contains("\"name\":\"before\"");
+        assertThat(meterRegistry.get("response.cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("response.cache").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("response.cache.served").counter().count()).isEqualTo(second.getContentLength());
+        assertThat(meterRegistry.get("response.cache.hit-ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void testEvictReloadsResponse() throws Exception {
+        ResponseBytesCache responseBytesCache = responseBytesCache();
+        responseBytesCache.write(ResponseBytesCache.GROUP_RESPONSES_CACHE, 1L, "0", loader, new MockHttpServletResponse());
+
+        resource = Map.of("id", 1, "name", "after");
+        responseBytesCache.evict(ResponseBytesCache.GROUP_RESPONSES_CACHE, 1L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseBytesCache.write(ResponseBytesCache.GROUP_RESPONSES_CACHE, 1L, "0", loader, response);
+
+        assertThat(loads).hasValue(2);
+        assertThat(response.getContentAsString()).contains("\"name\":\"after\"");
+        assertThat(published).containsExactly(CacheInvalidation.cache(ResponseBytesCache.GROUP_RESPONSES_CACHE, "1"));
+    }
+
+    @Test
+    void testRemoteInvalidationEvictsResponse() throws Exception {
+        ResponseBytesCache responseBytesCache = responseBytesCache();
+        responseBytesCache.write(ResponseBytesCache.EXPENSE_RESPONSES_CACHE, 1L, "0", loader, new MockHttpServletResponse());
+
+        subscribers.forEach(subscriber -> subscriber.accept(CacheInvalidation.cache(ResponseBytesCache.EXPENSE_RESPONSES_CACHE, "1")));
+        responseBytesCache.write(ResponseBytesCache.EXPENSE_RESPONSES_CACHE, 1L, "0", loader, new MockHttpServletResponse());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testReloadsResponseOfAnotherVersion() throws Exception {
+        ResponseBytesCache responseBytesCache = responseBytesCache();
+        responseBytesCache.write(ResponseBytesCache.GROUP_RESPONSES_CACHE, 1L, "0", loader, new MockHttpServletResponse());
+
+        resource = Map.of("id", 1, "name", "after");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseBytesCache.write(ResponseBytesCache.GROUP_RESPONSES_CACHE, 1L, "1", loader, response);
+        MockHttpServletResponse cached = new MockHttpServletResponse();
+        responseBytesCache.write(ResponseBytesCache.GROUP_RESPONSES_CACHE, 1L, "1", loader, cached);
+
+        assertThat(loads).hasValue(2);
+        assertThat(response.getContentAsString()).contains("\"name\":\"after\"");
+        assertThat(cached.getContentAsByteArray()).isEqualTo(response.getContentAsByteArray());
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void testMissingResourceIsNotFound() throws Exception {
+        ResponseBytesCache responseBytesCache = responseBytesCache();
+
+        assertThatExceptionOfType(ResponseStatusException.class)
+            .isThrownBy(() ->
+                responseBytesCache.write(ResponseBytesCache.GROUP_RESPONSES_CACHE, 2L, "0", Optional::empty, new MockHttpServletResponse())
+            )
+            .satisfies(e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThat(cacheManager.getCache(ResponseBytesCache.GROUP_RESPONSES_CACHE).get("2")).isNull();
+    }
+
+    @Test
+    void testDisabledCacheReturnsEntity() throws Exception {
+        applicationProperties.getResponseCache().setEnabled(false);
+        ResponseBytesCache responseBytesCache = responseBytesCache();
+
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ResponseEntity<Map<String, Object>> response = responseBytesCache.write(
+            ResponseBytesCache.GROUP_RESPONSES_CACHE,
+            1L,
+            "0",
+            loader,
+            servletResponse
+        );
+        responseBytesCache.evict(ResponseBytesCache.GROUP_RESPONSES_CACHE, 1L);
+
+        assertThat(response.getBody()).isEqualTo(resource);
+        assertThat(servletResponse.getContentLength()).isZero();
+        assertThat(published).isEmpty();
+        assertThat(subscribers).isEmpty();
+    }
+}